@@ -0,0 +1,50 @@
+#!/usr/bin/env sh
+# Compares redirect latency and sustained concurrency between the default platform-thread
+# Tomcat pool and the opt-in "virtual" profile. Each mode runs against a fresh in-memory database.
+#
+# Usage: scripts/compare-thread-modes.sh [concurrency levels] [seconds per level]
+#   e.g. scripts/compare-thread-modes.sh 16,64,256,1024,4096 15
+set -eu
+
+cd "$(dirname "$0")/.."
+
+LEVELS="${1:-16,64,256,1024}"
+SECONDS_PER_LEVEL="${2:-10}"
+PORT="${PORT:-18080}"
+
+./mvnw -B -q -DskipTests package
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+
+run_mode() {
+  label="$1"
+  profiles="$2"
+  java ${JAVA_OPTS:-} -jar "$JAR" \
+    --server.port="$PORT" \
+    --spring.profiles.active="$profiles" \
+    --spring.datasource.url="jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1" \
+    --spring.jpa.hibernate.ddl-auto=create-drop \
+    --logging.level.com.lucian.urlshortener=WARN \
+    > "target/loadtest-$label-server.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    kill -0 $pid 2>/dev/null || { echo "server exited, see target/loadtest-$label-server.log"; exit 1; }
+    sleep 1
+  done
+
+  ./mvnw -B -q -Pbenchmarks test-compile exec:java@loadtest \
+    -Dloadtest.base-url="http://localhost:$PORT" \
+    -Dloadtest.label="$label" \
+    -Dloadtest.concurrency="$LEVELS" \
+    -Dloadtest.seconds="$SECONDS_PER_LEVEL"
+
+  kill $pid
+  wait $pid 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual
+
+echo "Reports: target/loadtest-platform.json target/loadtest-virtual.json"
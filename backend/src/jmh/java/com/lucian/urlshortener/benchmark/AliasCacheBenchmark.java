@@ -0,0 +1,88 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.cache.AliasCache;
+import com.lucian.urlshortener.cache.CaffeineAliasCache;
+import com.lucian.urlshortener.cache.OffHeapAliasCache;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Redirect cache holding a few million links, on the heap and off it. Run with {@code -prof gc}
+ * to compare allocation and time spent in GC; the {@code churn} benchmark keeps replacing entries
+ * so the on-heap cache keeps promoting objects into the old generation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:MaxDirectMemorySize=1g"})
+@Threads(4)
+public class AliasCacheBenchmark {
+
+  @Param({"caffeine", "off-heap"})
+  private String type;
+
+  @Param({"2000000"})
+  private int entries;
+
+  private AliasCache cache;
+  private String[] aliases;
+  private final AtomicInteger next = new AtomicInteger();
+
+  @Setup
+  public void setUp() {
+    cache =
+        type.equals("off-heap")
+            ? new OffHeapAliasCache(DataSize.ofBytes(entries * 160L), Duration.ofHours(1))
+            : new CaffeineAliasCache(entries, Duration.ofHours(1));
+    aliases = new String[entries * 2];
+    for (int i = 0; i < aliases.length; i++) {
+      aliases[i] = "a" + Integer.toString(i, 36);
+    }
+    for (int i = 0; i < entries; i++) {
+      cache.put(aliases[i], target(i));
+    }
+  }
+
+  @Benchmark
+  public RedirectTarget hit() {
+    return cache.get(aliases[ThreadLocalRandom.current().nextInt(entries)]);
+  }
+
+  /** Nine lookups to one write of a link not cached yet, which evicts an older one. */
+  @Benchmark
+  public RedirectTarget churn() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (random.nextInt(10) == 0) {
+      int i = Math.floorMod(next.getAndIncrement(), aliases.length);
+      cache.put(aliases[i], target(i));
+      return null;
+    }
+    return cache.get(aliases[random.nextInt(aliases.length)]);
+  }
+
+  private static RedirectTarget target(int i) {
+    return new RedirectTarget(
+        "https://example.com/articles/2025/some-article-slug-" + i + "?utm_source=newsletter",
+        RedirectTarget.NEVER);
+  }
+}
@@ -0,0 +1,55 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.utility.AliasGenerator;
+import com.lucian.urlshortener.utility.RandomAliasGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A single shared generator, as in the application, so contention on its random source shows. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AliasGeneratorBenchmark {
+
+  @Param({"7"})
+  private int length;
+
+  private AliasGenerator generator;
+
+  @Setup
+  public void setUp() {
+    generator = new RandomAliasGenerator(length);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String generateSingleThreaded() {
+    return generator.generate();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String generateMultiThreaded() {
+    return generator.generate();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String generateAllCores() {
+    return generator.generate();
+  }
+}
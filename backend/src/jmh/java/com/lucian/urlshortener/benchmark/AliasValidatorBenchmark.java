@@ -0,0 +1,62 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.exception.InvalidAliasException;
+import com.lucian.urlshortener.utility.AliasValidator;
+import com.lucian.urlshortener.utility.Result;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AliasValidatorBenchmark {
+
+  private String validAlias = "my-alias_01";
+  private String invalidAlias = "bad alias!";
+  private String reservedAlias = "shorten";
+
+  @Benchmark
+  public void validAlias() {
+    AliasValidator.validateOrThrow(validAlias);
+  }
+
+  @Benchmark
+  public void invalidAlias(Blackhole bh) {
+    try {
+      AliasValidator.validateOrThrow(invalidAlias);
+    } catch (InvalidAliasException e) {
+      bh.consume(e);
+    }
+  }
+
+  @Benchmark
+  public void reservedAlias(Blackhole bh) {
+    try {
+      AliasValidator.validateOrThrow(reservedAlias);
+    } catch (RuntimeException e) {
+      bh.consume(e);
+    }
+  }
+
+  @Benchmark
+  public Result<String> invalidAliasResult() {
+    return AliasValidator.validate(invalidAlias);
+  }
+
+  @Benchmark
+  public Result<String> reservedAliasResult() {
+    return AliasValidator.validate(reservedAlias);
+  }
+}
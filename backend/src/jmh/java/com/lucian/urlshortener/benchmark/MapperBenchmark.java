@@ -0,0 +1,43 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.dto.UrlResponse;
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.utility.Mapper;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+  private UrlMapping mapping;
+
+  @Setup
+  public void setUp() {
+    mapping =
+        UrlMapping.builder()
+            .alias("abc1234")
+            .fullUrl("https://example.com/some/path")
+            .createdAt(LocalDateTime.now())
+            .build();
+  }
+
+  @Benchmark
+  public UrlResponse toUrlResponse() {
+    return Mapper.toUrlResponse(mapping, "http://localhost:8080");
+  }
+}
@@ -0,0 +1,64 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.utility.RateLimiter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the per-client rate limit check. {@code knownClient} is the common case of a client
+ * that already has a bucket, {@code sameClient} has every thread spend from one bucket, and {@code
+ * newClient} sends only addresses never seen before, so every call adds a bucket and the map keeps
+ * evicting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+  private static final int CLIENTS = 50_000;
+
+  private RateLimiter limiter;
+  private String[] clients;
+  private final AtomicInteger next = new AtomicInteger();
+
+  @Setup
+  public void setUp() {
+    limiter = new RateLimiter(100, 500, 100_000);
+    clients = new String[CLIENTS];
+    for (int i = 0; i < CLIENTS; i++) {
+      clients[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+      limiter.tryAcquire(clients[i]);
+    }
+  }
+
+  @Benchmark
+  public long knownClient() {
+    return limiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+  }
+
+  @Benchmark
+  public long sameClient() {
+    return limiter.tryAcquire(clients[0]);
+  }
+
+  @Benchmark
+  public long newClient() {
+    return limiter.tryAcquire("new-" + next.getAndIncrement());
+  }
+}
@@ -0,0 +1,95 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.UrlshortenerApplication;
+import com.lucian.urlshortener.filter.RedirectFilter;
+import com.lucian.urlshortener.service.UrlShortenerService;
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * A cached redirect served by the MVC dispatcher versus {@link RedirectFilter}. Both use the same
+ * mock request and response; {@code baseline} measures just those. Run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm} (bytes per redirect).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectDispatchBenchmark {
+
+  private static final FilterChain NOT_HANDLED =
+      (request, response) -> {
+        throw new IllegalStateException("Redirect fell through the filter");
+      };
+
+  private ConfigurableApplicationContext context;
+  private DispatcherServlet dispatcherServlet;
+  private RedirectFilter redirectFilter;
+  private String path;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    context =
+        new SpringApplicationBuilder(UrlshortenerApplication.class)
+            .profiles("test")
+            .properties("server.port=0", "spring.mvc.servlet.load-on-startup=1")
+            .run();
+    dispatcherServlet = context.getBean(DispatcherServlet.class);
+    redirectFilter = context.getBean(RedirectFilter.class);
+    UrlShortenerService service = context.getBean(UrlShortenerService.class);
+    path = "/" + service.createShortUrl("https://example.com/some/path", "bench-alias").getAlias();
+    // Fill the alias cache so both variants measure the hit path.
+    service.findRedirect("bench-alias");
+    MockHttpServletResponse response = mvcDispatch();
+    if (response.getStatus() != 302) {
+      throw new IllegalStateException("Expected a redirect, got " + response.getStatus());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse baseline(Blackhole bh) {
+    bh.consume(new MockHttpServletRequest("GET", path));
+    return new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse mvcDispatch() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    dispatcherServlet.service(request, response);
+    return response;
+  }
+
+  @Benchmark
+  public MockHttpServletResponse redirectFilter() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    redirectFilter.doFilter(request, response, NOT_HANDLED);
+    return response;
+  }
+}
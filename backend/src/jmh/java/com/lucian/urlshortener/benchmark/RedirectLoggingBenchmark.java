@@ -0,0 +1,96 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.UrlshortenerApplication;
+import com.lucian.urlshortener.filter.AccessLogFilter;
+import com.lucian.urlshortener.filter.RedirectFilter;
+import com.lucian.urlshortener.service.UrlShortenerService;
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cached redirect throughput through {@link AccessLogFilter} and {@link RedirectFilter} with the
+ * access log off, sampled at the default 1% and writing every request. Lines go through the same
+ * async rolling appender as in production, to {@code target/jmh-access.log}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectLoggingBenchmark {
+
+  private static final FilterChain NOT_HANDLED =
+      (request, response) -> {
+        throw new IllegalStateException("Redirect fell through the filter");
+      };
+
+  @Param({"off", "0.01", "1.0"})
+  public String accessLog;
+
+  private ConfigurableApplicationContext context;
+  private FilterChain chain;
+  private String path;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    boolean enabled = !"off".equals(accessLog);
+    context =
+        new SpringApplicationBuilder(UrlshortenerApplication.class)
+            .profiles("test")
+            .properties(
+                "server.port=0",
+                "app.access-log.enabled=" + enabled,
+                "app.access-log.sample-rate.info=" + (enabled ? accessLog : "0"))
+            .run();
+    RedirectFilter redirectFilter = context.getBean(RedirectFilter.class);
+    FilterChain redirect =
+        (request, response) -> redirectFilter.doFilter(request, response, NOT_HANDLED);
+    if (enabled) {
+      AccessLogFilter accessLogFilter = context.getBean(AccessLogFilter.class);
+      chain = (request, response) -> accessLogFilter.doFilter(request, response, redirect);
+    } else {
+      chain = redirect;
+    }
+    UrlShortenerService service = context.getBean(UrlShortenerService.class);
+    path = "/" + service.createShortUrl("https://example.com/some/path", "bench-alias").getAlias();
+    service.findRedirect("bench-alias");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse redirect() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    chain.doFilter(request, response);
+    return response;
+  }
+
+  @Benchmark
+  @Threads(4)
+  public MockHttpServletResponse redirectContended() throws Exception {
+    return redirect();
+  }
+}
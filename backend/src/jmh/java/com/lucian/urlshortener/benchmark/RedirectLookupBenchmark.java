@@ -0,0 +1,106 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.UrlshortenerApplication;
+import com.lucian.urlshortener.cache.AliasBloomFilter;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import com.lucian.urlshortener.service.UrlShortenerService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end lookups through {@link UrlShortenerService} against either storage engine: the
+ * embedded H2 database of the {@code test} profile or the log-structured file store. {@code
+ * getByAlias} always reaches the store, {@code findRedirect} is the cached redirect path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectLookupBenchmark {
+
+  @Param({"10000"})
+  private int mappings;
+
+  @Param({"jpa", "log"})
+  private String engine;
+
+  private ConfigurableApplicationContext context;
+  private UrlShortenerService service;
+  private String[] aliases;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    Path storeFile = Files.createTempDirectory("bench-store").resolve("url-mappings.log");
+    context =
+        new SpringApplicationBuilder(UrlshortenerApplication.class)
+            .profiles("test")
+            .properties(
+                "server.port=0",
+                "app.storage.engine=" + engine,
+                "app.storage.log.path=" + storeFile)
+            .run();
+    service = context.getBean(UrlShortenerService.class);
+
+    aliases = new String[mappings];
+    List<UrlMapping> batch = new ArrayList<>(mappings);
+    for (int i = 0; i < mappings; i++) {
+      aliases[i] = "bench" + i;
+      batch.add(
+          UrlMapping.builder().alias(aliases[i]).fullUrl("https://example.com/" + i).build());
+    }
+    context.getBean(UrlMappingStore.class).insertAll(batch);
+    // Rows saved behind the service's back are not in the already loaded filter.
+    AliasBloomFilter filter = context.getBean(AliasBloomFilter.class);
+    for (String alias : aliases) {
+      filter.add(alias);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public UrlMapping getByAlias() {
+    return service.getByAlias(nextAlias());
+  }
+
+  @Benchmark
+  public RedirectTarget findRedirect() {
+    return service.findRedirect(nextAlias());
+  }
+
+  @Benchmark
+  public RedirectTarget findRedirectUnknown() {
+    String alias = "missing" + ThreadLocalRandom.current().nextInt(mappings);
+    return service.findRedirect(alias);
+  }
+
+  private String nextAlias() {
+    return aliases[ThreadLocalRandom.current().nextInt(aliases.length)];
+  }
+}
@@ -0,0 +1,47 @@
+package com.lucian.urlshortener.benchmark;
+
+import com.lucian.urlshortener.exception.InvalidUrlException;
+import com.lucian.urlshortener.utility.UrlUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlUtilsBenchmark {
+
+  private String fullUrl = "https://example.com/some/path?query=value#fragment";
+  private String noSchemeUrl = "example.com/some/path";
+  private String unsupportedSchemeUrl = "ftp://example.com/file";
+
+  @Benchmark
+  public String fullUrl() {
+    return UrlUtils.normalizeAndValidateUrl(fullUrl);
+  }
+
+  @Benchmark
+  public String noSchemeUrl() {
+    return UrlUtils.normalizeAndValidateUrl(noSchemeUrl);
+  }
+
+  @Benchmark
+  public void unsupportedSchemeUrl(Blackhole bh) {
+    try {
+      UrlUtils.normalizeAndValidateUrl(unsupportedSchemeUrl);
+    } catch (InvalidUrlException e) {
+      bh.consume(e);
+    }
+  }
+}
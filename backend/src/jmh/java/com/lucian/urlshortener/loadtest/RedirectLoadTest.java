@@ -0,0 +1,211 @@
+package com.lucian.urlshortener.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop redirect load generator. Seeds aliases through {@code POST /shorten/batch}, then for
+ * each concurrency level keeps that many clients issuing {@code GET /{alias}} back to back and
+ * reports throughput, latency percentiles and errors. The highest level served with under 1%
+ * errors is reported as the sustained concurrency.
+ *
+ * <p>Configured through system properties: {@code loadtest.base-url}, {@code loadtest.label},
+ * {@code loadtest.aliases}, {@code loadtest.concurrency} (comma separated), {@code
+ * loadtest.seconds}, {@code loadtest.warmup-seconds} and {@code loadtest.output}. Run {@code
+ * scripts/compare-thread-modes.sh} to compare the platform and virtual thread modes.
+ */
+public final class RedirectLoadTest {
+
+  private static final double MAX_ERROR_RATE = 0.01;
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final HttpClient client;
+  private final String baseUrl;
+
+  private RedirectLoadTest(String baseUrl) {
+    this.baseUrl = baseUrl;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+  }
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+    String label = System.getProperty("loadtest.label", "default");
+    int aliasCount = Integer.getInteger("loadtest.aliases", 1000);
+    int[] levels =
+        Arrays.stream(System.getProperty("loadtest.concurrency", "16,64,256,1024").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 10));
+    Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    Path output =
+        Path.of(System.getProperty("loadtest.output", "target/loadtest-" + label + ".json"));
+
+    RedirectLoadTest loadTest = new RedirectLoadTest(baseUrl);
+    String[] aliases = loadTest.seed(aliasCount);
+    System.out.printf("[%s] seeded %d aliases against %s%n", label, aliases.length, baseUrl);
+    if (!warmup.isZero()) {
+      // Results discarded: lets both JVMs compile the hot paths and fill the alias cache.
+      loadTest.run(aliases, levels[0], warmup);
+    }
+
+    List<Map<String, Object>> results = new ArrayList<>();
+    int sustained = 0;
+    for (int level : levels) {
+      Map<String, Object> result = loadTest.run(aliases, level, duration);
+      results.add(result);
+      System.out.printf(
+          "[%s] concurrency=%d requests=%d errors=%d rps=%.0f p50=%.2fms p99=%.2fms max=%.2fms%n",
+          label,
+          level,
+          result.get("requests"),
+          result.get("errors"),
+          result.get("throughput"),
+          result.get("p50Ms"),
+          result.get("p99Ms"),
+          result.get("maxMs"));
+      if ((double) result.get("errorRate") < MAX_ERROR_RATE) {
+        sustained = level;
+      }
+    }
+    System.out.printf("[%s] sustained concurrency: %d%n", label, sustained);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("label", label);
+    report.put("baseUrl", baseUrl);
+    report.put("sustainedConcurrency", sustained);
+    report.put("levels", results);
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    loadTest.objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+  }
+
+  private String[] seed(int count) throws IOException, InterruptedException {
+    ArrayNode body = objectMapper.createArrayNode();
+    for (int i = 0; i < count; i++) {
+      body.addObject().put("fullUrl", "https://example.com/load/" + i);
+    }
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/shorten/batch"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+    }
+    List<String> aliases = new ArrayList<>(count);
+    for (JsonNode item : objectMapper.readTree(response.body())) {
+      if (item.hasNonNull("url")) {
+        aliases.add(item.get("url").get("alias").asText());
+      }
+    }
+    return aliases.toArray(String[]::new);
+  }
+
+  private Map<String, Object> run(String[] aliases, int concurrency, Duration duration)
+      throws Exception {
+    AtomicInteger errors = new AtomicInteger();
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger peakInFlight = new AtomicInteger();
+    long deadline = System.nanoTime() + duration.toNanos();
+    List<Future<long[]>> clients = new ArrayList<>(concurrency);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int c = 0; c < concurrency; c++) {
+        clients.add(
+            executor.submit(
+                () -> {
+                  long[] samples = new long[1024];
+                  int n = 0;
+                  while (System.nanoTime() < deadline) {
+                    String alias = aliases[ThreadLocalRandom.current().nextInt(aliases.length)];
+                    HttpRequest request =
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/" + alias))
+                            .timeout(REQUEST_TIMEOUT)
+                            .GET()
+                            .build();
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    long start = System.nanoTime();
+                    try {
+                      HttpResponse<Void> response =
+                          client.send(request, HttpResponse.BodyHandlers.discarding());
+                      if (response.statusCode() != 302) {
+                        errors.incrementAndGet();
+                      }
+                    } catch (IOException e) {
+                      errors.incrementAndGet();
+                    } finally {
+                      inFlight.decrementAndGet();
+                    }
+                    if (n == samples.length) {
+                      samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                  }
+                  return Arrays.copyOf(samples, n);
+                }));
+      }
+    }
+
+    List<long[]> perClient = new ArrayList<>(concurrency);
+    int total = 0;
+    for (Future<long[]> future : clients) {
+      long[] samples = future.get();
+      perClient.add(samples);
+      total += samples.length;
+    }
+    long[] latencies = new long[total];
+    int offset = 0;
+    for (long[] samples : perClient) {
+      System.arraycopy(samples, 0, latencies, offset, samples.length);
+      offset += samples.length;
+    }
+    Arrays.sort(latencies);
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("concurrency", concurrency);
+    result.put("peakInFlight", peakInFlight.get());
+    result.put("requests", latencies.length);
+    result.put("errors", errors.get());
+    result.put("errorRate", latencies.length == 0 ? 1.0 : (double) errors.get() / latencies.length);
+    result.put("throughput", latencies.length / (double) duration.toSeconds());
+    result.put("p50Ms", percentileMillis(latencies, 0.50));
+    result.put("p99Ms", percentileMillis(latencies, 0.99));
+    result.put("maxMs", percentileMillis(latencies, 1.0));
+    return result;
+  }
+
+  private static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1_000_000.0;
+  }
+}
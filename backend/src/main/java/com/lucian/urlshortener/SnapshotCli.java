@@ -0,0 +1,84 @@
+package com.lucian.urlshortener;
+
+import com.lucian.urlshortener.service.SnapshotService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Exports or imports a snapshot of every URL mapping against the configured database, without
+ * starting the web server. Further arguments are passed on as Spring properties:
+ *
+ * <pre>
+ * java -cp urlshortener.jar -Dloader.main=com.lucian.urlshortener.SnapshotCli \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     export|import FILE [--spring.datasource.url=...]
+ * </pre>
+ *
+ * An export is written next to {@code FILE} and moved into place once complete. An import reads
+ * the whole file once to check it before inserting anything, and rebuilds the secondary indexes
+ * at the end.
+ */
+@Slf4j
+public final class SnapshotCli {
+
+  private static final String USAGE = "Usage: SnapshotCli export|import FILE [--property=value...]";
+
+  private SnapshotCli() {}
+
+  public static void main(String[] args) {
+    if (args.length < 2 || !(args[0].equals("export") || args[0].equals("import"))) {
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    // Leave out the cache warm-up and the scheduled jobs, which would contend with the load
+    String[] springArgs = Arrays.copyOfRange(args, 2, args.length + 2);
+    springArgs[springArgs.length - 2] = "--app.cache.warm-up.enabled=false";
+    springArgs[springArgs.length - 1] = "--app.scheduling.enabled=false";
+    // A devtools restart would call main again with only the Spring arguments
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    int status = 0;
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(UrlshortenerApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(springArgs)) {
+      run(context.getBean(SnapshotService.class), args[0], Path.of(args[1]));
+    } catch (RuntimeException e) {
+      log.error("Snapshot {} of {} failed", args[0], args[1], e);
+      status = 1;
+    }
+    System.exit(status);
+  }
+
+  static long run(SnapshotService snapshotService, String command, Path file) {
+    try {
+      if (command.equals("export")) {
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        long exported;
+        try (FileChannel channel =
+            FileChannel.open(
+                partial,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+          exported = snapshotService.exportSnapshot(channel);
+          channel.force(true);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        return exported;
+      }
+      return snapshotService.importSnapshot(file, true);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
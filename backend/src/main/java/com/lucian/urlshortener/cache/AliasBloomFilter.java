@@ -0,0 +1,125 @@
+package com.lucian.urlshortener.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counting Bloom filter over every stored alias, used to answer "definitely not stored" on the
+ * redirect path without a database round trip. Each slot is a 4-bit counter packed sixteen to a
+ * {@code long}, so aliases can be removed again on delete. Counters that saturate stay saturated.
+ *
+ * <p>Until {@link #markLoaded()} is called every alias is reported as possibly present, so
+ * requests served while the startup rebuild is still running never see a false 404. With {@code
+ * app.alias-filter.enabled=false} it is never loaded and lets every alias through; instances that
+ * share a database need that, since aliases created elsewhere never reach this filter.
+ */
+@Component
+public class AliasBloomFilter {
+
+  private static final int COUNTER_BITS = 4;
+  private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+  private final AtomicLongArray words;
+  private final long slots;
+  private final int hashFunctions;
+  private volatile boolean loaded;
+
+  public AliasBloomFilter(
+      @Value("${app.alias-filter.expected-insertions:1000000}") long expectedInsertions,
+      @Value("${app.alias-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int words =
+        (int) Math.min(Integer.MAX_VALUE - 8, (m + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    this.words = new AtomicLongArray(words);
+    this.slots = (long) words * COUNTERS_PER_WORD;
+    this.hashFunctions = Math.max(1, (int) Math.round((double) slots / n * Math.log(2)));
+  }
+
+  public boolean mightContain(String alias) {
+    if (!loaded) {
+      return true;
+    }
+    long hash = hash(alias);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashFunctions; i++) {
+      if (counter(slot(h1, h2, i)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void add(String alias) {
+    long hash = hash(alias);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashFunctions; i++) {
+      adjust(slot(h1, h2, i), 1);
+    }
+  }
+
+  /** Ignored until loaded, as the alias may not have been counted yet. */
+  public void remove(String alias) {
+    if (!loaded) {
+      return;
+    }
+    long hash = hash(alias);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashFunctions; i++) {
+      adjust(slot(h1, h2, i), -1);
+    }
+  }
+
+  public void markLoaded() {
+    loaded = true;
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  private long slot(int h1, int h2, int i) {
+    return Math.floorMod(h1 + (long) i * h2, slots);
+  }
+
+  private int counter(long slot) {
+    long word = words.get((int) (slot / COUNTERS_PER_WORD));
+    int shift = (int) (slot % COUNTERS_PER_WORD) * COUNTER_BITS;
+    return (int) ((word >>> shift) & COUNTER_MASK);
+  }
+
+  private void adjust(long slot, int delta) {
+    int index = (int) (slot / COUNTERS_PER_WORD);
+    int shift = (int) (slot % COUNTERS_PER_WORD) * COUNTER_BITS;
+    while (true) {
+      long word = words.get(index);
+      long value = (word >>> shift) & COUNTER_MASK;
+      if (value == COUNTER_MASK || (delta < 0 && value == 0)) {
+        return;
+      }
+      long updated = (word & ~(COUNTER_MASK << shift)) | ((value + delta) << shift);
+      if (words.compareAndSet(index, word, updated)) {
+        return;
+      }
+    }
+  }
+
+  private static long hash(String alias) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < alias.length(); i++) {
+      h ^= alias.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
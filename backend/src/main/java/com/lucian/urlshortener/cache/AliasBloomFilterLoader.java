@@ -0,0 +1,45 @@
+package com.lucian.urlshortener.cache;
+
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(
+    name = "app.alias-filter.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@AllArgsConstructor
+@Slf4j
+public class AliasBloomFilterLoader implements ApplicationRunner {
+
+  private final UrlMappingStore urlMappingStore;
+  private final AliasBloomFilter aliasBloomFilter;
+
+  @Override
+  @Transactional(readOnly = true)
+  public void run(ApplicationArguments args) {
+    long started = System.nanoTime();
+    long count = 0;
+    try (Stream<String> aliases = urlMappingStore.streamAllAliases()) {
+      for (String alias : (Iterable<String>) aliases::iterator) {
+        aliasBloomFilter.add(alias);
+        count++;
+      }
+    }
+    aliasBloomFilter.markLoaded();
+    log.info(
+        "Alias filter loaded with {} aliases in {} ms",
+        count,
+        (System.nanoTime() - started) / 1_000_000);
+  }
+}
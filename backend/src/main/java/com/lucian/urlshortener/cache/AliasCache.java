@@ -0,0 +1,24 @@
+package com.lucian.urlshortener.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bounded in-process cache of alias to {@link RedirectTarget}, sitting in front of the storage
+ * engine on the redirect path. Entries are dropped once {@code app.cache.alias.ttl} has passed
+ * since they were written; expired aliases stay cached so repeated hits are answered without the
+ * database. The implementation is picked with {@code app.cache.alias.type}: {@code caffeine}
+ * ({@link CaffeineAliasCache}, the default) or {@code off-heap} ({@link OffHeapAliasCache}).
+ */
+public interface AliasCache extends MeterBinder {
+
+  String CACHE_NAME = "alias";
+
+  RedirectTarget get(String alias);
+
+  void put(String alias, RedirectTarget target);
+
+  void invalidate(String alias);
+
+  CacheStats stats();
+}
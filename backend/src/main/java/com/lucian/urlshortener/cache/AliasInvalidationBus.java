@@ -0,0 +1,19 @@
+package com.lucian.urlshortener.cache;
+
+import java.util.Collection;
+
+/**
+ * Carries alias evictions to the other instances sharing the database, so their local caches do
+ * not keep serving deleted aliases. Picked with {@code app.cluster.invalidation}: {@code local}
+ * ({@link LocalAliasInvalidationBus}, the default) or {@code jdbc} ({@link
+ * JdbcAliasInvalidationBus}).
+ */
+public interface AliasInvalidationBus {
+
+  /**
+   * Announces that the aliases were deleted. Called inside the deleting transaction, so a bus that
+   * writes to the database commits or rolls back together with the delete. The calling instance
+   * evicts its own caches itself.
+   */
+  void publish(Collection<String> aliases);
+}
@@ -0,0 +1,57 @@
+package com.lucian.urlshortener.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AliasCache} on the heap, evicting by entry count ({@code app.cache.alias.max-size}) with
+ * W-TinyLFU. A hit returns the cached target without allocating.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "app.cache.alias.type",
+    havingValue = "caffeine",
+    matchIfMissing = true)
+public class CaffeineAliasCache implements AliasCache {
+
+  private final Cache<String, RedirectTarget> cache;
+
+  public CaffeineAliasCache(
+      @Value("${app.cache.alias.max-size:100000}") long maxSize,
+      @Value("${app.cache.alias.ttl:10m}") Duration ttl) {
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+  }
+
+  @Override
+  public RedirectTarget get(String alias) {
+    return cache.getIfPresent(alias);
+  }
+
+  @Override
+  public void put(String alias, RedirectTarget target) {
+    cache.put(alias, target);
+  }
+
+  @Override
+  public void invalidate(String alias) {
+    cache.invalidate(alias);
+  }
+
+  @Override
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+}
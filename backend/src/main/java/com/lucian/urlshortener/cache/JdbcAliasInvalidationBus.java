@@ -0,0 +1,129 @@
+package com.lucian.urlshortener.cache;
+
+import com.lucian.urlshortener.entity.AliasInvalidation;
+import com.lucian.urlshortener.repo.AliasInvalidationRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Change-log bus for instances sharing one database. Deletes append rows to {@code
+ * alias_invalidation} in their own transaction, and every instance polls the table and evicts what
+ * it finds. Each poll resumes after the highest id this instance has read. Ids are handed out
+ * before commit, so a slow transaction can commit a lower id after a higher one was read: ids
+ * skipped over are looked up again on every poll until they show up or {@code gap-timeout} has
+ * passed, the latter for ids whose transaction rolled back. Rows older than {@code retention} are
+ * pruned.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.invalidation", havingValue = "jdbc")
+@Slf4j
+public class JdbcAliasInvalidationBus implements AliasInvalidationBus {
+
+  /**
+   * Widest run of skipped ids waited for, counted down from the id after it. Wider holes come from
+   * rolled-back batches or sequence jumps rather than transactions still committing.
+   */
+  static final int MAX_GAP = 1000;
+
+  private final AliasInvalidationRepository aliasInvalidationRepository;
+  private final AliasCache aliasCache;
+  private final long gapTimeoutMillis;
+  private final Duration retention;
+  private final LongSupplier clock;
+  private final ReentrantLock pollLock = new ReentrantLock();
+  /** Skipped ids not seen yet, with the time after which they are given up on. */
+  private final Map<Long, Long> gaps = new HashMap<>();
+  /** Null until the first row is read when the table was empty at startup. */
+  private Long lastSeenId;
+
+  @Autowired
+  public JdbcAliasInvalidationBus(
+      AliasInvalidationRepository aliasInvalidationRepository,
+      AliasCache aliasCache,
+      @Value("${app.cluster.invalidation.gap-timeout:30s}") Duration gapTimeout,
+      @Value("${app.cluster.invalidation.retention:10m}") Duration retention) {
+    this(aliasInvalidationRepository, aliasCache, gapTimeout, retention, System::currentTimeMillis);
+  }
+
+  JdbcAliasInvalidationBus(
+      AliasInvalidationRepository aliasInvalidationRepository,
+      AliasCache aliasCache,
+      Duration gapTimeout,
+      Duration retention,
+      LongSupplier clock) {
+    this.aliasInvalidationRepository = aliasInvalidationRepository;
+    this.aliasCache = aliasCache;
+    this.gapTimeoutMillis = gapTimeout.toMillis();
+    this.retention = retention;
+    this.clock = clock;
+    // Nothing is cached yet, so older invalidations have nothing left to evict
+    this.lastSeenId = aliasInvalidationRepository.findMaxId();
+  }
+
+  @Override
+  public void publish(Collection<String> aliases) {
+    LocalDateTime now = LocalDateTime.now();
+    aliasInvalidationRepository.saveAll(
+        aliases.stream()
+            .map(alias -> AliasInvalidation.builder().alias(alias).createdAt(now).build())
+            .toList());
+  }
+
+  /** Evicts every alias invalidated since the last poll; returns how many rows were read. */
+  @Scheduled(fixedDelayString = "${app.cluster.invalidation.poll-interval:1s}")
+  @Transactional(readOnly = true)
+  public int poll() {
+    pollLock.lock();
+    try {
+      long now = clock.getAsLong();
+      List<AliasInvalidation> rows = new ArrayList<>();
+      if (!gaps.isEmpty()) {
+        rows.addAll(aliasInvalidationRepository.findByIdIn(List.copyOf(gaps.keySet())));
+        rows.forEach(row -> gaps.remove(row.getId()));
+        gaps.values().removeIf(deadline -> deadline <= now);
+      }
+      for (AliasInvalidation row :
+          aliasInvalidationRepository.findByIdGreaterThanOrderByIdAsc(
+              lastSeenId == null ? 0 : lastSeenId)) {
+        if (lastSeenId != null) {
+          for (long skipped = Math.max(lastSeenId + 1, row.getId() - MAX_GAP);
+              skipped < row.getId();
+              skipped++) {
+            gaps.put(skipped, now + gapTimeoutMillis);
+          }
+        }
+        lastSeenId = row.getId();
+        rows.add(row);
+      }
+      rows.forEach(row -> aliasCache.invalidate(row.getAlias()));
+      return rows.size();
+    } finally {
+      pollLock.unlock();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.cluster.invalidation.prune-interval:1m}")
+  @Transactional
+  public int prune() {
+    int pruned =
+        aliasInvalidationRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    if (pruned > 0) {
+      log.debug("Pruned {} alias invalidations", pruned);
+    }
+    return pruned;
+  }
+}
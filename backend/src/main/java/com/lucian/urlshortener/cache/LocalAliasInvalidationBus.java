@@ -0,0 +1,19 @@
+package com.lucian.urlshortener.cache;
+
+import java.util.Collection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Single instance: there is nobody else to tell. */
+@Component
+@ConditionalOnProperty(
+    name = "app.cluster.invalidation",
+    havingValue = "local",
+    matchIfMissing = true)
+public class LocalAliasInvalidationBus implements AliasInvalidationBus {
+
+  @Override
+  public void publish(Collection<String> aliases) {
+    // Nothing to do
+  }
+}
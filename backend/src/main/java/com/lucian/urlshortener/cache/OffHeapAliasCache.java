@@ -0,0 +1,459 @@
+package com.lucian.urlshortener.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * {@link AliasCache} kept in direct memory, so millions of cached links add no objects for the
+ * garbage collector to trace. The budget {@code app.cache.alias.off-heap.max-memory} is split over
+ * stripes, each guarded by its own lock. A stripe is an open-addressing hash table (linear probing,
+ * one {@code long} per slot holding the alias hash and the entry offset) over a ring-shaped arena
+ * of entries, each carrying its expiry, write time, alias bytes and {@code Location} value as
+ * UTF-8.
+ *
+ * <p>New entries are appended at the head of the arena; when it is full, entries are evicted from
+ * the tail in write order. An entry read since it was written gets a second chance and is moved
+ * to the head instead (CLOCK), so links that keep being hit stay cached. Replaced and invalidated
+ * entries are left in the arena until the tail reaches them.
+ *
+ * <p>A hit copies the {@code Location} value out to a new string, as the servlet API takes one;
+ * that is the only allocation on the redirect path. Aliases are ASCII, as {@link
+ * com.lucian.urlshortener.utility.AliasValidator} allows nothing else, and are stored one byte per
+ * character. The JVM must be allowed at least the budget in direct memory ({@code
+ * -XX:MaxDirectMemorySize}, which defaults to the maximum heap size).
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.alias.type", havingValue = "off-heap")
+public class OffHeapAliasCache implements AliasCache {
+
+  private static final int STRIPE_BITS = 4;
+  private static final int STRIPES = 1 << STRIPE_BITS;
+  private static final long MIN_STRIPE_SIZE = 4096;
+  private static final long MAX_STRIPE_SIZE = Integer.MAX_VALUE & ~7L;
+  /** One 8-byte index slot per this many bytes of budget; the arena gets the rest. */
+  private static final int BYTES_PER_SLOT = 64;
+  private static final double MAX_LOAD_FACTOR = 0.75;
+
+  // Entry layout; entries start on 8-byte boundaries
+  private static final int SIZE = 0;
+  private static final int FLAGS = 4;
+  private static final int ALIAS_LENGTH = 6;
+  private static final int LOCATION_LENGTH = 8;
+  private static final int HASH = 12;
+  private static final int EXPIRES_AT = 16;
+  private static final int WRITTEN_AT = 24;
+  private static final int HEADER_SIZE = 32;
+  private static final byte ACCESSED = 1;
+  /** Alias length marking the filler written when an entry does not fit before the arena end. */
+  private static final short PADDING = -1;
+
+  private final Stripe[] stripes;
+  private final long ttlMillis;
+  private final LongSupplier clock;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  @Autowired
+  public OffHeapAliasCache(
+      @Value("${app.cache.alias.off-heap.max-memory:256MB}") DataSize maxMemory,
+      @Value("${app.cache.alias.ttl:10m}") Duration ttl) {
+    this(maxMemory, ttl, System::currentTimeMillis);
+  }
+
+  OffHeapAliasCache(DataSize maxMemory, Duration ttl, LongSupplier clock) {
+    long stripeSize = maxMemory.toBytes() / STRIPES;
+    if (stripeSize < MIN_STRIPE_SIZE) {
+      throw new IllegalArgumentException(
+          "app.cache.alias.off-heap.max-memory must be at least "
+              + DataSize.ofBytes(MIN_STRIPE_SIZE * STRIPES).toKilobytes()
+              + "KB, was "
+              + maxMemory);
+    }
+    stripeSize = Math.min(stripeSize, MAX_STRIPE_SIZE);
+    this.stripes = new Stripe[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(stripeSize);
+    }
+    this.ttlMillis = ttl.toMillis();
+    this.clock = clock;
+  }
+
+  @Override
+  public RedirectTarget get(String alias) {
+    int hash = hash(alias);
+    RedirectTarget target = stripe(hash).get(alias, hash, clock.getAsLong());
+    (target == null ? misses : hits).increment();
+    return target;
+  }
+
+  @Override
+  public void put(String alias, RedirectTarget target) {
+    if (!isAscii(alias)) {
+      return;
+    }
+    int hash = hash(alias);
+    byte[] location = target.location().getBytes(UTF_8);
+    if (stripe(hash).put(alias, hash, location, target.expiresAtMillis(), clock.getAsLong())) {
+      puts.increment();
+    }
+  }
+
+  @Override
+  public void invalidate(String alias) {
+    int hash = hash(alias);
+    stripe(hash).invalidate(alias, hash);
+  }
+
+  @Override
+  public CacheStats stats() {
+    return CacheStats.of(hits.sum(), misses.sum(), 0, 0, 0, evictions.sum(), 0);
+  }
+
+  /** Number of cached aliases. */
+  public long size() {
+    long size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.count;
+    }
+    return size;
+  }
+
+  /** Bytes of the arenas taken by entries, including replaced ones not yet reclaimed. */
+  public long usedBytes() {
+    long used = 0;
+    for (Stripe stripe : stripes) {
+      used += stripe.used;
+    }
+    return used;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    new Metrics(this).bindTo(registry);
+  }
+
+  private Stripe stripe(int hash) {
+    return stripes[hash >>> (Integer.SIZE - STRIPE_BITS)];
+  }
+
+  /** FNV-1a over the characters, then the murmur3 finalizer so high and low bits both mix. */
+  private static int hash(String alias) {
+    int h = 0x811c9dc5;
+    for (int i = 0; i < alias.length(); i++) {
+      h = (h ^ alias.charAt(i)) * 0x01000193;
+    }
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    return h ^ (h >>> 16);
+  }
+
+  private static boolean isAscii(String alias) {
+    for (int i = 0; i < alias.length(); i++) {
+      if (alias.charAt(i) > 0x7f) {
+        return false;
+      }
+    }
+    return alias.length() <= Short.MAX_VALUE;
+  }
+
+  private final class Stripe {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer index;
+    private final int mask;
+    private final int maxEntries;
+    private final ByteBuffer arena;
+    private final int capacity;
+
+    // Guarded by lock; the arena holds entries from tail up to head, wrapping at capacity
+    private int head;
+    private int tail;
+    private volatile int used;
+    private volatile int count;
+    private byte[] scratch = new byte[256];
+
+    Stripe(long size) {
+      int slots = Integer.highestOneBit((int) Math.min(size / BYTES_PER_SLOT, 1 << 27));
+      this.index = ByteBuffer.allocateDirect(slots * Long.BYTES);
+      this.mask = slots - 1;
+      this.maxEntries = (int) (slots * MAX_LOAD_FACTOR);
+      this.capacity = (int) ((size - (long) slots * Long.BYTES) & ~7L);
+      this.arena = ByteBuffer.allocateDirect(capacity);
+    }
+
+    RedirectTarget get(String alias, int hash, long now) {
+      lock.lock();
+      try {
+        int slot = find(alias, hash);
+        if (slot < 0) {
+          return null;
+        }
+        int entry = entryAt(slot);
+        if (now - arena.getLong(entry + WRITTEN_AT) >= ttlMillis) {
+          remove(slot);
+          return null;
+        }
+        arena.put(entry + FLAGS, ACCESSED);
+        int length = arena.getInt(entry + LOCATION_LENGTH);
+        if (scratch.length < length) {
+          scratch = new byte[length];
+        }
+        arena.get(entry + HEADER_SIZE + alias.length(), scratch, 0, length);
+        return new RedirectTarget(
+            new String(scratch, 0, length, UTF_8), arena.getLong(entry + EXPIRES_AT));
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    boolean put(String alias, int hash, byte[] location, long expiresAtMillis, long now) {
+      int size = align(HEADER_SIZE + alias.length() + location.length);
+      if (size > capacity) {
+        return false;
+      }
+      lock.lock();
+      try {
+        int existing = find(alias, hash);
+        if (existing >= 0) {
+          remove(existing);
+        }
+        while (count >= maxEntries) {
+          evictTail(now);
+        }
+        int entry = allocate(size, now);
+        arena.putInt(entry + SIZE, size);
+        arena.put(entry + FLAGS, (byte) 0);
+        arena.putShort(entry + ALIAS_LENGTH, (short) alias.length());
+        arena.putInt(entry + LOCATION_LENGTH, location.length);
+        arena.putInt(entry + HASH, hash);
+        arena.putLong(entry + EXPIRES_AT, expiresAtMillis);
+        arena.putLong(entry + WRITTEN_AT, now);
+        for (int i = 0; i < alias.length(); i++) {
+          arena.put(entry + HEADER_SIZE + i, (byte) alias.charAt(i));
+        }
+        arena.put(entry + HEADER_SIZE + alias.length(), location);
+        insert(hash, entry);
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void invalidate(String alias, int hash) {
+      lock.lock();
+      try {
+        int slot = find(alias, hash);
+        if (slot >= 0) {
+          remove(slot);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Takes {@code size} contiguous bytes at the head, evicting from the tail until they fit. */
+    private int allocate(int size, long now) {
+      while (true) {
+        if (used == 0) {
+          head = 0;
+          tail = 0;
+        }
+        if (head > tail || used == 0) {
+          // Free space is [head, capacity) and [0, tail)
+          if (capacity - head >= size) {
+            return take(size);
+          }
+          if (tail >= size) {
+            arena.putInt(head + SIZE, capacity - head);
+            arena.putShort(head + ALIAS_LENGTH, PADDING);
+            used += capacity - head;
+            head = 0;
+            continue;
+          }
+        } else if (tail - head >= size) {
+          return take(size);
+        }
+        evictTail(now);
+      }
+    }
+
+    private int take(int size) {
+      int entry = head;
+      head = entry + size == capacity ? 0 : entry + size;
+      used += size;
+      return entry;
+    }
+
+    /**
+     * Frees the entry at the tail. A live entry read since it was written, and within its time to
+     * live, is moved to the head with its read mark cleared rather than dropped.
+     */
+    private void evictTail(long now) {
+      int entry = tail;
+      int size = arena.getInt(entry + SIZE);
+      tail = entry + size == capacity ? 0 : entry + size;
+      used -= size;
+      if (arena.getShort(entry + ALIAS_LENGTH) == PADDING) {
+        return;
+      }
+      int hash = arena.getInt(entry + HASH);
+      int slot = slotOf(hash, entry);
+      if (slot < 0) {
+        return;
+      }
+      remove(slot);
+      boolean accessed = arena.get(entry + FLAGS) == ACCESSED;
+      if (!accessed || now - arena.getLong(entry + WRITTEN_AT) >= ttlMillis) {
+        evictions.increment();
+        return;
+      }
+      // The freed bytes may overlap the new position, so copy through the scratch array
+      if (scratch.length < size) {
+        scratch = new byte[size];
+      }
+      arena.get(entry, scratch, 0, size);
+      int moved = allocate(size, now);
+      arena.put(moved, scratch, 0, size);
+      arena.put(moved + FLAGS, (byte) 0);
+      insert(hash, moved);
+    }
+
+    private int find(String alias, int hash) {
+      int slot = hash & mask;
+      while (true) {
+        long value = index.getLong(slot * Long.BYTES);
+        if (value == 0) {
+          return -1;
+        }
+        if ((int) (value >>> 32) == hash && matches(offset(value), alias)) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    private int slotOf(int hash, int entry) {
+      int slot = hash & mask;
+      while (true) {
+        long value = index.getLong(slot * Long.BYTES);
+        if (value == 0) {
+          return -1;
+        }
+        if (offset(value) == entry) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    private boolean matches(int entry, String alias) {
+      if (arena.getShort(entry + ALIAS_LENGTH) != alias.length()) {
+        return false;
+      }
+      for (int i = 0; i < alias.length(); i++) {
+        if (arena.get(entry + HEADER_SIZE + i) != alias.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int entryAt(int slot) {
+      return offset(index.getLong(slot * Long.BYTES));
+    }
+
+    private void insert(int hash, int entry) {
+      int slot = hash & mask;
+      while (index.getLong(slot * Long.BYTES) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      index.putLong(slot * Long.BYTES, ((long) hash << 32) | (entry + 1));
+      count++;
+    }
+
+    /** Empties a slot, moving later slots of its probe run back so lookups still reach them. */
+    private void remove(int slot) {
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      long value;
+      while ((value = index.getLong(next * Long.BYTES)) != 0) {
+        int home = (int) (value >>> 32) & mask;
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          index.putLong(hole * Long.BYTES, value);
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      index.putLong(hole * Long.BYTES, 0);
+      count--;
+    }
+
+    private static int offset(long slotValue) {
+      return (int) slotValue - 1;
+    }
+
+    private static int align(int size) {
+      return (size + 7) & ~7;
+    }
+  }
+
+  private static final class Metrics extends CacheMeterBinder<OffHeapAliasCache> {
+
+    Metrics(OffHeapAliasCache cache) {
+      super(cache, CACHE_NAME, Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+      return getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+      return getCache().hits.sum();
+    }
+
+    @Override
+    protected Long missCount() {
+      return getCache().misses.sum();
+    }
+
+    @Override
+    protected Long evictionCount() {
+      return getCache().evictions.sum();
+    }
+
+    @Override
+    protected long putCount() {
+      return getCache().puts.sum();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+      Gauge.builder("cache.off-heap.used", getCache(), OffHeapAliasCache::usedBytes)
+          .tags(getTagsWithCacheName())
+          .description("Bytes of the off-heap arenas taken by entries")
+          .baseUnit("bytes")
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.lucian.urlshortener.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * What the redirect path needs to know about an alias: the encoded {@code Location} value and the
+ * epoch millisecond from which it is no longer served.
+ */
+public record RedirectTarget(String location, long expiresAtMillis) {
+
+  public static final long NEVER = Long.MAX_VALUE;
+
+  public static RedirectTarget of(String location, LocalDateTime expiresAt) {
+    long expiresAtMillis =
+        expiresAt == null
+            ? NEVER
+            : expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    return new RedirectTarget(location, expiresAtMillis);
+  }
+
+  public boolean isExpired(long nowMillis) {
+    return nowMillis >= expiresAtMillis;
+  }
+}
@@ -0,0 +1,51 @@
+package com.lucian.urlshortener.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucian.urlshortener.filter.RateLimitFilter;
+import com.lucian.urlshortener.utility.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+  @Bean
+  public RateLimitFilter rateLimitFilter(
+      @Value("${app.rate-limit.create.per-second:5}") double createRate,
+      @Value("${app.rate-limit.create.burst:20}") int createBurst,
+      @Value("${app.rate-limit.redirect.per-second:100}") double redirectRate,
+      @Value("${app.rate-limit.redirect.burst:500}") int redirectBurst,
+      @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+      @Value("${app.rate-limit.key-header:}") String keyHeader,
+      @Value("${app.rate-limit.keys:}") Set<String> keys,
+      @Value("${app.rate-limit.keys-validated-upstream:false}") boolean keysValidatedUpstream,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    return new RateLimitFilter(
+        new RateLimiter(createRate, createBurst, maxKeys),
+        new RateLimiter(redirectRate, redirectBurst, maxKeys),
+        keyHeader,
+        keys,
+        keysValidatedUpstream,
+        objectMapper,
+        meterRegistry);
+  }
+
+  /** The filter runs in the security filter chain, so the container must not run it again. */
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(
+      RateLimitFilter rateLimitFilter) {
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(rateLimitFilter);
+    registration.setEnabled(false);
+    return registration;
+  }
+}
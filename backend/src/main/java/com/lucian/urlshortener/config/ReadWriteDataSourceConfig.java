@@ -0,0 +1,85 @@
+package com.lucian.urlshortener.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Splits database access over two connection pools. Read-only transactions, which include every
+ * redirect lookup, take connections from the {@code read} pool, pointed at a replica with {@code
+ * app.datasource.read.url} or at the primary by default. Everything else uses the {@code primary}
+ * pool configured with {@code spring.datasource.*}, so a burst of creates can exhaust it without
+ * holding up redirects.
+ *
+ * <p>The routing data source is wrapped in a lazy proxy so the physical connection is only taken
+ * at the first statement, once the transaction's read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.read.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+  private static final String PRIMARY = "primary";
+  private static final String READ = "read";
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName(PRIMARY);
+    return dataSource;
+  }
+
+  @Bean
+  public HikariDataSource readDataSource(
+      DataSourceProperties properties,
+      @Value("${app.datasource.read.url}") String url,
+      @Value("${app.datasource.read.username}") String username,
+      @Value("${app.datasource.read.password}") String password,
+      @Value("${app.datasource.read.maximum-pool-size:10}") int maximumPoolSize) {
+    HikariDataSource dataSource =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+    dataSource.setPoolName(READ);
+    dataSource.setMaximumPoolSize(maximumPoolSize);
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("readDataSource") DataSource readDataSource) {
+    AbstractRoutingDataSource routing =
+        new AbstractRoutingDataSource() {
+          @Override
+          protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? READ
+                : PRIMARY;
+          }
+        };
+    routing.setTargetDataSources(Map.of(PRIMARY, primaryDataSource, READ, readDataSource));
+    routing.setDefaultTargetDataSource(primaryDataSource);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+}
@@ -1,6 +1,10 @@
 package com.lucian.urlshortener.config;
 
+import com.lucian.urlshortener.controller.UrlShortenerController;
+import com.lucian.urlshortener.filter.RateLimitFilter;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,16 +13,21 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 @Configuration
+@ConditionalOnWebApplication
 public class SecurityConfig {
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity http, ObjectProvider<RateLimitFilter> rateLimitFilter) throws Exception {
     http
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .csrf(AbstractHttpConfigurer::disable) // DISABLE CSRF for local dev
         .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+    // After CORS, so a browser can still read a 429 from another origin
+    rateLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, CorsFilter.class));
 
     return http.build();
   }
@@ -29,6 +38,7 @@ public class SecurityConfig {
     config.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:3000"));
     config.setAllowedMethods(List.of("GET", "POST", "DELETE"));
     config.setAllowedHeaders(List.of("*"));
+    config.setExposedHeaders(List.of(UrlShortenerController.NEXT_CURSOR_HEADER));
     config.setAllowCredentials(true);
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,5 +1,6 @@
 package com.lucian.urlshortener.config;
 
+import com.lucian.urlshortener.controller.UrlShortenerController;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -14,6 +15,7 @@ public class WebConfig implements WebMvcConfigurer {
         .allowedMethods("GET", "POST", "DELETE")
         .allowCredentials(true)
         .allowedHeaders("*")
+        .exposedHeaders(UrlShortenerController.NEXT_CURSOR_HEADER)
         .maxAge(3600);
   }
 }
@@ -0,0 +1,135 @@
+package com.lucian.urlshortener.controller;
+
+import com.lucian.urlshortener.dto.ErrorResponse;
+import com.lucian.urlshortener.dto.SnapshotImportResponse;
+import com.lucian.urlshortener.exception.SnapshotTooLargeException;
+import com.lucian.urlshortener.service.SnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Snapshot export and import over HTTP. Off unless {@code app.snapshot.http.enabled} is set, since
+ * the endpoints are not authenticated: the export hands out every mapping and the import writes
+ * unchecked amounts of data.
+ */
+@Tag(name = "URL Shortener", description = "Simple RESTful API for shortening URLs.")
+@RestController
+@ConditionalOnProperty(name = "app.snapshot.http.enabled", havingValue = "true")
+public class SnapshotController {
+
+  public static final String SNAPSHOT_FILE_NAME = "url-mappings.snapshot";
+
+  private final SnapshotService snapshotService;
+  private final DataSize maxUploadSize;
+
+  public SnapshotController(
+      SnapshotService snapshotService,
+      @Value("${app.snapshot.http.max-upload-size:1GB}") DataSize maxUploadSize) {
+    this.snapshotService = snapshotService;
+    this.maxUploadSize = maxUploadSize;
+  }
+
+  @Operation(
+      summary = "Export a snapshot",
+      description =
+          "Streams every URL mapping as a compressed binary snapshot with per-block checksums,"
+              + " for loading into another instance with POST /urls/snapshot.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "The snapshot",
+      content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE))
+  @GetMapping(value = "/urls/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public void exportSnapshot(HttpServletResponse response) throws IOException {
+    response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + SNAPSHOT_FILE_NAME + "\"");
+    snapshotService.exportSnapshot(Channels.newChannel(response.getOutputStream()));
+  }
+
+  @Operation(
+      summary = "Import a snapshot",
+      description =
+          "Inserts the URL mappings of a snapshot made by GET /urls/snapshot. The snapshot is"
+              + " checked as a whole first, so a damaged one or one holding an invalid mapping"
+              + " stores nothing. Batches are then committed as they are inserted, so a snapshot"
+              + " holding an alias that is already stored leaves the batches before it imported.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "Snapshot imported",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = SnapshotImportResponse.class)))
+  @ApiResponse(
+      responseCode = "400",
+      description = "Truncated or damaged snapshot, or one holding an invalid mapping",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
+  @ApiResponse(
+      responseCode = "409",
+      description = "The snapshot holds an alias that is already stored",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
+  @ApiResponse(
+      responseCode = "413",
+      description = "The snapshot is larger than app.snapshot.http.max-upload-size",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
+  @PostMapping(value = "/urls/snapshot", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public SnapshotImportResponse importSnapshot(HttpServletRequest request) throws IOException {
+    if (request.getContentLengthLong() > maxUploadSize.toBytes()) {
+      throw new SnapshotTooLargeException(maxUploadSize);
+    }
+    // Spooled so the whole snapshot is checked before the first insert
+    Path spool = Files.createTempFile("url-mappings", ".snapshot");
+    try {
+      spool(request.getInputStream(), spool);
+      // Indexes stay in place: dropping them locks a table other instances are serving from.
+      // Deferring them is left to SnapshotCli, run against a database taken out of service
+      return new SnapshotImportResponse(snapshotService.importSnapshot(spool, false));
+    } finally {
+      Files.deleteIfExists(spool);
+    }
+  }
+
+  /** Copies the body to the spool file, counting it too since a chunked upload has no length. */
+  private void spool(InputStream body, Path spool) throws IOException {
+    byte[] buffer = new byte[8192];
+    long copied = 0;
+    try (OutputStream out = Files.newOutputStream(spool)) {
+      int read;
+      while ((read = body.read(buffer)) != -1) {
+        copied += read;
+        if (copied > maxUploadSize.toBytes()) {
+          throw new SnapshotTooLargeException(maxUploadSize);
+        }
+        out.write(buffer, 0, read);
+      }
+    }
+  }
+}
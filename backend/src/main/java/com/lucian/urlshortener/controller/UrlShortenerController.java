@@ -1,33 +1,77 @@
 package com.lucian.urlshortener.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import com.lucian.urlshortener.dto.BatchItemResponse;
+import com.lucian.urlshortener.dto.ClickStatsResponse;
 import com.lucian.urlshortener.dto.ErrorResponse;
 import com.lucian.urlshortener.dto.UrlRequest;
 import com.lucian.urlshortener.dto.UrlResponse;
+import com.lucian.urlshortener.entity.ClickStats;
 import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.exception.AliasNotFoundException;
+import com.lucian.urlshortener.exception.InvalidBatchException;
+import com.lucian.urlshortener.metrics.UrlShortenerMetrics;
+import com.lucian.urlshortener.service.ClickStatsService;
 import com.lucian.urlshortener.service.UrlShortenerService;
 import com.lucian.urlshortener.utility.Mapper;
+import com.lucian.urlshortener.utility.PageCursor;
+import com.lucian.urlshortener.utility.Result;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.net.URI;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @Tag(name = "URL Shortener", description = "Simple RESTful API for shortening URLs.")
 @RestController
-@AllArgsConstructor
 @Slf4j
 public class UrlShortenerController {
 
+  public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private final UrlShortenerService urlShortenerService;
+  private final ClickStatsService clickStatsService;
+  private final UrlShortenerMetrics metrics;
+  private final ObjectMapper objectMapper;
+  private final int maxBatchSize;
+  private final String baseUrl;
+
+  public UrlShortenerController(
+      UrlShortenerService urlShortenerService,
+      ClickStatsService clickStatsService,
+      UrlShortenerMetrics metrics,
+      ObjectMapper objectMapper,
+      @Value("${app.batch.max-size:50000}") int maxBatchSize,
+      @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
+    this.urlShortenerService = urlShortenerService;
+    this.clickStatsService = clickStatsService;
+    this.metrics = metrics;
+    this.objectMapper = objectMapper;
+    this.maxBatchSize = maxBatchSize;
+    this.baseUrl = baseUrl;
+  }
 
   @Operation(
       summary = "Shorten a URL",
@@ -47,14 +91,51 @@ public class UrlShortenerController {
               mediaType = "application/json",
               schema = @Schema(implementation = ErrorResponse.class)))
   @PostMapping("/shorten")
-  public ResponseEntity<UrlResponse> createShortUrl(@RequestBody @Valid UrlRequest request) {
-    log.info(
+  public ResponseEntity<?> createShortUrl(
+      @RequestBody @Valid UrlRequest request, HttpServletRequest servletRequest) {
+    long start = System.nanoTime();
+    log.debug(
         "Received shorten URL request for {} with customAlias '{}'",
         request.fullUrl(),
         request.customAlias());
-    UrlMapping urlMapping =
-        urlShortenerService.createShortUrl(request.fullUrl(), request.customAlias());
-    return ResponseEntity.status(HttpStatus.CREATED).body(Mapper.toUrlResponse(urlMapping));
+    return switch (urlShortenerService.tryCreateShortUrl(
+        request.fullUrl(), request.customAlias(), request.expiresAt())) {
+      case Result.Ok<UrlMapping>(UrlMapping urlMapping) -> {
+        metrics.create(System.nanoTime() - start);
+        yield ResponseEntity.status(HttpStatus.CREATED)
+            .body(Mapper.toUrlResponse(urlMapping, baseUrl));
+      }
+      case Result.Failure<UrlMapping> failure -> errorResponse(failure, servletRequest);
+    };
+  }
+
+  @Operation(
+      summary = "Shorten a batch of URLs",
+      description =
+          "Creates short URLs for a JSON array or NDJSON stream of requests in one transaction. "
+              + "Each item is reported with its own status; invalid items do not fail the batch.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "Per-item results, in request order",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BatchItemResponse[].class)))
+  @ApiResponse(
+      responseCode = "400",
+      description = "Malformed body or too many items",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
+  @PostMapping(
+      value = "/shorten/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<List<BatchItemResponse>> createShortUrls(HttpServletRequest request)
+      throws IOException {
+    List<UrlRequest> requests = readBatch(request.getInputStream());
+    log.info("Received batch shorten request with {} items", requests.size());
+    return ResponseEntity.ok(urlShortenerService.createShortUrls(requests));
   }
 
   @Operation(
@@ -71,14 +152,74 @@ public class UrlShortenerController {
           @Content(
               mediaType = "application/json",
               schema = @Schema(implementation = ErrorResponse.class)))
+  @ApiResponse(
+      responseCode = "410",
+      description = "Alias has expired",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
   @GetMapping("/{alias}")
-  public ResponseEntity<Void> getRedirect(
+  public ResponseEntity<Object> getRedirect(
       @Parameter(name = "alias", description = "The alias to look up", required = true)
           @PathVariable
-          String alias) {
-    UrlMapping mapping = urlShortenerService.getByAlias(alias);
-    URI location = URI.create(mapping.getFullUrl());
-    return ResponseEntity.status(HttpStatus.FOUND).location(location).build();
+          String alias,
+      HttpServletRequest request) {
+    // Normally answered by RedirectFilter; this serves the same responses when it is disabled
+    long start = System.nanoTime();
+    RedirectTarget target = urlShortenerService.findRedirect(alias);
+    if (target == null) {
+      metrics.redirectNotFound(System.nanoTime() - start);
+      ErrorResponse body =
+          ErrorResponse.of(
+              HttpStatus.NOT_FOUND,
+              AliasNotFoundException.messageFor(alias),
+              request.getRequestURI());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+    if (target.isExpired(System.currentTimeMillis())) {
+      metrics.redirectExpired(System.nanoTime() - start);
+      ErrorResponse body =
+          ErrorResponse.of(HttpStatus.GONE, "Alias has expired: " + alias, request.getRequestURI());
+      return ResponseEntity.status(HttpStatus.GONE).body(body);
+    }
+    clickStatsService.recordClick(alias);
+    metrics.redirectFound(System.nanoTime() - start);
+    return ResponseEntity.status(HttpStatus.FOUND)
+        .header(HttpHeaders.LOCATION, target.location())
+        .build();
+  }
+
+  @Operation(
+      summary = "Get click statistics",
+      description =
+          "Returns the number of redirects served for the alias and when the last one happened. "
+              + "Counts are written in batches and may lag behind by the flush interval.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "Click statistics for the alias",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ClickStatsResponse.class)))
+  @ApiResponse(
+      responseCode = "404",
+      description = "Alias not found",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
+  @GetMapping("/urls/{alias}/stats")
+  public ResponseEntity<?> getClickStats(
+      @Parameter(name = "alias", description = "The alias to look up", required = true)
+          @PathVariable
+          String alias,
+      HttpServletRequest request) {
+    if (urlShortenerService.findByAlias(alias) instanceof Result.Failure<UrlMapping> failure) {
+      return errorResponse(failure, request);
+    }
+    ClickStats stats = clickStatsService.getStats(alias);
+    return ResponseEntity.ok(Mapper.toClickStatsResponse(stats));
   }
 
   @Operation(
@@ -100,24 +241,111 @@ public class UrlShortenerController {
       @Parameter(name = "alias", description = "The alias to look up", required = true)
           @PathVariable
           String alias) {
+    long start = System.nanoTime();
     urlShortenerService.deleteByAlias(alias);
+    metrics.delete(System.nanoTime() - start);
     return ResponseEntity.noContent().build();
   }
 
   @Operation(
-      summary = "List all shortened URLs",
-      description = "Retrieves a list of all URL mappings.")
+      summary = "List shortened URLs",
+      description =
+          "Retrieves one page of URL mappings. When more rows may follow, the "
+              + NEXT_CURSOR_HEADER
+              + " header carries the cursor for the next page.")
   @ApiResponse(
       responseCode = "200",
-      description = "A list of shortened URLs",
+      description = "A page of shortened URLs",
       content =
           @Content(
               mediaType = "application/json",
               schema = @Schema(implementation = UrlResponse[].class)))
+  @ApiResponse(
+      responseCode = "400",
+      description = "Invalid sort, cursor or limit",
+      content =
+          @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))
   @GetMapping("/urls")
-  public ResponseEntity<List<UrlResponse>> listShortenedUrls() {
-    List<UrlMapping> mappings = urlShortenerService.listAll();
-    List<UrlResponse> responses = mappings.stream().map(Mapper::toUrlResponse).toList();
-    return ResponseEntity.ok(responses);
+  public ResponseEntity<List<UrlResponse>> listShortenedUrls(
+      @Parameter(description = "Sort key, either alias or createdAt")
+          @RequestParam(defaultValue = UrlShortenerService.SORT_BY_ALIAS)
+          String sort,
+      @Parameter(description = "Cursor returned with the previous page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Maximum number of items to return")
+          @RequestParam(defaultValue = "100")
+          int limit) {
+    List<UrlMapping> mappings = urlShortenerService.listPage(sort, cursor, limit);
+    List<UrlResponse> responses =
+        mappings.stream().map(mapping -> Mapper.toUrlResponse(mapping, baseUrl)).toList();
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (mappings.size() == limit) {
+      response.header(NEXT_CURSOR_HEADER, PageCursor.of(mappings.getLast()).encode());
+    }
+    return response.body(responses);
+  }
+
+  @Operation(
+      summary = "Export all shortened URLs",
+      description =
+          "Streams every URL mapping as newline-delimited JSON, in alias order, while it is read.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "One URL mapping per line",
+      content =
+          @Content(
+              mediaType = APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = UrlResponse.class)))
+  @GetMapping(value = "/urls/export", produces = APPLICATION_NDJSON_VALUE)
+  public void exportShortenedUrls(HttpServletResponse response) throws IOException {
+    response.setContentType(APPLICATION_NDJSON_VALUE);
+    ObjectWriter writer =
+        objectMapper
+            .writerFor(UrlResponse.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+      generator.setRootValueSeparator(null);
+      urlShortenerService.exportAll(
+          mapping -> {
+            try {
+              writer.writeValue(generator, Mapper.toUrlResponse(mapping, baseUrl));
+              generator.writeRaw('\n');
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    }
+  }
+
+  /**
+   * Reads either a top-level JSON array or newline-delimited JSON objects; Jackson iterates both
+   * the same way. Reading stops as soon as the batch limit is exceeded.
+   */
+  private List<UrlRequest> readBatch(InputStream body) {
+    List<UrlRequest> requests = new ArrayList<>();
+    try (MappingIterator<UrlRequest> items =
+        objectMapper.readerFor(UrlRequest.class).readValues(body)) {
+      while (items.hasNextValue()) {
+        if (requests.size() == maxBatchSize) {
+          throw new InvalidBatchException(
+              String.format("Batch must not contain more than %d items", maxBatchSize));
+        }
+        requests.add(items.nextValue());
+      }
+    } catch (IOException e) {
+      throw new InvalidBatchException("Malformed batch request body", e);
+    }
+    return requests;
+  }
+
+  /** Answers an expected failure the way {@code RestExceptionHandler} would, without a throw. */
+  private static ResponseEntity<ErrorResponse> errorResponse(
+      Result.Failure<?> failure, HttpServletRequest request) {
+    ErrorResponse body =
+        ErrorResponse.of(failure.status(), failure.error().getMessage(), request.getRequestURI());
+    return ResponseEntity.status(failure.status()).body(body);
   }
 }
@@ -0,0 +1,14 @@
+package com.lucian.urlshortener.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResponse(
+    @Schema(description = "Position of the item in the request", example = "0") int index,
+    @Schema(description = "HTTP status for this item", example = "201") int status,
+    @Schema(description = "The created short URL, present on success") UrlResponse url,
+    @Schema(description = "Error message, present on failure", example = "Invalid URL")
+        String error) {}
@@ -0,0 +1,13 @@
+package com.lucian.urlshortener.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+@Builder
+public record ClickStatsResponse(
+    @Schema(description = "The alias the statistics belong to", example = "my-custom-alias")
+        String alias,
+    @Schema(description = "Number of redirects served", example = "42") long clicks,
+    @Schema(description = "Time of the most recent redirect", example = "2025-11-07T16:42:01.123")
+        LocalDateTime lastClickedAt) {}
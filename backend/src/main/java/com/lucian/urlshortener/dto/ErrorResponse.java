@@ -3,6 +3,7 @@ package com.lucian.urlshortener.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.Instant;
 import lombok.Builder;
+import org.springframework.http.HttpStatus;
 
 @Builder
 public record ErrorResponse(
@@ -12,4 +13,15 @@ public record ErrorResponse(
     @Schema(description = "Error type", example = "Bad Request") String error,
     @Schema(description = "Detailed error message", example = "Alias already exists: myAlias")
         String message,
-    @Schema(description = "Request path", example = "/shorten") String path) {}
+    @Schema(description = "Request path", example = "/shorten") String path) {
+
+  public static ErrorResponse of(HttpStatus status, String message, String path) {
+    return ErrorResponse.builder()
+        .timestamp(Instant.now())
+        .status(status.value())
+        .error(status.getReasonPhrase())
+        .message(message)
+        .path(path)
+        .build();
+  }
+}
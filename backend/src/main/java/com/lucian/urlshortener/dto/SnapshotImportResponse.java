@@ -0,0 +1,6 @@
+package com.lucian.urlshortener.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record SnapshotImportResponse(
+    @Schema(description = "Number of mappings imported", example = "1000000") long imported) {}
@@ -2,6 +2,7 @@ package com.lucian.urlshortener.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
 import org.hibernate.validator.constraints.URL;
 
 public record UrlRequest(
@@ -11,5 +12,14 @@ public record UrlRequest(
     String fullUrl,
 
     @Schema(description = "Optional custom alias", example = "my-custom-alias")
-    String customAlias
-) {}
+    String customAlias,
+
+    @Schema(
+        description = "Optional server-local time after which the alias returns 410 Gone",
+        example = "2030-01-01T00:00:00")
+    LocalDateTime expiresAt
+) {
+  public UrlRequest(String fullUrl, String customAlias) {
+    this(fullUrl, customAlias, null);
+  }
+}
@@ -1,9 +1,12 @@
 package com.lucian.urlshortener.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
 import lombok.Builder;
 
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record UrlResponse(
     @Schema(description = "The alias for the shortened URL", example = "my-custom-alias")
     String alias,
@@ -12,5 +15,8 @@ public record UrlResponse(
     String fullUrl,
 
     @Schema(description = "The shortened URL", example = "http://localhost:8080/my-custom-alias")
-    String shortUrl
+    String shortUrl,
+
+    @Schema(description = "When the alias expires, if it does", example = "2030-01-01T00:00:00")
+    LocalDateTime expiresAt
 ) {}
@@ -0,0 +1,33 @@
+package com.lucian.urlshortener.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/** One alias that every instance should evict from its local caches. */
+@Entity
+@Table(
+    name = "alias_invalidation",
+    indexes = @Index(name = "idx_alias_invalidation_created_at", columnList = "createdAt"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AliasInvalidation {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String alias;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+}
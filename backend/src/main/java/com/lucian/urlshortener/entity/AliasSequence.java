@@ -0,0 +1,21 @@
+package com.lucian.urlshortener.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+@Entity
+@Table(name = "alias_sequence")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AliasSequence {
+  @Id private String name;
+
+  @Column(nullable = false)
+  private long nextValue;
+}
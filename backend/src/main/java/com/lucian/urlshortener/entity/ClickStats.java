@@ -0,0 +1,24 @@
+package com.lucian.urlshortener.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.*;
+
+@Entity
+@Table(name = "url_click_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClickStats {
+  @Id private String alias;
+
+  @Column(nullable = false)
+  private long clickCount;
+
+  private LocalDateTime lastClickedAt;
+}
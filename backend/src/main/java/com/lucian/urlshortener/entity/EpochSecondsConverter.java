@@ -0,0 +1,24 @@
+package com.lucian.urlshortener.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Stores a date-time as whole seconds in a {@code BIGINT} column, counting the local date-time as
+ * UTC so it reads back unchanged. Sub-second parts are dropped.
+ */
+@Converter
+public class EpochSecondsConverter implements AttributeConverter<LocalDateTime, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(LocalDateTime value) {
+    return value == null ? null : value.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  @Override
+  public LocalDateTime convertToEntityAttribute(Long seconds) {
+    return seconds == null ? null : LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+  }
+}
@@ -1,15 +1,26 @@
 package com.lucian.urlshortener.entity;
 
+import com.lucian.urlshortener.utility.UrlUtils;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import lombok.*;
 
 @Entity
-@Table(name = "url_mapping")
+@Table(
+    name = "url_mapping",
+    indexes = {
+      @Index(name = "idx_url_mapping_created", columnList = "created_epoch, alias"),
+      @Index(name = "idx_url_mapping_url_hash", columnList = "urlHash"),
+      @Index(name = "idx_url_mapping_expires_at", columnList = "expiresAt")
+    })
 @Getter
 @Setter
 @Builder
@@ -18,11 +29,26 @@ import lombok.*;
 public class UrlMapping {
   @Id private String alias;
 
-  @Column(nullable = false)
+  @Column(nullable = false, length = UrlUtils.MAX_URL_LENGTH)
   private String fullUrl;
 
-  @Column(nullable = false)
-  private String shortUrl;
-
+  /**
+   * Whole seconds only. The short URL is not stored next to it; it is derived from the alias and
+   * {@code app.base-url} when a response is built.
+   */
+  @Column(name = "created_epoch")
+  @Convert(converter = EpochSecondsConverter.class)
   private LocalDateTime createdAt;
+
+  private LocalDateTime expiresAt;
+
+  /** Hash of {@code fullUrl}; only set on generated rows written with deduplication enabled. */
+  private Long urlHash;
+
+  @PrePersist
+  void onPersist() {
+    if (createdAt == null) {
+      createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+  }
 }
@@ -2,6 +2,15 @@ package com.lucian.urlshortener.exception;
 
 public class AliasNotFoundException extends RuntimeException {
   public AliasNotFoundException(String alias) {
-    super("Alias not found: " + alias);
+    super(messageFor(alias));
+  }
+
+  public static String messageFor(String alias) {
+    return "Alias not found: " + alias;
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
   }
 }
@@ -4,4 +4,9 @@ public class DuplicateAliasException extends IllegalArgumentException {
   public DuplicateAliasException(String alias) {
     super("Alias already exists: " + alias);
   }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
 }
@@ -33,4 +33,9 @@ public class InvalidAliasException extends IllegalArgumentException {
       case NULL_ALIAS -> "Invalid alias 'null': alias must not be null";
     };
   }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
 }
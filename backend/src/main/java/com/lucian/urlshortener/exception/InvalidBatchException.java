@@ -0,0 +1,11 @@
+package com.lucian.urlshortener.exception;
+
+public class InvalidBatchException extends IllegalArgumentException {
+  public InvalidBatchException(String message) {
+    super(message);
+  }
+
+  public InvalidBatchException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
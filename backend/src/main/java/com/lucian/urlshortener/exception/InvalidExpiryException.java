@@ -0,0 +1,12 @@
+package com.lucian.urlshortener.exception;
+
+public class InvalidExpiryException extends IllegalArgumentException {
+  public InvalidExpiryException(String message) {
+    super(message);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,7 @@
+package com.lucian.urlshortener.exception;
+
+public class InvalidPageRequestException extends IllegalArgumentException {
+  public InvalidPageRequestException(String message) {
+    super(message);
+  }
+}
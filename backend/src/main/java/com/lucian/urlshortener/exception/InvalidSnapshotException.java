@@ -0,0 +1,11 @@
+package com.lucian.urlshortener.exception;
+
+public class InvalidSnapshotException extends IllegalArgumentException {
+  public InvalidSnapshotException(String message) {
+    super(message);
+  }
+
+  public InvalidSnapshotException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
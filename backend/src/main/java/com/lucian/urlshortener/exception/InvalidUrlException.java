@@ -8,4 +8,9 @@ public class InvalidUrlException extends IllegalArgumentException {
   public InvalidUrlException(String message, Throwable cause) {
     super(message, cause);
   }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
 }
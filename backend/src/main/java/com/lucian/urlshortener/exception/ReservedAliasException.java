@@ -4,4 +4,9 @@ public class ReservedAliasException extends RuntimeException {
   public ReservedAliasException(String alias) {
     super("Alias is reserved and cannot be used: " + alias);
   }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
 }
@@ -0,0 +1,11 @@
+package com.lucian.urlshortener.exception;
+
+public class SnapshotConflictException extends RuntimeException {
+  public SnapshotConflictException(long imported) {
+    super(
+        String.format(
+            "Snapshot contains an alias that is already stored; %d mappings were imported"
+                + " before it",
+            imported));
+  }
+}
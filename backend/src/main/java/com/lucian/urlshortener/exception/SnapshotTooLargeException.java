@@ -0,0 +1,12 @@
+package com.lucian.urlshortener.exception;
+
+import org.springframework.util.unit.DataSize;
+
+public class SnapshotTooLargeException extends RuntimeException {
+  public SnapshotTooLargeException(DataSize maxUploadSize) {
+    super(
+        String.format(
+            "Snapshot must not be larger than %d bytes; load larger ones with SnapshotCli",
+            maxUploadSize.toBytes()));
+  }
+}
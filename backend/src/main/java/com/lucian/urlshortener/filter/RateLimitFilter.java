@@ -0,0 +1,140 @@
+package com.lucian.urlshortener.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucian.urlshortener.dto.ErrorResponse;
+import com.lucian.urlshortener.utility.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Limits creates ({@code POST /shorten} and {@code /shorten/batch}) and redirects ({@code GET
+ * /{alias}}) per client, each with its own {@link RateLimiter}. A client is its API key header
+ * when one is configured and sent with a known key, and its remote address otherwise. A key is
+ * known when it is in the configured set, or always when keys are validated upstream. Otherwise
+ * made-up keys would each get a fresh bucket and lift the limit. A throttled request is
+ * answered with 429 and a {@code Retry-After} of whole seconds, rounded up. Other routes pass
+ * straight through. Runs inside the Spring Security chain, see {@code SecurityConfig}.
+ */
+public class RateLimitFilter extends HttpFilter {
+
+  public static final String REJECTED = "ratelimit.rejected";
+  public static final String KEYS = "ratelimit.keys";
+
+  private final RateLimiter creates;
+  private final RateLimiter redirects;
+  private final String keyHeader;
+  private final Set<String> keys;
+  private final boolean keysValidatedUpstream;
+  private final ObjectMapper objectMapper;
+  private final Counter createsRejected;
+  private final Counter redirectsRejected;
+
+  /**
+   * {@code keyHeader} may be blank to key every client by remote address. Otherwise {@code keys}
+   * must list the accepted keys, unless {@code keysValidatedUpstream} says a gateway in front
+   * already rejects unknown ones.
+   */
+  public RateLimitFilter(
+      RateLimiter creates,
+      RateLimiter redirects,
+      String keyHeader,
+      Set<String> keys,
+      boolean keysValidatedUpstream,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.creates = creates;
+    this.redirects = redirects;
+    this.keyHeader = keyHeader == null || keyHeader.isBlank() ? null : keyHeader;
+    if (this.keyHeader != null && keys.isEmpty() && !keysValidatedUpstream) {
+      throw new IllegalArgumentException(
+          "Rate limit key header is set without keys: set app.rate-limit.keys, or"
+              + " app.rate-limit.keys-validated-upstream=true when a gateway checks them");
+    }
+    this.keys = Set.copyOf(keys);
+    this.keysValidatedUpstream = keysValidatedUpstream;
+    this.objectMapper = objectMapper;
+    this.createsRejected = rejected(meterRegistry, "create");
+    this.redirectsRejected = rejected(meterRegistry, "redirect");
+    keys(meterRegistry, "create", creates);
+    keys(meterRegistry, "redirect", redirects);
+  }
+
+  @Override
+  protected void doFilter(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    boolean create = isCreate(request);
+    RateLimiter limiter = create ? creates : null;
+    if (!create && RedirectFilter.aliasOf(request) != null) {
+      limiter = redirects;
+    }
+    if (limiter != null) {
+      long waitNanos = limiter.tryAcquire(clientOf(request));
+      if (waitNanos > 0) {
+        (create ? createsRejected : redirectsRejected).increment();
+        reject(request, response, waitNanos);
+        return;
+      }
+    }
+    chain.doFilter(request, response);
+  }
+
+  private String clientOf(HttpServletRequest request) {
+    if (keyHeader != null) {
+      String key = request.getHeader(keyHeader);
+      if (key != null && !key.isEmpty() && (keysValidatedUpstream || keys.contains(key))) {
+        // Kept apart from addresses, so a key cannot spend another client's permits
+        return "key:" + key;
+      }
+    }
+    return request.getRemoteAddr();
+  }
+
+  private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+      throws IOException {
+    long seconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(),
+        ErrorResponse.of(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "Too many requests, retry in " + seconds + " s",
+            request.getRequestURI()));
+  }
+
+  private static boolean isCreate(HttpServletRequest request) {
+    if (!"POST".equals(request.getMethod())) {
+      return false;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return path.equals("/shorten") || path.equals("/shorten/batch");
+  }
+
+  private static Counter rejected(MeterRegistry meterRegistry, String limit) {
+    return Counter.builder(REJECTED)
+        .tag("limit", limit)
+        .description("Requests answered with 429 by the per-client rate limit")
+        .register(meterRegistry);
+  }
+
+  private static void keys(MeterRegistry meterRegistry, String limit, RateLimiter limiter) {
+    Gauge.builder(KEYS, limiter, RateLimiter::size)
+        .tag("limit", limit)
+        .description("Clients with a rate limit bucket")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,107 @@
+package com.lucian.urlshortener.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import com.lucian.urlshortener.dto.ErrorResponse;
+import com.lucian.urlshortener.exception.AliasNotFoundException;
+import com.lucian.urlshortener.metrics.UrlShortenerMetrics;
+import com.lucian.urlshortener.service.ClickStatsService;
+import com.lucian.urlshortener.service.UrlShortenerService;
+import com.lucian.urlshortener.utility.AliasValidator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves {@code GET /{alias}} redirects ahead of the MVC dispatcher. A known alias is answered
+ * with a 302 carrying the cached, pre-encoded {@code Location} value: no handler mapping, URI
+ * parsing or {@code ResponseEntity}. Unknown and expired aliases get the same JSON 404 or 410 as
+ * the controller, from the same lookup, so a miss reads the store once and is not dispatched.
+ * Paths that cannot be an alias continue down the chain. Runs right after the Spring Security
+ * filter chain.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(
+    name = "app.redirect.fast-path.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class RedirectFilter extends HttpFilter {
+
+  private final UrlShortenerService urlShortenerService;
+  private final ClickStatsService clickStatsService;
+  private final UrlShortenerMetrics metrics;
+  private final ObjectMapper objectMapper;
+
+  public RedirectFilter(
+      UrlShortenerService urlShortenerService,
+      ClickStatsService clickStatsService,
+      UrlShortenerMetrics metrics,
+      ObjectMapper objectMapper) {
+    this.urlShortenerService = urlShortenerService;
+    this.clickStatsService = clickStatsService;
+    this.metrics = metrics;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected void doFilter(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    String alias = aliasOf(request);
+    if (alias == null) {
+      chain.doFilter(request, response);
+      return;
+    }
+    long start = System.nanoTime();
+    RedirectTarget target = urlShortenerService.findRedirect(alias);
+    if (target == null) {
+      error(request, response, HttpStatus.NOT_FOUND, AliasNotFoundException.messageFor(alias));
+      metrics.redirectNotFound(System.nanoTime() - start);
+      return;
+    }
+    if (target.isExpired(System.currentTimeMillis())) {
+      error(request, response, HttpStatus.GONE, "Alias has expired: " + alias);
+      metrics.redirectExpired(System.nanoTime() - start);
+      return;
+    }
+    clickStatsService.recordClick(alias);
+    response.setStatus(HttpServletResponse.SC_FOUND);
+    response.setHeader(HttpHeaders.LOCATION, target.location());
+    response.setContentLength(0);
+    metrics.redirectFound(System.nanoTime() - start);
+  }
+
+  private void error(
+      HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(), ErrorResponse.of(status, message, request.getRequestURI()));
+  }
+
+  static String aliasOf(HttpServletRequest request) {
+    String method = request.getMethod();
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      return null;
+    }
+    String uri = request.getRequestURI();
+    int slash = request.getContextPath().length();
+    if (uri.length() <= slash + 1 || uri.charAt(slash) != '/' || uri.indexOf('/', slash + 1) >= 0) {
+      return null;
+    }
+    String alias = uri.substring(slash + 1);
+    return AliasValidator.isValid(alias) ? alias : null;
+  }
+}
@@ -3,7 +3,6 @@ package com.lucian.urlshortener.handler;
 import com.lucian.urlshortener.dto.ErrorResponse;
 import com.lucian.urlshortener.exception.*;
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.Instant;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -30,28 +29,69 @@ public class RestExceptionHandler {
     return buildErrorResponse(ex, HttpStatus.INTERNAL_SERVER_ERROR, request);
   }
 
+  @ExceptionHandler(AliasCollisionException.class)
+  public ResponseEntity<ErrorResponse> handleAliasCollision(
+      AliasCollisionException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
+  }
+
   @ExceptionHandler(InvalidAliasException.class)
   public ResponseEntity<ErrorResponse> handleInvalidAlias(
       InvalidAliasException ex, HttpServletRequest request) {
     return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
   }
 
+  @ExceptionHandler(ReservedAliasException.class)
+  public ResponseEntity<ErrorResponse> handleReservedAlias(
+      ReservedAliasException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+  }
+
   @ExceptionHandler(InvalidUrlException.class)
   public ResponseEntity<ErrorResponse> handleInvalidUrl(
       InvalidUrlException ex, HttpServletRequest request) {
     return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
   }
 
+  @ExceptionHandler(InvalidBatchException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidBatch(
+      InvalidBatchException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+  }
+
+  @ExceptionHandler(InvalidPageRequestException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidPageRequest(
+      InvalidPageRequestException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+  }
+
+  @ExceptionHandler(InvalidExpiryException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidExpiry(
+      InvalidExpiryException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+  }
+
+  @ExceptionHandler(InvalidSnapshotException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidSnapshot(
+      InvalidSnapshotException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+  }
+
+  @ExceptionHandler(SnapshotConflictException.class)
+  public ResponseEntity<ErrorResponse> handleSnapshotConflict(
+      SnapshotConflictException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
+  }
+
+  @ExceptionHandler(SnapshotTooLargeException.class)
+  public ResponseEntity<ErrorResponse> handleSnapshotTooLarge(
+      SnapshotTooLargeException ex, HttpServletRequest request) {
+    return buildErrorResponse(ex, HttpStatus.PAYLOAD_TOO_LARGE, request);
+  }
+
   private ResponseEntity<ErrorResponse> buildErrorResponse(
       Exception ex, HttpStatus status, HttpServletRequest request) {
-    ErrorResponse body =
-        ErrorResponse.builder()
-            .timestamp(Instant.now())
-            .status(status.value())
-            .error(status.getReasonPhrase())
-            .message(ex.getMessage())
-            .path(request.getRequestURI())
-            .build();
+    ErrorResponse body = ErrorResponse.of(status, ex.getMessage(), request.getRequestURI());
     return ResponseEntity.status(status).body(body);
   }
 }
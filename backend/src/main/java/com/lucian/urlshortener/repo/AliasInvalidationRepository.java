@@ -0,0 +1,24 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.AliasInvalidation;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface AliasInvalidationRepository extends JpaRepository<AliasInvalidation, Long> {
+
+  /** Null when the table is empty. */
+  @Query("select max(i.id) from AliasInvalidation i")
+  Long findMaxId();
+
+  List<AliasInvalidation> findByIdGreaterThanOrderByIdAsc(long id);
+
+  List<AliasInvalidation> findByIdIn(Collection<Long> ids);
+
+  @Modifying
+  @Query("delete from AliasInvalidation i where i.createdAt < :before")
+  int deleteCreatedBefore(LocalDateTime before);
+}
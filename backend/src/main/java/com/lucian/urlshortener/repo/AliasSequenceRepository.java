@@ -0,0 +1,15 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.AliasSequence;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface AliasSequenceRepository extends JpaRepository<AliasSequence, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from AliasSequence s where s.name = :name")
+  Optional<AliasSequence> findForUpdate(String name);
+}
@@ -0,0 +1,37 @@
+package com.lucian.urlshortener.repo;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import com.lucian.urlshortener.entity.ClickStats;
+import com.lucian.urlshortener.entity.UrlMapping;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface ClickStatsRepository
+    extends JpaRepository<ClickStats, String>, ClickStatsRepositoryCustom {
+
+  @Modifying
+  @Query("delete from ClickStats s where s.alias in :aliases")
+  int deleteByAliases(Collection<String> aliases);
+
+  @Query("select s.alias from ClickStats s order by s.clickCount desc")
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  Stream<String> streamMostClickedAliases(Limit limit);
+
+  /** Mappings of the most clicked aliases, most clicked first, joined in the same query. */
+  @Query(
+      "select m from ClickStats s join UrlMapping m on m.alias = s.alias"
+          + " order by s.clickCount desc")
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<UrlMapping> streamMostClickedMappings(Limit limit);
+}
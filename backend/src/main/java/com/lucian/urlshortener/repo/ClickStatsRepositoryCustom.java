@@ -0,0 +1,26 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.ClickStats;
+import java.util.Collection;
+import java.util.List;
+
+public interface ClickStatsRepositoryCustom {
+
+  /**
+   * Adds each delta's click count to the stored counter and moves the last-click time forward.
+   * Returns the deltas that have no counter yet.
+   */
+  List<ClickStats> addClicks(Collection<ClickStats> deltas);
+
+  /**
+   * Creates counters starting from the given deltas, for the aliases {@code url_mapping} still
+   * holds. The check is part of the insert, so a concurrently deleted alias gets no counter.
+   */
+  void insertCounters(Collection<ClickStats> counters);
+
+  /**
+   * Creates counters starting from the given deltas without looking at {@code url_mapping}, for
+   * stores that keep mappings elsewhere. The caller drops deleted aliases first.
+   */
+  void insertCountersUnchecked(Collection<ClickStats> counters);
+}
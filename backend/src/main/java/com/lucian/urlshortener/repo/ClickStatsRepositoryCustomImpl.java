@@ -0,0 +1,83 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.ClickStats;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+public class ClickStatsRepositoryCustomImpl implements ClickStatsRepositoryCustom {
+
+  private static final String UPDATE_SQL =
+      "update url_click_stats set click_count = click_count + ?,"
+          + " last_clicked_at = case when last_clicked_at is null or last_clicked_at < ?"
+          + " then ? else last_clicked_at end"
+          + " where alias = ?";
+  private static final String INSERT_SQL =
+      "insert into url_click_stats (alias, click_count, last_clicked_at)"
+          + " select m.alias, ?, ? from url_mapping m where m.alias = ?";
+  private static final String INSERT_UNCHECKED_SQL =
+      "insert into url_click_stats (click_count, last_clicked_at, alias) values (?, ?, ?)";
+  private static final int JDBC_BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ClickStatsRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  @Transactional
+  public List<ClickStats> addClicks(Collection<ClickStats> deltas) {
+    int[][] updated =
+        jdbcTemplate.batchUpdate(
+            UPDATE_SQL,
+            deltas,
+            JDBC_BATCH_SIZE,
+            (ps, delta) -> {
+              Timestamp lastClickedAt = Timestamp.valueOf(delta.getLastClickedAt());
+              ps.setLong(1, delta.getClickCount());
+              ps.setTimestamp(2, lastClickedAt);
+              ps.setTimestamp(3, lastClickedAt);
+              ps.setString(4, delta.getAlias());
+            });
+    List<ClickStats> missing = new ArrayList<>();
+    Iterator<ClickStats> iterator = deltas.iterator();
+    for (int[] batch : updated) {
+      for (int count : batch) {
+        ClickStats delta = iterator.next();
+        if (count == 0) {
+          missing.add(delta);
+        }
+      }
+    }
+    return missing;
+  }
+
+  @Override
+  @Transactional
+  public void insertCounters(Collection<ClickStats> counters) {
+    insert(INSERT_SQL, counters);
+  }
+
+  @Override
+  @Transactional
+  public void insertCountersUnchecked(Collection<ClickStats> counters) {
+    insert(INSERT_UNCHECKED_SQL, counters);
+  }
+
+  private void insert(String sql, Collection<ClickStats> counters) {
+    jdbcTemplate.batchUpdate(
+        sql,
+        counters,
+        JDBC_BATCH_SIZE,
+        (ps, delta) -> {
+          ps.setLong(1, delta.getClickCount());
+          ps.setTimestamp(2, Timestamp.valueOf(delta.getLastClickedAt()));
+          ps.setString(3, delta.getAlias());
+        });
+  }
+}
@@ -0,0 +1,120 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/** Stores mappings in the {@code url_mapping} table through {@link UrlMappingRepository}. */
+@Component
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaUrlMappingStore implements UrlMappingStore {
+
+  private final UrlMappingRepository urlMappingRepository;
+
+  public JpaUrlMappingStore(UrlMappingRepository urlMappingRepository) {
+    this.urlMappingRepository = urlMappingRepository;
+  }
+
+  @Override
+  public Optional<UrlMapping> findById(String alias) {
+    return urlMappingRepository.findById(alias);
+  }
+
+  @Override
+  public boolean existsByAlias(String alias) {
+    return urlMappingRepository.existsByAlias(alias);
+  }
+
+  @Override
+  public Set<String> findExistingAliases(Collection<String> aliases) {
+    return urlMappingRepository.findExistingAliases(aliases);
+  }
+
+  @Override
+  public List<UrlMapping> findByUrlHash(long urlHash) {
+    return urlMappingRepository.findByUrlHash(urlHash);
+  }
+
+  @Override
+  public List<UrlMapping> findByUrlHashIn(Collection<Long> urlHashes) {
+    return urlMappingRepository.findByUrlHashIn(urlHashes);
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    return urlMappingRepository.save(mapping);
+  }
+
+  @Override
+  public UrlMapping insert(UrlMapping mapping) {
+    return urlMappingRepository.insert(mapping);
+  }
+
+  @Override
+  public void insertAll(List<UrlMapping> mappings) {
+    urlMappingRepository.insertAll(mappings);
+  }
+
+  @Override
+  public void deleteById(String alias) {
+    urlMappingRepository.deleteById(alias);
+  }
+
+  @Override
+  public int deleteByAliases(Collection<String> aliases) {
+    return urlMappingRepository.deleteByAliases(aliases);
+  }
+
+  @Override
+  public List<String> findExpiredAliases(LocalDateTime now, int limit) {
+    return urlMappingRepository.findExpiredAliases(now, Limit.of(limit));
+  }
+
+  @Override
+  public List<UrlMapping> findPageByAlias(String afterAlias, int limit) {
+    return afterAlias == null
+        ? urlMappingRepository.findAllByOrderByAliasAsc(Limit.of(limit))
+        : urlMappingRepository.findByAliasGreaterThanOrderByAliasAsc(afterAlias, Limit.of(limit));
+  }
+
+  @Override
+  public List<UrlMapping> findPageByCreatedAt(
+      LocalDateTime afterCreatedAt, String afterAlias, int limit) {
+    if (afterAlias == null) {
+      return urlMappingRepository.findFirstPageByCreatedAt(Limit.of(limit));
+    }
+    return afterCreatedAt == null
+        ? urlMappingRepository.findPageAfterUndated(afterAlias, Limit.of(limit))
+        : urlMappingRepository.findPageAfterCreatedAt(afterCreatedAt, afterAlias, Limit.of(limit));
+  }
+
+  @Override
+  public void forEachOrderedByAlias(Consumer<UrlMapping> action) {
+    urlMappingRepository.forEachOrderedByAlias(action);
+  }
+
+  @Override
+  public void forEachNewest(int limit, Consumer<UrlMapping> action) {
+    try (Stream<UrlMapping> mappings = urlMappingRepository.streamNewest(Limit.of(limit))) {
+      mappings.forEach(action);
+    }
+  }
+
+  @Override
+  public Stream<String> streamAllAliases() {
+    return urlMappingRepository.streamAllAliases();
+  }
+
+  @Override
+  public void withSecondaryIndexesDeferred(Runnable load) {
+    urlMappingRepository.withSecondaryIndexesDeferred(load);
+  }
+}
@@ -0,0 +1,724 @@
+package com.lucian.urlshortener.repo;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Embedded store keeping mappings in one append-only, memory-mapped log file. Every write appends
+ * a record (a mapping, or a tombstone for a delete) and an in-memory hash index maps each alias to
+ * the offset of its latest record, so a lookup is a hash probe plus a read from the mapping.
+ * Ordered views (alias, creation time, expiry, URL hash) are kept as in-memory indexes as well.
+ *
+ * <p>Records are {@code [body length][CRC32 of body][body]}. On startup the file is replayed to
+ * rebuild the indexes; replay stops at the first record that is incomplete or fails its checksum,
+ * so a write torn by a crash is dropped. Once superseded and deleted records take up more than
+ * {@code compaction-threshold} of the log, live records are copied in alias order to a new file
+ * that replaces the old one. A file in the version 1 layout, which also stored the short URL, is
+ * rewritten in the current layout when it is opened.
+ *
+ * <p>Writes are serialized by one lock; reads take no lock. Only one process may open the file.
+ * Writes are not part of the surrounding database transaction: they are visible immediately and
+ * are not rolled back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "log")
+@Slf4j
+public class LogStructuredUrlMappingStore implements UrlMappingStore, AutoCloseable {
+
+  private static final int MAGIC = 0x55524c4d; // "URLM"
+  private static final int VERSION = 2;
+  private static final int VERSION_WITH_SHORT_URL = 1;
+  private static final int FILE_HEADER_SIZE = 8;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+  private static final int NULL_LENGTH = -1;
+  private static final long NULL_TIME = Long.MIN_VALUE;
+
+  private final Path path;
+  private final long initialSize;
+  private final double compactionThreshold;
+  private final long compactionMinSize;
+  private final boolean syncWrites;
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ConcurrentSkipListSet<String> byAlias = new ConcurrentSkipListSet<>();
+  private final ConcurrentSkipListSet<TimeKey> byCreatedAt = new ConcurrentSkipListSet<>();
+  private final ConcurrentSkipListSet<TimeKey> byExpiry = new ConcurrentSkipListSet<>();
+  private final ConcurrentHashMap<Long, Set<String>> byUrlHash = new ConcurrentHashMap<>();
+
+  /** Replaced whenever the file is grown or compacted; readers use one snapshot throughout. */
+  private volatile Segment segment;
+
+  // Guarded by writeLock
+  private FileChannel channel;
+  private int writePosition;
+  private long deadBytes;
+
+  public LogStructuredUrlMappingStore(
+      @Value("${app.storage.log.path:data/url-mappings.log}") Path path,
+      @Value("${app.storage.log.initial-size:64MB}") DataSize initialSize,
+      @Value("${app.storage.log.compaction-threshold:0.5}") double compactionThreshold,
+      @Value("${app.storage.log.compaction-min-size:16MB}") DataSize compactionMinSize,
+      @Value("${app.storage.log.sync-writes:false}") boolean syncWrites) {
+    this.path = path;
+    this.initialSize = Math.clamp(initialSize.toBytes(), FILE_HEADER_SIZE, MAX_FILE_SIZE);
+    this.compactionThreshold = compactionThreshold;
+    this.compactionMinSize = compactionMinSize.toBytes();
+    this.syncWrites = syncWrites;
+    try {
+      open();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not open URL mapping store " + path, e);
+    }
+  }
+
+  @Override
+  public Optional<UrlMapping> findById(String alias) {
+    while (true) {
+      Segment current = segment;
+      Integer offset = current.offsets().get(alias);
+      if (offset == null) {
+        return Optional.empty();
+      }
+      // A record appended just after the file grew may lie past the end of an older mapping
+      if (current.contains(offset)) {
+        return Optional.of(decode(current.body(offset)));
+      }
+    }
+  }
+
+  @Override
+  public boolean existsByAlias(String alias) {
+    return segment.offsets().containsKey(alias);
+  }
+
+  @Override
+  public boolean isTableBacked() {
+    return false;
+  }
+
+  @Override
+  public Set<String> findExistingAliases(Collection<String> aliases) {
+    Segment current = segment;
+    Set<String> existing = new HashSet<>();
+    for (String alias : aliases) {
+      if (current.offsets().containsKey(alias)) {
+        existing.add(alias);
+      }
+    }
+    return existing;
+  }
+
+  @Override
+  public List<UrlMapping> findByUrlHash(long urlHash) {
+    return findAll(byUrlHash.getOrDefault(urlHash, Set.of()), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<UrlMapping> findByUrlHashIn(Collection<Long> urlHashes) {
+    List<UrlMapping> mappings = new ArrayList<>();
+    for (Long urlHash : urlHashes) {
+      mappings.addAll(findByUrlHash(urlHash));
+    }
+    return mappings;
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    writeLock.lock();
+    try {
+      put(mapping);
+      return mapping;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public UrlMapping insert(UrlMapping mapping) {
+    writeLock.lock();
+    try {
+      if (existsByAlias(mapping.getAlias())) {
+        throw new DuplicateKeyException("Alias already stored: " + mapping.getAlias());
+      }
+      put(mapping);
+      return mapping;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void insertAll(List<UrlMapping> mappings) {
+    writeLock.lock();
+    try {
+      Set<String> aliases = new HashSet<>();
+      for (UrlMapping mapping : mappings) {
+        if (!aliases.add(mapping.getAlias()) || existsByAlias(mapping.getAlias())) {
+          throw new DuplicateKeyException("Alias already stored: " + mapping.getAlias());
+        }
+      }
+      for (UrlMapping mapping : mappings) {
+        put(mapping);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void deleteById(String alias) {
+    deleteByAliases(List.of(alias));
+  }
+
+  @Override
+  public int deleteByAliases(Collection<String> aliases) {
+    writeLock.lock();
+    try {
+      int deleted = 0;
+      for (String alias : aliases) {
+        if (existsByAlias(alias)) {
+          int size = append(encodeDelete(alias));
+          remove(alias);
+          deadBytes += size;
+          deleted++;
+        }
+      }
+      compactIfNeeded();
+      return deleted;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> findExpiredAliases(LocalDateTime now, int limit) {
+    List<String> aliases = new ArrayList<>();
+    for (TimeKey key : byExpiry) {
+      if (aliases.size() == limit || key.time().isAfter(now)) {
+        break;
+      }
+      aliases.add(key.alias());
+    }
+    return aliases;
+  }
+
+  @Override
+  public List<UrlMapping> findPageByAlias(String afterAlias, int limit) {
+    return findAll(afterAlias == null ? byAlias : byAlias.tailSet(afterAlias, false), limit);
+  }
+
+  @Override
+  public List<UrlMapping> findPageByCreatedAt(
+      LocalDateTime afterCreatedAt, String afterAlias, int limit) {
+    // Every mapping here has a createdAt, so an undated cursor is before all of them
+    Collection<TimeKey> keys =
+        afterCreatedAt == null
+            ? byCreatedAt
+            : byCreatedAt.tailSet(
+                new TimeKey(afterCreatedAt, Objects.requireNonNullElse(afterAlias, "")), false);
+    // Mapped lazily, so a page reads only as far into the index as it needs
+    return findAll(() -> keys.stream().map(TimeKey::alias).iterator(), limit);
+  }
+
+  @Override
+  public void forEachOrderedByAlias(Consumer<UrlMapping> action) {
+    for (String alias : byAlias) {
+      findById(alias).ifPresent(action);
+    }
+  }
+
+  @Override
+  public void forEachNewest(int limit, Consumer<UrlMapping> action) {
+    int fed = 0;
+    for (TimeKey key : byCreatedAt.descendingSet()) {
+      if (fed == limit) {
+        break;
+      }
+      Optional<UrlMapping> mapping = findById(key.alias());
+      if (mapping.isPresent()) {
+        action.accept(mapping.get());
+        fed++;
+      }
+    }
+  }
+
+  @Override
+  public Stream<String> streamAllAliases() {
+    return byAlias.stream();
+  }
+
+  /** Copies the live records to a new file now, whatever the share of dead records. */
+  public void compact() {
+    writeLock.lock();
+    try {
+      Segment current = segment;
+      long liveBytes = writePosition - FILE_HEADER_SIZE - deadBytes;
+      long size = fileSizeFor(FILE_HEADER_SIZE + liveBytes);
+      Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+      FileChannel out =
+          FileChannel.open(
+              compacted,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      out.lock();
+      MappedByteBuffer buffer = out.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      buffer.putInt(0, MAGIC).putInt(4, VERSION);
+      ConcurrentHashMap<String, Integer> offsets = newOffsets(current.offsets().size());
+      int position = FILE_HEADER_SIZE;
+      for (String alias : byAlias) {
+        int offset = current.offsets().get(alias);
+        int recordSize = current.recordSize(offset);
+        buffer.put(position, current.buffer(), offset, recordSize);
+        offsets.put(alias, position);
+        position += recordSize;
+      }
+      buffer.force();
+      Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING);
+      channel.close();
+      channel = out;
+      segment = new Segment(buffer, offsets);
+      log.info("Compacted URL mapping store from {} to {} bytes", writePosition, position);
+      writePosition = position;
+      deadBytes = 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not compact URL mapping store " + path, e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  @PreDestroy
+  public void close() throws IOException {
+    writeLock.lock();
+    try {
+      if (channel.isOpen()) {
+        segment.buffer().force();
+        channel.close();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void open() throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    if (channel.tryLock() == null) {
+      throw new IOException("Store file is in use by another process: " + path);
+    }
+    long size = Math.max(channel.size(), initialSize);
+    if (size > MAX_FILE_SIZE) {
+      throw new IOException("Store file is larger than " + MAX_FILE_SIZE + " bytes");
+    }
+    boolean created = channel.size() == 0;
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    if (created) {
+      buffer.putInt(0, MAGIC).putInt(4, VERSION);
+    } else if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION_WITH_SHORT_URL) {
+      upgrade(buffer);
+      channel.close();
+      open();
+      return;
+    } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("Not a URL mapping store file: " + path);
+    }
+    segment = new Segment(buffer, newOffsets(0));
+    replay();
+  }
+
+  /**
+   * Rewrites a version 1 file, whose records also held the short URL and a nanosecond creation
+   * time, as a version 2 file with only the live mappings.
+   */
+  private void upgrade(MappedByteBuffer legacy) throws IOException {
+    Segment old = new Segment(legacy, newOffsets(0));
+    int position = FILE_HEADER_SIZE;
+    while (old.isValidRecord(position)) {
+      ByteBuffer body = old.body(position);
+      String alias = readString(body.position(1));
+      if (body.get(0) == PUT) {
+        old.offsets().put(alias, position);
+      } else {
+        old.offsets().remove(alias);
+      }
+      position += old.recordSize(position);
+    }
+    Path upgraded = path.resolveSibling(path.getFileName() + ".upgrade");
+    try (FileChannel out =
+        FileChannel.open(
+            upgraded,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      out.write(ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip());
+      for (String alias : new TreeSet<>(old.offsets().keySet())) {
+        byte[] body = encodePut(decodeVersion1(old.body(old.offsets().get(alias))));
+        out.write(
+            ByteBuffer.allocate(RECORD_HEADER_SIZE + body.length)
+                .putInt(body.length)
+                .putInt(crc(body))
+                .put(body)
+                .flip());
+      }
+      out.force(true);
+    }
+    Files.move(upgraded, path, StandardCopyOption.REPLACE_EXISTING);
+    log.info("Upgraded URL mapping store {} to version {}", path, VERSION);
+  }
+
+  private void replay() {
+    Segment current = segment;
+    int position = FILE_HEADER_SIZE;
+    int records = 0;
+    while (current.isValidRecord(position)) {
+      ByteBuffer body = current.body(position);
+      if (body.get(0) == PUT) {
+        UrlMapping mapping = decode(body);
+        deadBytes += index(mapping, position);
+      } else {
+        String alias = readString(body.position(1));
+        if (current.offsets().containsKey(alias)) {
+          remove(alias);
+        }
+        deadBytes += current.recordSize(position);
+      }
+      position += current.recordSize(position);
+      records++;
+    }
+    if (position + Integer.BYTES <= current.buffer().capacity()
+        && current.buffer().getInt(position) != 0) {
+      log.warn("Dropping incomplete record at offset {} of {}", position, path);
+    }
+    writePosition = position;
+    log.info(
+        "Opened URL mapping store {} with {} mappings from {} records",
+        path,
+        current.offsets().size(),
+        records);
+  }
+
+  private void put(UrlMapping mapping) {
+    if (mapping.getCreatedAt() == null) {
+      mapping.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+    byte[] body = encodePut(mapping);
+    append(body);
+    deadBytes += index(mapping, writePosition - RECORD_HEADER_SIZE - body.length);
+    compactIfNeeded();
+  }
+
+  /** Writes one record at the end of the log and returns its size. */
+  private int append(byte[] body) {
+    int size = RECORD_HEADER_SIZE + body.length;
+    ensureCapacity(size);
+    MappedByteBuffer buffer = segment.buffer();
+    buffer.put(writePosition + RECORD_HEADER_SIZE, body);
+    buffer.putInt(writePosition + Integer.BYTES, crc(body));
+    buffer.putInt(writePosition, body.length);
+    if (syncWrites) {
+      buffer.force(writePosition, size);
+    }
+    writePosition += size;
+    return size;
+  }
+
+  private void ensureCapacity(int recordSize) {
+    long needed = (long) writePosition + recordSize;
+    if (needed <= segment.buffer().capacity()) {
+      return;
+    }
+    if (deadBytes > 0) {
+      compact();
+      needed = (long) writePosition + recordSize;
+      if (needed <= segment.buffer().capacity()) {
+        return;
+      }
+    }
+    if (needed > MAX_FILE_SIZE) {
+      throw new IllegalStateException("URL mapping store is full: " + path);
+    }
+    try {
+      MappedByteBuffer grown =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSizeFor(needed));
+      segment = new Segment(grown, segment.offsets());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not grow URL mapping store " + path, e);
+    }
+  }
+
+  private long fileSizeFor(long bytes) {
+    long size = initialSize;
+    while (size < bytes) {
+      size *= 2;
+    }
+    return Math.min(size, MAX_FILE_SIZE);
+  }
+
+  private void compactIfNeeded() {
+    if (deadBytes >= compactionMinSize
+        && deadBytes > (writePosition - FILE_HEADER_SIZE) * compactionThreshold) {
+      compact();
+    }
+  }
+
+  /** Points the indexes at a new record for the mapping and returns the size it superseded. */
+  private int index(UrlMapping mapping, int offset) {
+    String alias = mapping.getAlias();
+    Segment current = segment;
+    Integer previous = current.offsets().put(alias, offset);
+    int superseded = 0;
+    if (previous != null) {
+      unindex(decode(current.body(previous)));
+      superseded = current.recordSize(previous);
+    }
+    byAlias.add(alias);
+    byCreatedAt.add(new TimeKey(mapping.getCreatedAt(), alias));
+    if (mapping.getExpiresAt() != null) {
+      byExpiry.add(new TimeKey(mapping.getExpiresAt(), alias));
+    }
+    if (mapping.getUrlHash() != null) {
+      byUrlHash
+          .computeIfAbsent(mapping.getUrlHash(), hash -> ConcurrentHashMap.newKeySet())
+          .add(alias);
+    }
+    return superseded;
+  }
+
+  private void remove(String alias) {
+    Segment current = segment;
+    UrlMapping mapping = decode(current.body(current.offsets().get(alias)));
+    byAlias.remove(alias);
+    unindex(mapping);
+    deadBytes += current.recordSize(current.offsets().remove(alias));
+  }
+
+  private void unindex(UrlMapping mapping) {
+    String alias = mapping.getAlias();
+    byCreatedAt.remove(new TimeKey(mapping.getCreatedAt(), alias));
+    if (mapping.getExpiresAt() != null) {
+      byExpiry.remove(new TimeKey(mapping.getExpiresAt(), alias));
+    }
+    if (mapping.getUrlHash() != null) {
+      byUrlHash.computeIfPresent(
+          mapping.getUrlHash(),
+          (hash, aliases) -> {
+            aliases.remove(alias);
+            return aliases.isEmpty() ? null : aliases;
+          });
+    }
+  }
+
+  private List<UrlMapping> findAll(Iterable<String> aliases, int limit) {
+    List<UrlMapping> mappings = new ArrayList<>();
+    for (String alias : aliases) {
+      if (mappings.size() == limit) {
+        break;
+      }
+      findById(alias).ifPresent(mappings::add);
+    }
+    return mappings;
+  }
+
+  private static ConcurrentHashMap<String, Integer> newOffsets(int expected) {
+    return new ConcurrentHashMap<>(Math.max(16, expected * 4 / 3 + 1));
+  }
+
+  private static byte[] encodePut(UrlMapping mapping) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(PUT);
+      writeString(out, mapping.getAlias());
+      writeString(out, mapping.getFullUrl());
+      writeSeconds(out, mapping.getCreatedAt());
+      writeTime(out, mapping.getExpiresAt());
+      out.writeBoolean(mapping.getUrlHash() != null);
+      if (mapping.getUrlHash() != null) {
+        out.writeLong(mapping.getUrlHash());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] encodeDelete(String alias) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(DELETE);
+      writeString(out, alias);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static UrlMapping decode(ByteBuffer body) {
+    body.position(1);
+    UrlMapping mapping =
+        UrlMapping.builder()
+            .alias(readString(body))
+            .fullUrl(readString(body))
+            .createdAt(readSeconds(body))
+            .expiresAt(readTime(body))
+            .build();
+    if (body.get() != 0) {
+      mapping.setUrlHash(body.getLong());
+    }
+    return mapping;
+  }
+
+  private static UrlMapping decodeVersion1(ByteBuffer body) {
+    body.position(1);
+    String alias = readString(body);
+    String fullUrl = readString(body);
+    readString(body); // short URL, now derived from the alias
+    LocalDateTime createdAt = readTime(body);
+    UrlMapping mapping =
+        UrlMapping.builder()
+            .alias(alias)
+            .fullUrl(fullUrl)
+            .createdAt(createdAt == null ? null : createdAt.truncatedTo(ChronoUnit.SECONDS))
+            .expiresAt(readTime(body))
+            .build();
+    if (body.get() != 0) {
+      mapping.setUrlHash(body.getLong());
+    }
+    return mapping;
+  }
+
+  private static int crc(byte[] body) {
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    return (int) crc.getValue();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_LENGTH);
+      return;
+    }
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer body) {
+    int length = body.getInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    body.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+    if (value == null) {
+      out.writeLong(NULL_TIME);
+      return;
+    }
+    out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(value.getNano());
+  }
+
+  private static void writeSeconds(DataOutputStream out, LocalDateTime value) throws IOException {
+    out.writeLong(value == null ? NULL_TIME : value.toEpochSecond(ZoneOffset.UTC));
+  }
+
+  private static LocalDateTime readSeconds(ByteBuffer body) {
+    long seconds = body.getLong();
+    return seconds == NULL_TIME ? null : LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+  }
+
+  private static LocalDateTime readTime(ByteBuffer body) {
+    long seconds = body.getLong();
+    if (seconds == NULL_TIME) {
+      return null;
+    }
+    return LocalDateTime.ofEpochSecond(seconds, body.getInt(), ZoneOffset.UTC);
+  }
+
+  private record Segment(MappedByteBuffer buffer, ConcurrentHashMap<String, Integer> offsets) {
+
+    int recordSize(int offset) {
+      return RECORD_HEADER_SIZE + buffer.getInt(offset);
+    }
+
+    boolean contains(int offset) {
+      return (long) offset + RECORD_HEADER_SIZE <= buffer.capacity()
+          && (long) offset + recordSize(offset) <= buffer.capacity();
+    }
+
+    boolean isValidRecord(int offset) {
+      if ((long) offset + RECORD_HEADER_SIZE > buffer.capacity() || buffer.getInt(offset) <= 0) {
+        return false;
+      }
+      if (!contains(offset)) {
+        return false;
+      }
+      CRC32 crc = new CRC32();
+      crc.update(body(offset));
+      return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES);
+    }
+
+    /** A private view of the record body, safe to read concurrently with other views. */
+    ByteBuffer body(int offset) {
+      return buffer.slice(offset + RECORD_HEADER_SIZE, buffer.getInt(offset));
+    }
+  }
+
+  private record TimeKey(LocalDateTime time, String alias) implements Comparable<TimeKey> {
+
+    @Override
+    public int compareTo(TimeKey other) {
+      int byTime = time.compareTo(other.time);
+      return byTime != 0 ? byTime : alias.compareTo(other.alias);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.EpochSecondsConverter;
+import com.lucian.urlshortener.utility.UrlUtils;
+import java.sql.ResultSetMetaData;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves a {@code url_mapping} table from the old layout to the current one while the application
+ * serves traffic. The old layout stored {@code short_url} and a {@code created_at} timestamp. The
+ * schema update adds {@code created_epoch} next to them.
+ *
+ * <ol>
+ *   <li>At startup {@code short_url} is made nullable, because new rows no longer set it, and
+ *       {@code full_url} is widened to {@link UrlUtils#MAX_URL_LENGTH} if it is narrower; the
+ *       schema update does not change existing columns.
+ *   <li>In the background, {@code created_epoch} is filled from {@code created_at}. This runs in
+ *       batches of {@code app.storage.migration.batch-size} rows, each batch in its own short
+ *       transaction.
+ *   <li>With {@code app.storage.migration.drop-legacy-columns=true}, both old columns are then
+ *       dropped. Only enable this once no instance running the old layout is left, since those
+ *       still write the old columns.
+ * </ol>
+ *
+ * Until a row is backfilled its createdAt reads as null, as it does for rows written by an
+ * instance still on the old layout; listings by createdAt put such rows first.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class UrlMappingLayoutMigration implements ApplicationRunner {
+
+  static final String SHORT_URL = "short_url";
+  static final String CREATED_AT = "created_at";
+
+  private static final EpochSecondsConverter EPOCH_SECONDS = new EpochSecondsConverter();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final boolean dropLegacyColumns;
+  private final Executor executor;
+
+  @Autowired
+  public UrlMappingLayoutMigration(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.storage.migration.batch-size:1000}") int batchSize,
+      @Value("${app.storage.migration.drop-legacy-columns:false}") boolean dropLegacyColumns) {
+    this(
+        jdbcTemplate,
+        transactionManager,
+        batchSize,
+        dropLegacyColumns,
+        task -> Thread.ofVirtual().name("url-mapping-migration").start(task));
+  }
+
+  UrlMappingLayoutMigration(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      int batchSize,
+      boolean dropLegacyColumns,
+      Executor executor) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.dropLegacyColumns = dropLegacyColumns;
+    this.executor = executor;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    widenFullUrl();
+    Set<String> legacy = legacyColumns();
+    if (legacy.isEmpty()) {
+      return;
+    }
+    if (legacy.contains(SHORT_URL)) {
+      jdbcTemplate.execute("alter table url_mapping alter column short_url drop not null");
+    }
+    executor.execute(
+        () -> {
+          try {
+            migrate();
+          } catch (RuntimeException e) {
+            log.error("Migrating url_mapping to the current layout failed", e);
+          }
+        });
+  }
+
+  /**
+   * Backfills {@code created_epoch} and, if enabled, drops the old columns. Returns the number of
+   * rows backfilled.
+   */
+  public int migrate() {
+    Set<String> legacy = legacyColumns();
+    long started = System.nanoTime();
+    int migrated = 0;
+    if (legacy.contains(CREATED_AT)) {
+      int batch;
+      while ((batch = backfillBatch()) > 0) {
+        migrated += batch;
+      }
+    }
+    if (dropLegacyColumns && !legacy.isEmpty()) {
+      jdbcTemplate.execute("drop index if exists idx_url_mapping_created_at");
+      for (String column : legacy) {
+        jdbcTemplate.execute("alter table url_mapping drop column " + column);
+      }
+      log.info("Dropped legacy url_mapping columns {}", legacy);
+    }
+    log.info(
+        "Backfilled created_epoch on {} url_mapping rows in {} ms",
+        migrated,
+        (System.nanoTime() - started) / 1_000_000);
+    return migrated;
+  }
+
+  private int backfillBatch() {
+    return transactionTemplate.execute(
+        status -> {
+          List<Object[]> rows =
+              jdbcTemplate.query(
+                  "select alias, created_at from url_mapping"
+                      + " where created_epoch is null and created_at is not null"
+                      + " fetch first ? rows only",
+                  (rs, i) ->
+                      new Object[] {
+                        EPOCH_SECONDS.convertToDatabaseColumn(
+                            rs.getTimestamp(CREATED_AT).toLocalDateTime()),
+                        rs.getString("alias")
+                      },
+                  batchSize);
+          jdbcTemplate.batchUpdate(
+              "update url_mapping set created_epoch = ? where alias = ?", rows);
+          return rows.size();
+        });
+  }
+
+  private void widenFullUrl() {
+    Integer width =
+        jdbcTemplate.query(
+            "select full_url from url_mapping where 1 = 0",
+            (ResultSetExtractor<Integer>) rs -> rs.getMetaData().getPrecision(1));
+    if (width < UrlUtils.MAX_URL_LENGTH) {
+      jdbcTemplate.execute(
+          "alter table url_mapping alter column full_url set data type varchar("
+              + UrlUtils.MAX_URL_LENGTH
+              + ")");
+      log.info("Widened url_mapping.full_url from {} to {}", width, UrlUtils.MAX_URL_LENGTH);
+    }
+  }
+
+  private Set<String> legacyColumns() {
+    return jdbcTemplate.query(
+        "select * from url_mapping where 1 = 0",
+        rs -> {
+          ResultSetMetaData metaData = rs.getMetaData();
+          Set<String> legacy = new HashSet<>();
+          for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String column = metaData.getColumnName(i).toLowerCase(Locale.ROOT);
+            if (column.equals(SHORT_URL) || column.equals(CREATED_AT)) {
+              legacy.add(column);
+            }
+          }
+          return legacy;
+        });
+  }
+}
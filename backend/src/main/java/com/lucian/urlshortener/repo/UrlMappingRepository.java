@@ -1,8 +1,69 @@
 package com.lucian.urlshortener.repo;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.lucian.urlshortener.entity.UrlMapping;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface UrlMappingRepository extends JpaRepository<UrlMapping, String> {
+public interface UrlMappingRepository
+    extends JpaRepository<UrlMapping, String>, UrlMappingRepositoryCustom {
   boolean existsByAlias(String alias);
+
+  @Query("select m.alias from UrlMapping m")
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  Stream<String> streamAllAliases();
+
+  @Query("select m.alias from UrlMapping m where m.alias in :aliases")
+  Set<String> findExistingAliases(Collection<String> aliases);
+
+  List<UrlMapping> findByUrlHash(long urlHash);
+
+  /** Newest mappings first, read backwards through the (createdAt, alias) index. */
+  @Query("select m from UrlMapping m order by m.createdAt desc, m.alias desc")
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<UrlMapping> streamNewest(Limit limit);
+
+  /** Oldest expired aliases first, read through the expiry index. */
+  @Query("select m.alias from UrlMapping m where m.expiresAt <= :now order by m.expiresAt")
+  List<String> findExpiredAliases(LocalDateTime now, Limit limit);
+
+  @Modifying
+  @Query("delete from UrlMapping m where m.alias in :aliases")
+  int deleteByAliases(Collection<String> aliases);
+
+  List<UrlMapping> findByUrlHashIn(Collection<Long> urlHashes);
+
+  List<UrlMapping> findAllByOrderByAliasAsc(Limit limit);
+
+  List<UrlMapping> findByAliasGreaterThanOrderByAliasAsc(String alias, Limit limit);
+
+  // Rows the layout migration has not reached yet have no createdAt; they sort first everywhere
+  @Query("select m from UrlMapping m order by m.createdAt nulls first, m.alias")
+  List<UrlMapping> findFirstPageByCreatedAt(Limit limit);
+
+  @Query(
+      "select m from UrlMapping m where m.createdAt is not null"
+          + " or (m.createdAt is null and m.alias > :alias)"
+          + " order by m.createdAt nulls first, m.alias")
+  List<UrlMapping> findPageAfterUndated(String alias, Limit limit);
+
+  @Query(
+      "select m from UrlMapping m where m.createdAt > :createdAt"
+          + " or (m.createdAt = :createdAt and m.alias > :alias)"
+          + " order by m.createdAt nulls first, m.alias")
+  List<UrlMapping> findPageAfterCreatedAt(LocalDateTime createdAt, String alias, Limit limit);
 }
@@ -0,0 +1,30 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UrlMappingRepositoryCustom {
+
+  /**
+   * Inserts a new mapping, failing with a {@link
+   * org.springframework.dao.DataIntegrityViolationException} if the alias is already stored.
+   * Unlike {@code save}, an existing row is never merged over.
+   */
+  UrlMapping insert(UrlMapping mapping);
+
+  /** Inserts all mappings with JDBC batching, bypassing the persistence context. */
+  void insertAll(List<UrlMapping> mappings);
+
+  /**
+   * Streams every mapping in alias order through a forward-only cursor, detaching each entity
+   * once the action has run so memory use does not grow with the table.
+   */
+  void forEachOrderedByAlias(Consumer<UrlMapping> action);
+
+  /**
+   * Drops the indexes declared on {@link UrlMapping} other than the primary key, runs the load and
+   * creates them again.
+   */
+  void withSecondaryIndexesDeferred(Runnable load);
+}
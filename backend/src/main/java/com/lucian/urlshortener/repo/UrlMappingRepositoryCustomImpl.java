@@ -0,0 +1,101 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.EpochSecondsConverter;
+import com.lucian.urlshortener.entity.UrlMapping;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Index;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+public class UrlMappingRepositoryCustomImpl implements UrlMappingRepositoryCustom {
+
+  private static final String INSERT_SQL =
+      "insert into url_mapping (alias, full_url, created_epoch, url_hash, expires_at)"
+          + " values (?, ?, ?, ?, ?)";
+  private static final int JDBC_BATCH_SIZE = 1000;
+  private static final int STREAM_FETCH_SIZE = 500;
+  private static final EpochSecondsConverter CREATED_AT = new EpochSecondsConverter();
+
+  @PersistenceContext private EntityManager entityManager;
+  private final JdbcTemplate jdbcTemplate;
+
+  public UrlMappingRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  @Transactional
+  public UrlMapping insert(UrlMapping mapping) {
+    entityManager.persist(mapping);
+    entityManager.flush();
+    return mapping;
+  }
+
+  @Override
+  @Transactional
+  public void insertAll(List<UrlMapping> mappings) {
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        mappings,
+        JDBC_BATCH_SIZE,
+        (ps, mapping) -> {
+          ps.setString(1, mapping.getAlias());
+          ps.setString(2, mapping.getFullUrl());
+          ps.setObject(3, CREATED_AT.convertToDatabaseColumn(mapping.getCreatedAt()), Types.BIGINT);
+          ps.setObject(4, mapping.getUrlHash(), Types.BIGINT);
+          ps.setTimestamp(
+              5, mapping.getExpiresAt() == null ? null : Timestamp.valueOf(mapping.getExpiresAt()));
+        });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachOrderedByAlias(Consumer<UrlMapping> action) {
+    try (Stream<UrlMapping> mappings =
+        entityManager
+            .createQuery("select m from UrlMapping m order by m.alias", UrlMapping.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()) {
+      mappings.forEach(
+          mapping -> {
+            action.accept(mapping);
+            entityManager.detach(mapping);
+          });
+    }
+  }
+
+  @Override
+  public void withSecondaryIndexesDeferred(Runnable load) {
+    Index[] indexes = UrlMapping.class.getAnnotation(Table.class).indexes();
+    for (Index index : indexes) {
+      jdbcTemplate.execute("drop index if exists " + index.name());
+    }
+    try {
+      load.run();
+    } finally {
+      for (Index index : indexes) {
+        jdbcTemplate.execute(
+            "create index if not exists "
+                + index.name()
+                + " on url_mapping ("
+                + columnNames(index.columnList())
+                + ")");
+      }
+    }
+  }
+
+  /** Maps entity property names in an index's column list to column names, as Hibernate does. */
+  private static String columnNames(String columnList) {
+    return columnList.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,83 @@
+package com.lucian.urlshortener.repo;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Storage engine for URL mappings. The service only talks to this interface; the backend is
+ * picked with {@code app.storage.engine}: {@code jpa} ({@link JpaUrlMappingStore}, the default)
+ * or {@code log} ({@link LogStructuredUrlMappingStore}).
+ */
+public interface UrlMappingStore {
+
+  Optional<UrlMapping> findById(String alias);
+
+  boolean existsByAlias(String alias);
+
+  /**
+   * Whether mappings are rows of the {@code url_mapping} table, so that statements on other tables
+   * can join against it.
+   */
+  default boolean isTableBacked() {
+    return true;
+  }
+
+  /** The subset of {@code aliases} that is stored. */
+  Set<String> findExistingAliases(Collection<String> aliases);
+
+  List<UrlMapping> findByUrlHash(long urlHash);
+
+  List<UrlMapping> findByUrlHashIn(Collection<Long> urlHashes);
+
+  /** Stores a mapping, replacing any mapping with the same alias. */
+  UrlMapping save(UrlMapping mapping);
+
+  /**
+   * Stores a new mapping, failing with a {@link
+   * org.springframework.dao.DataIntegrityViolationException} if the alias is already stored.
+   */
+  UrlMapping insert(UrlMapping mapping);
+
+  /** Stores new mappings in one write, with the same duplicate check as {@link #insert}. */
+  void insertAll(List<UrlMapping> mappings);
+
+  void deleteById(String alias);
+
+  int deleteByAliases(Collection<String> aliases);
+
+  /** Up to {@code limit} aliases with {@code expiresAt <= now}, oldest expiry first. */
+  List<String> findExpiredAliases(LocalDateTime now, int limit);
+
+  /** Up to {@code limit} mappings in alias order, starting after {@code afterAlias} if set. */
+  List<UrlMapping> findPageByAlias(String afterAlias, int limit);
+
+  /**
+   * Up to {@code limit} mappings in (createdAt, alias) order, starting after the given key if
+   * {@code afterAlias} is set. Mappings without a createdAt sort before all others.
+   */
+  List<UrlMapping> findPageByCreatedAt(LocalDateTime afterCreatedAt, String afterAlias, int limit);
+
+  /** Feeds every mapping to {@code action} in alias order without loading them all at once. */
+  void forEachOrderedByAlias(Consumer<UrlMapping> action);
+
+  /** Feeds the {@code limit} most recently created mappings to {@code action}, newest first. */
+  void forEachNewest(int limit, Consumer<UrlMapping> action);
+
+  /** Every stored alias, in no particular order. The stream must be closed. */
+  Stream<String> streamAllAliases();
+
+  /**
+   * Runs a bulk load with the secondary indexes suspended, rebuilding them once it is done, even
+   * if it fails. Lookups that need those indexes are slow meanwhile. Engines that cannot suspend
+   * their indexes just run the load.
+   */
+  default void withSecondaryIndexesDeferred(Runnable load) {
+    load.run();
+  }
+}
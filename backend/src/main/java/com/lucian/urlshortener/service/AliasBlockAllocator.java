@@ -0,0 +1,39 @@
+package com.lucian.urlshortener.service;
+
+import com.lucian.urlshortener.entity.AliasSequence;
+import com.lucian.urlshortener.repo.AliasSequenceRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Hands out contiguous blocks of ids from the persistent {@code alias_sequence} table. Each block
+ * is reserved in its own transaction so the row lock is held only for the increment.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class AliasBlockAllocator {
+
+  static final String SEQUENCE_NAME = "alias";
+
+  private final AliasSequenceRepository aliasSequenceRepository;
+
+  /** Returns the first id of a freshly reserved block of {@code size} ids. */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public long reserveBlock(int size) {
+    AliasSequence sequence =
+        aliasSequenceRepository
+            .findForUpdate(SEQUENCE_NAME)
+            .orElseGet(
+                () ->
+                    aliasSequenceRepository.saveAndFlush(
+                        AliasSequence.builder().name(SEQUENCE_NAME).nextValue(0).build()));
+    long start = sequence.getNextValue();
+    sequence.setNextValue(start + size);
+    log.info("Reserved alias id block [{}, {})", start, start + size);
+    return start;
+  }
+}
@@ -0,0 +1,164 @@
+package com.lucian.urlshortener.service;
+
+import com.lucian.urlshortener.entity.ClickStats;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import com.lucian.urlshortener.utility.DuplicateKeys;
+import com.lucian.urlshortener.utility.RingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts redirects without touching the database on the request thread. Clicks are queued on a
+ * bounded lock-free ring and a scheduled writer folds them into one counter increment per alias.
+ * When the ring is full the click is dropped and counted, never waited on.
+ */
+@Service
+@Slf4j
+public class ClickStatsService {
+
+  private static final int EXISTENCE_QUERY_CHUNK = 1000;
+  private static final int MAX_INSERT_ATTEMPTS = 3;
+
+  private final ClickStatsRepository clickStatsRepository;
+  private final UrlMappingStore urlMappingStore;
+  private final RingBuffer<ClickEvent> events;
+  private final int maxFlushSize;
+  private final Counter recorded;
+  private final Counter dropped;
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  public ClickStatsService(
+      ClickStatsRepository clickStatsRepository,
+      UrlMappingStore urlMappingStore,
+      MeterRegistry meterRegistry,
+      @Value("${app.clicks.buffer-size:65536}") int bufferSize,
+      @Value("${app.clicks.max-flush-size:100000}") int maxFlushSize) {
+    this.clickStatsRepository = clickStatsRepository;
+    this.urlMappingStore = urlMappingStore;
+    this.events = new RingBuffer<>(bufferSize);
+    this.maxFlushSize = maxFlushSize;
+    this.recorded = meterRegistry.counter("clicks.recorded");
+    this.dropped = meterRegistry.counter("clicks.dropped");
+    Gauge.builder("clicks.buffered", events, RingBuffer::size).register(meterRegistry);
+  }
+
+  public void recordClick(String alias) {
+    if (events.offer(new ClickEvent(alias, System.currentTimeMillis()))) {
+      recorded.increment();
+    } else {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Writes the queued clicks. Flushes of one instance run one at a time, so the scheduled flush
+   * and the one at shutdown never race to create the same counter.
+   */
+  @Scheduled(fixedDelayString = "${app.clicks.flush-interval:1s}")
+  public void flush() {
+    flushLock.lock();
+    try {
+      Map<String, ClickStats> deltas = new HashMap<>();
+      int drained = events.drain(event -> aggregate(deltas, event), maxFlushSize);
+      if (drained == 0) {
+        return;
+      }
+      write(deltas.values());
+      log.debug("Flushed {} clicks for {} aliases", drained, deltas.size());
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  public ClickStats getStats(String alias) {
+    return clickStatsRepository
+        .findById(alias)
+        .orElseGet(() -> ClickStats.builder().alias(alias).clickCount(0).build());
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    flush();
+  }
+
+  /**
+   * Adds the deltas to their counters and creates the missing ones. Another instance may create a
+   * counter between the update and the insert; the insert then fails as a whole and the deltas are
+   * added again, now to the counters that exist.
+   */
+  private void write(Collection<ClickStats> deltas) {
+    List<ClickStats> missing = clickStatsRepository.addClicks(deltas);
+    for (int attempt = 1; !missing.isEmpty(); attempt++) {
+      try {
+        insertCounters(missing);
+        return;
+      } catch (DataIntegrityViolationException e) {
+        if (!DuplicateKeys.isDuplicateKey(e) || attempt == MAX_INSERT_ATTEMPTS) {
+          throw e;
+        }
+        log.debug("Click counters were created concurrently, adding to them instead");
+      }
+      missing = clickStatsRepository.addClicks(missing);
+    }
+  }
+
+  private void insertCounters(List<ClickStats> counters) {
+    if (urlMappingStore.isTableBacked()) {
+      clickStatsRepository.insertCounters(counters);
+    } else {
+      clickStatsRepository.insertCountersUnchecked(stillMapped(counters));
+    }
+  }
+
+  /**
+   * Drops new counters for aliases deleted since they were clicked. Only for stores outside
+   * {@code url_mapping}: an alias deleted between this check and the insert still gets a counter.
+   */
+  private List<ClickStats> stillMapped(List<ClickStats> counters) {
+    List<ClickStats> mapped = new ArrayList<>(counters.size());
+    for (int from = 0; from < counters.size(); from += EXISTENCE_QUERY_CHUNK) {
+      List<ClickStats> chunk =
+          counters.subList(from, Math.min(counters.size(), from + EXISTENCE_QUERY_CHUNK));
+      Set<String> existing =
+          urlMappingStore.findExistingAliases(chunk.stream().map(ClickStats::getAlias).toList());
+      for (ClickStats counter : chunk) {
+        if (existing.contains(counter.getAlias())) {
+          mapped.add(counter);
+        }
+      }
+    }
+    return mapped;
+  }
+
+  private static void aggregate(Map<String, ClickStats> deltas, ClickEvent event) {
+    ClickStats delta =
+        deltas.computeIfAbsent(
+            event.alias(), alias -> ClickStats.builder().alias(alias).clickCount(0).build());
+    delta.setClickCount(delta.getClickCount() + 1);
+    LocalDateTime clickedAt =
+        LocalDateTime.ofInstant(Instant.ofEpochMilli(event.epochMillis()), ZoneId.systemDefault());
+    if (delta.getLastClickedAt() == null || delta.getLastClickedAt().isBefore(clickedAt)) {
+      delta.setLastClickedAt(clickedAt);
+    }
+  }
+
+  private record ClickEvent(String alias, long epochMillis) {}
+}
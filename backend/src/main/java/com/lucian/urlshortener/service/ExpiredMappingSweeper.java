@@ -0,0 +1,42 @@
+package com.lucian.urlshortener.service;
+
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes expired mappings. Each batch is its own short transaction read through the
+ * expiry index, so reclaiming a large backlog never holds locks for long or blocks redirects.
+ */
+@Component
+@Slf4j
+public class ExpiredMappingSweeper {
+
+  private final UrlShortenerService urlShortenerService;
+  private final int batchSize;
+
+  public ExpiredMappingSweeper(
+      UrlShortenerService urlShortenerService,
+      @Value("${app.expiry.sweep-batch-size:1000}") int batchSize) {
+    this.urlShortenerService = urlShortenerService;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${app.expiry.sweep-interval:1m}")
+  public int sweep() {
+    // Fixed cut-off: rows expiring while the sweep runs wait for the next one, so it terminates
+    LocalDateTime now = LocalDateTime.now();
+    int total = 0;
+    int deleted;
+    do {
+      deleted = urlShortenerService.deleteExpiredBatch(now, batchSize);
+      total += deleted;
+    } while (deleted == batchSize);
+    if (total > 0) {
+      log.info("Deleted {} expired URL mappings", total);
+    }
+    return total;
+  }
+}
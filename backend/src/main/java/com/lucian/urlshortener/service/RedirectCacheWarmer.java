@@ -0,0 +1,121 @@
+package com.lucian.urlshortener.service;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills the redirect cache at startup so the first redirects after a deploy do not all miss to the
+ * store. The newest or the most clicked aliases are read with one streaming query, then the
+ * redirect lookup is run over them until the JIT has compiled it.
+ *
+ * <p>Runs as an application runner, after the alias filter has loaded. Spring Boot only reports
+ * the readiness state as accepting traffic once all runners have finished, so a load balancer
+ * probing {@code /actuator/health/readiness} holds traffic back until warm-up is done.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(
+    name = "app.cache.warm-up.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@Slf4j
+public class RedirectCacheWarmer implements ApplicationRunner {
+
+  public static final String SOURCE_RECENT = "recent";
+  public static final String SOURCE_CLICKS = "clicks";
+
+  private final UrlShortenerService urlShortenerService;
+  private final UrlMappingStore urlMappingStore;
+  private final ClickStatsRepository clickStatsRepository;
+  private final int size;
+  private final String source;
+  private final int lookups;
+
+  public RedirectCacheWarmer(
+      UrlShortenerService urlShortenerService,
+      UrlMappingStore urlMappingStore,
+      ClickStatsRepository clickStatsRepository,
+      @Value("${app.cache.warm-up.size:10000}") int size,
+      @Value("${app.cache.warm-up.source:" + SOURCE_RECENT + "}") String source,
+      @Value("${app.cache.warm-up.lookups:20000}") int lookups) {
+    this.urlShortenerService = urlShortenerService;
+    this.urlMappingStore = urlMappingStore;
+    this.clickStatsRepository = clickStatsRepository;
+    this.size = size;
+    this.source = source;
+    this.lookups = lookups;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void run(ApplicationArguments args) {
+    warmUp();
+  }
+
+  /** Loads the cache and exercises the redirect lookup; returns the number of aliases cached. */
+  public int warmUp() {
+    long started = System.nanoTime();
+    long now = System.currentTimeMillis();
+    List<String> cached = new ArrayList<>();
+    Consumer<UrlMapping> load =
+        mapping -> {
+          if (urlShortenerService.cacheRedirect(mapping, now)) {
+            cached.add(mapping.getAlias());
+          }
+        };
+    switch (source) {
+      case SOURCE_RECENT -> urlMappingStore.forEachNewest(size, load);
+      case SOURCE_CLICKS -> loadMostClicked(load);
+      default -> throw new IllegalStateException("Unsupported warm-up source: " + source);
+    }
+    long loaded = System.nanoTime();
+    int runs = exerciseRedirectLookup(cached);
+    log.info(
+        "Redirect cache warmed with {} {} aliases in {} ms, then {} lookups in {} ms",
+        cached.size(),
+        source,
+        (loaded - started) / 1_000_000,
+        runs,
+        (System.nanoTime() - loaded) / 1_000_000);
+    return cached.size();
+  }
+
+  private void loadMostClicked(Consumer<UrlMapping> load) {
+    if (urlMappingStore.isTableBacked()) {
+      try (Stream<UrlMapping> mappings =
+          clickStatsRepository.streamMostClickedMappings(Limit.of(size))) {
+        mappings.forEach(load);
+      }
+      return;
+    }
+    // The counters cannot be joined to a store outside url_mapping; its lookups are in memory
+    try (Stream<String> aliases = clickStatsRepository.streamMostClickedAliases(Limit.of(size))) {
+      aliases.forEach(alias -> urlMappingStore.findById(alias).ifPresent(load));
+    }
+  }
+
+  private int exerciseRedirectLookup(List<String> aliases) {
+    if (aliases.isEmpty()) {
+      return 0;
+    }
+    for (int i = 0; i < lookups; i++) {
+      urlShortenerService.findRedirect(aliases.get(i % aliases.size()));
+    }
+    return lookups;
+  }
+}
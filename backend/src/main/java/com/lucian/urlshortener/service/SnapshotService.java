@@ -0,0 +1,119 @@
+package com.lucian.urlshortener.service;
+
+import com.lucian.urlshortener.cache.AliasBloomFilter;
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.exception.SnapshotConflictException;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import com.lucian.urlshortener.snapshot.SnapshotReader;
+import com.lucian.urlshortener.snapshot.SnapshotWriter;
+import com.lucian.urlshortener.utility.DuplicateKeys;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Exports every mapping to a binary snapshot and loads one back, for moving or restoring the
+ * mapping set. Both stream one block at a time, so memory use does not grow with the number of
+ * mappings. Click counters are not part of a snapshot.
+ */
+@Service
+@Slf4j
+public class SnapshotService {
+
+  private final UrlMappingStore urlMappingStore;
+  private final AliasBloomFilter aliasBloomFilter;
+
+  public SnapshotService(UrlMappingStore urlMappingStore, AliasBloomFilter aliasBloomFilter) {
+    this.urlMappingStore = urlMappingStore;
+    this.aliasBloomFilter = aliasBloomFilter;
+  }
+
+  /** Writes every mapping in alias order and returns how many were written. */
+  @Transactional(readOnly = true)
+  public long exportSnapshot(WritableByteChannel channel) {
+    long started = System.nanoTime();
+    try (SnapshotWriter writer = new SnapshotWriter(channel)) {
+      urlMappingStore.forEachOrderedByAlias(writer::write);
+      long exported = writer.finish();
+      log.info(
+          "Exported {} URL mappings in {} ms", exported, (System.nanoTime() - started) / 1_000_000);
+      return exported;
+    }
+  }
+
+  /**
+   * Inserts the mappings of a snapshot, one batch per block, and returns how many were inserted.
+   * Each batch commits on its own, so when the snapshot turns out to be damaged or holds an alias
+   * that is already stored, the batches before it stay imported. With {@code deferIndexes} the
+   * secondary indexes are rebuilt once at the end instead of being updated row by row, which
+   * suits a restore into an empty database better than one serving traffic.
+   */
+  public long importSnapshot(ReadableByteChannel channel, boolean deferIndexes) {
+    long started = System.nanoTime();
+    try (SnapshotReader reader = new SnapshotReader(channel)) {
+      Runnable load = () -> load(reader);
+      if (deferIndexes) {
+        urlMappingStore.withSecondaryIndexesDeferred(load);
+      } else {
+        load.run();
+      }
+      log.info(
+          "Imported {} URL mappings in {} ms",
+          reader.count(),
+          (System.nanoTime() - started) / 1_000_000);
+      return reader.count();
+    }
+  }
+
+  /**
+   * Reads the whole snapshot file once to check it, then imports it, so a damaged snapshot or one
+   * holding an invalid mapping is rejected before anything is inserted. Returns how many mappings
+   * were inserted.
+   */
+  public long importSnapshot(Path file, boolean deferIndexes) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long mappings = verifySnapshot(channel);
+      log.info("Snapshot {} holds {} URL mappings", file, mappings);
+      channel.position(0);
+      return importSnapshot(channel, deferIndexes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read snapshot " + file, e);
+    }
+  }
+
+  /** Reads a whole snapshot without storing it, and returns how many mappings it holds. */
+  public long verifySnapshot(ReadableByteChannel channel) {
+    try (SnapshotReader reader = new SnapshotReader(channel)) {
+      while (!reader.nextBatch().isEmpty()) {
+        // Each block is checked as it is read
+      }
+      return reader.count();
+    }
+  }
+
+  private void load(SnapshotReader reader) {
+    long imported = 0;
+    List<UrlMapping> batch;
+    while (!(batch = reader.nextBatch()).isEmpty()) {
+      try {
+        urlMappingStore.insertAll(batch);
+      } catch (DataIntegrityViolationException e) {
+        if (!DuplicateKeys.isDuplicateKey(e)) {
+          throw e;
+        }
+        throw new SnapshotConflictException(imported);
+      }
+      batch.forEach(mapping -> aliasBloomFilter.add(mapping.getAlias()));
+      imported += batch.size();
+    }
+  }
+}
@@ -1,61 +1,256 @@
 package com.lucian.urlshortener.service;
 
+import com.lucian.urlshortener.cache.AliasBloomFilter;
+import com.lucian.urlshortener.cache.AliasCache;
+import com.lucian.urlshortener.cache.AliasInvalidationBus;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import com.lucian.urlshortener.dto.BatchItemResponse;
+import com.lucian.urlshortener.dto.UrlRequest;
 import com.lucian.urlshortener.entity.UrlMapping;
 import com.lucian.urlshortener.exception.*;
-import com.lucian.urlshortener.repo.UrlMappingRepository;
+import com.lucian.urlshortener.metrics.UrlShortenerMetrics;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
 import com.lucian.urlshortener.utility.AliasGenerator;
 import com.lucian.urlshortener.utility.AliasValidator;
+import com.lucian.urlshortener.utility.DuplicateKeys;
+import com.lucian.urlshortener.utility.Mapper;
+import com.lucian.urlshortener.utility.PageCursor;
+import com.lucian.urlshortener.utility.Result;
+import com.lucian.urlshortener.utility.SingleFlight;
+import com.lucian.urlshortener.utility.TransactionUtils;
 import com.lucian.urlshortener.utility.UrlUtils;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
 @Slf4j
 public class UrlShortenerService {
 
-  private final UrlMappingRepository urlMappingRepository;
+  private final UrlMappingStore urlMappingStore;
+  private final ClickStatsRepository clickStatsRepository;
   private final AliasGenerator aliasGenerator;
+  private final AliasCache aliasCache;
+  private final AliasBloomFilter aliasBloomFilter;
+  private final AliasInvalidationBus aliasInvalidationBus;
+  private final UrlShortenerMetrics metrics;
+  private final SingleFlight<String, RedirectTarget> redirectLoads;
   private final String baseUrl;
+  private final boolean dedupEnabled;
 
   public UrlShortenerService(
-      UrlMappingRepository urlMappingRepository,
+      UrlMappingStore urlMappingStore,
+      ClickStatsRepository clickStatsRepository,
       AliasGenerator aliasGenerator,
-      @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
-    this.urlMappingRepository = urlMappingRepository;
+      AliasCache aliasCache,
+      AliasBloomFilter aliasBloomFilter,
+      AliasInvalidationBus aliasInvalidationBus,
+      UrlShortenerMetrics metrics,
+      @Value("${app.base-url:http://localhost:8080}") String baseUrl,
+      @Value("${app.dedup.enabled:false}") boolean dedupEnabled) {
+    this.urlMappingStore = urlMappingStore;
+    this.clickStatsRepository = clickStatsRepository;
     this.aliasGenerator = aliasGenerator;
+    this.aliasCache = aliasCache;
+    this.aliasBloomFilter = aliasBloomFilter;
+    this.aliasInvalidationBus = aliasInvalidationBus;
+    this.metrics = metrics;
+    this.redirectLoads = new SingleFlight<>(metrics::redirectLoadShared);
     this.baseUrl = baseUrl;
+    this.dedupEnabled = dedupEnabled;
   }
 
+  public static final String SORT_BY_ALIAS = "alias";
+  public static final String SORT_BY_CREATED_AT = "createdAt";
+  public static final int MAX_PAGE_SIZE = 1000;
+
   private static final int MAX_GENERATION_ATTEMPTS = 5;
+  private static final int EXISTENCE_QUERY_CHUNK = 1000;
 
-  @Transactional
   public UrlMapping createShortUrl(String fullUrl, String customAlias) {
-    String normalizedUrl = UrlUtils.normalizeAndValidateUrl(fullUrl);
-    String aliasToUse;
+    return createShortUrl(fullUrl, customAlias, null);
+  }
+
+  public UrlMapping createShortUrl(String fullUrl, String customAlias, LocalDateTime expiresAt) {
+    return tryCreateShortUrl(fullUrl, customAlias, expiresAt).orElseThrow();
+  }
+
+  /**
+   * Same as {@link #createShortUrl(String, String, LocalDateTime)}, but an invalid URL, alias or
+   * expiry and a taken custom alias come back as a failed result instead of an exception.
+   *
+   * <p>Runs without a surrounding transaction: each insert commits or rolls back on its own, so an
+   * insert that loses an alias to another writer can be retried with a new one.
+   */
+  public Result<UrlMapping> tryCreateShortUrl(
+      String fullUrl, String customAlias, LocalDateTime expiresAt) {
+    long start = System.nanoTime();
+    Result<String> normalized = UrlUtils.normalizeUrl(fullUrl);
+    if (normalized instanceof Result.Failure<String> failure) {
+      return failure.cast();
+    }
+    if (checkExpiry(expiresAt) instanceof Result.Failure<LocalDateTime> failure) {
+      return failure.cast();
+    }
+    if (customAlias != null) {
+      log.debug("Custom alias requested: {}", customAlias);
+      if (AliasValidator.validate(customAlias) instanceof Result.Failure<String> failure) {
+        return failure.cast();
+      }
+    }
+    metrics.validation(System.nanoTime() - start);
+    String normalizedUrl = normalized.orElseThrow();
+    Long urlHash = null;
+    // Expiring links are never shared, a reused alias could outlive or undercut the request
+    if (customAlias == null && expiresAt == null && dedupEnabled) {
+      urlHash = UrlUtils.hash(normalizedUrl);
+      Optional<UrlMapping> existing = findByUrl(normalizedUrl, urlHash);
+      if (existing.isPresent()) {
+        log.debug("Reusing alias {} for {}", existing.get().getAlias(), normalizedUrl);
+        return Result.ok(existing.get());
+      }
+    }
     if (customAlias != null) {
-      log.info("Custom alias requested: {}", customAlias);
-      validateCustomAlias(customAlias);
-      aliasToUse = customAlias;
-    } else {
-      aliasToUse = generateUniqueAlias();
-      if (aliasExists(aliasToUse)) {
-        throw new AliasCollisionException();
+      return insertCustom(customAlias, normalizedUrl, expiresAt);
+    }
+    return Result.ok(insertGenerated(normalizedUrl, urlHash, expiresAt));
+  }
+
+  /**
+   * Creates every valid entry of a batch with one all-or-nothing insert. Custom and generated
+   * aliases are checked with set-based queries and the rows are written with JDBC batch inserts.
+   * Entries that fail validation are reported in the result at their index and do not affect the
+   * others. With deduplication enabled, generated entries without expiry for an already stored
+   * URL, or for a URL repeated within the batch, get the same alias instead of a new row.
+   *
+   * <p>Runs without a surrounding transaction, like {@link #tryCreateShortUrl}, so an insert that
+   * loses aliases to another writer can be retried without them.
+   */
+  public List<BatchItemResponse> createShortUrls(List<UrlRequest> requests) {
+    log.info("Creating batch of {} short URLs", requests.size());
+    BatchItemResponse[] results = new BatchItemResponse[requests.size()];
+    List<BatchEntry> custom = new ArrayList<>();
+    List<BatchEntry> generated = new ArrayList<>();
+    Set<String> claimed = new HashSet<>();
+    for (int i = 0; i < requests.size(); i++) {
+      UrlRequest request = requests.get(i);
+      switch (validateBatchEntry(i, request, claimed)) {
+        case Result.Ok<BatchEntry>(BatchEntry entry) ->
+            (entry.alias == null ? generated : custom).add(entry);
+        case Result.Failure<BatchEntry> failure ->
+            results[i] = batchFailure(i, failure.status(), failure.error().getMessage());
+      }
+    }
+
+    Map<BatchEntry, List<BatchEntry>> repeats = new HashMap<>();
+    if (dedupEnabled) {
+      generated = reuseStoredUrls(generated, results, repeats);
+    }
+
+    Set<String> taken = findExistingAliases(claimed);
+    List<BatchEntry> accepted = new ArrayList<>(requests.size());
+    for (BatchEntry entry : custom) {
+      if (taken.contains(entry.alias)) {
+        results[entry.index] =
+            batchFailure(
+                entry.index,
+                HttpStatus.BAD_REQUEST,
+                new DuplicateAliasException(entry.alias).getMessage());
+      } else {
+        accepted.add(entry);
       }
     }
-    UrlMapping mapping = buildMapping(aliasToUse, normalizedUrl);
-    return urlMappingRepository.save(mapping);
+    for (BatchEntry entry : assignGeneratedAliases(generated, claimed)) {
+      results[entry.index] =
+          batchFailure(
+              entry.index,
+              HttpStatus.INTERNAL_SERVER_ERROR,
+              new AliasGenerationFailureException(MAX_GENERATION_ATTEMPTS).getMessage());
+    }
+    generated.stream().filter(entry -> entry.alias != null).forEach(accepted::add);
+
+    List<UrlMapping> mappings = insertAccepted(accepted, claimed, results);
+    for (UrlMapping mapping : mappings) {
+      aliasBloomFilter.add(mapping.getAlias());
+    }
+    repeats.forEach(
+        (first, others) -> {
+          BatchItemResponse result = results[first.index];
+          for (BatchEntry other : others) {
+            results[other.index] =
+                BatchItemResponse.builder()
+                    .index(other.index)
+                    .status(result.status())
+                    .url(result.url())
+                    .error(result.error())
+                    .build();
+          }
+        });
+    return List.of(results);
   }
 
+  @Transactional(readOnly = true)
   public UrlMapping getByAlias(String alias) {
-    log.info("Retrieving URL mapping for alias: {}", alias);
-    Optional<UrlMapping> mappingOptional = urlMappingRepository.findById(alias);
-    return mappingOptional.orElseThrow(() -> new AliasNotFoundException(alias));
+    return findByAlias(alias).orElseThrow();
+  }
+
+  /** Looks the alias up, reporting a missing one as a 404 result rather than throwing. */
+  @Transactional(readOnly = true)
+  public Result<UrlMapping> findByAlias(String alias) {
+    log.debug("Retrieving URL mapping for alias: {}", alias);
+    Optional<UrlMapping> mapping = urlMappingStore.findById(alias);
+    if (mapping.isEmpty()) {
+      return Result.failure(HttpStatus.NOT_FOUND, new AliasNotFoundException(alias));
+    }
+    return Result.ok(mapping.get());
+  }
+
+  /**
+   * Returns the redirect target for the alias, or {@code null} when it does not exist. Expired
+   * aliases are returned too (and cached) so callers can answer 410 without the database. Cache
+   * hits return the stored target without allocating. A miss is read in the repository's own
+   * read-only transaction, so it does not open one for cache hits. Concurrent misses for the same
+   * alias share a single read, so a link that is suddenly popular costs one query, not one per
+   * request.
+   */
+  public RedirectTarget findRedirect(String alias) {
+    if (!aliasBloomFilter.mightContain(alias)) {
+      return null;
+    }
+    RedirectTarget cached = aliasCache.get(alias);
+    if (cached != null) {
+      return cached;
+    }
+    return redirectLoads.load(alias, this::loadRedirect);
+  }
+
+  /**
+   * Caches the redirect target of a mapping read outside the redirect path, unless it has expired
+   * by {@code nowMillis}. Returns whether it was cached.
+   */
+  public boolean cacheRedirect(UrlMapping mapping, long nowMillis) {
+    RedirectTarget target = redirectTarget(mapping);
+    if (target.isExpired(nowMillis)) {
+      return false;
+    }
+    aliasCache.put(mapping.getAlias(), target);
+    return true;
   }
 
   @Transactional
@@ -65,43 +260,361 @@ public class UrlShortenerService {
       log.warn("Alias not found for deletion: {}", alias);
       throw new AliasNotFoundException(alias);
     }
-    urlMappingRepository.deleteById(alias);
+    urlMappingStore.deleteById(alias);
+    clickStatsRepository.deleteById(alias);
+    aliasInvalidationBus.publish(List.of(alias));
+    TransactionUtils.afterCommit(
+        () -> {
+          aliasCache.invalidate(alias);
+          aliasBloomFilter.remove(alias);
+        });
+  }
+
+  /**
+   * Deletes up to {@code limit} mappings that expired at or before {@code now}, oldest first, in
+   * one short transaction. Returns how many were deleted.
+   */
+  @Transactional
+  public int deleteExpiredBatch(LocalDateTime now, int limit) {
+    List<String> aliases = urlMappingStore.findExpiredAliases(now, limit);
+    if (aliases.isEmpty()) {
+      return 0;
+    }
+    urlMappingStore.deleteByAliases(aliases);
+    clickStatsRepository.deleteByAliases(aliases);
+    aliasInvalidationBus.publish(aliases);
+    TransactionUtils.afterCommit(
+        () ->
+            aliases.forEach(
+                alias -> {
+                  aliasCache.invalidate(alias);
+                  aliasBloomFilter.remove(alias);
+                }));
+    return aliases.size();
+  }
+
+  /**
+   * Returns up to {@code limit} mappings that sort after {@code cursor}, seeking on the alias
+   * primary key or the (createdAt, alias) index rather than skipping over an offset.
+   */
+  @Transactional(readOnly = true)
+  public List<UrlMapping> listPage(String sort, String cursor, int limit) {
+    log.info("Listing URL mappings by {} after cursor {}", sort, cursor);
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new InvalidPageRequestException(
+          String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE));
+    }
+    PageCursor after = cursor == null ? null : PageCursor.decode(cursor);
+    return switch (sort) {
+      case SORT_BY_ALIAS ->
+          urlMappingStore.findPageByAlias(after == null ? null : after.alias(), limit);
+      case SORT_BY_CREATED_AT ->
+          after == null
+              ? urlMappingStore.findPageByCreatedAt(null, null, limit)
+              : urlMappingStore.findPageByCreatedAt(after.createdAt(), after.alias(), limit);
+      default -> throw new InvalidPageRequestException("Unsupported sort: " + sort);
+    };
+  }
+
+  /** Feeds every mapping to {@code action} in alias order without loading the table at once. */
+  @Transactional(readOnly = true)
+  public void exportAll(Consumer<UrlMapping> action) {
+    log.info("Exporting all URL mappings");
+    urlMappingStore.forEachOrderedByAlias(action);
   }
 
-  public List<UrlMapping> listAll() {
-    log.info("Listing all URL mappings");
-    return urlMappingRepository.findAll();
+  private Result<UrlMapping> insertCustom(
+      String alias, String normalizedUrl, LocalDateTime expiresAt) {
+    long persisting = System.nanoTime();
+    UrlMapping mapping = buildMapping(alias, normalizedUrl, null, expiresAt);
+    try {
+      urlMappingStore.insert(mapping);
+    } catch (DataIntegrityViolationException e) {
+      if (!DuplicateKeys.isDuplicateKey(e)) {
+        throw e;
+      }
+      return Result.badRequest(new DuplicateAliasException(alias));
+    }
+    aliasBloomFilter.add(alias);
+    metrics.persistence(System.nanoTime() - persisting);
+    return Result.ok(mapping);
   }
 
-  private String generateUniqueAlias() {
-    log.info("Generating unique alias");
-    for (int i = 0; i < MAX_GENERATION_ATTEMPTS; i++) {
-      String candidate = aliasGenerator.generate();
-      if (!aliasExists(candidate)) return candidate;
+  /**
+   * Inserts under a freshly generated alias, drawing a new one when the insert hits an alias that
+   * is already stored. The primary key is the only uniqueness check, so there is no gap between
+   * checking and writing for another instance to slip into.
+   */
+  private UrlMapping insertGenerated(String normalizedUrl, Long urlHash, LocalDateTime expiresAt) {
+    log.debug("Generating unique alias");
+    for (int attempt = 1; attempt <= MAX_GENERATION_ATTEMPTS; attempt++) {
+      long generating = System.nanoTime();
+      String alias = aliasGenerator.generate();
+      long persisting = System.nanoTime();
+      metrics.aliasGeneration(persisting - generating);
+      UrlMapping mapping = buildMapping(alias, normalizedUrl, urlHash, expiresAt);
+      try {
+        urlMappingStore.insert(mapping);
+      } catch (DataIntegrityViolationException e) {
+        if (!DuplicateKeys.isDuplicateKey(e)) {
+          throw e;
+        }
+        log.debug("Generated alias {} is taken, drawing another", alias);
+        continue;
+      }
+      metrics.aliasAttempts(attempt);
+      aliasBloomFilter.add(alias);
+      metrics.persistence(System.nanoTime() - persisting);
+      return mapping;
     }
+    metrics.aliasAttempts(MAX_GENERATION_ATTEMPTS);
     throw new AliasGenerationFailureException(MAX_GENERATION_ATTEMPTS);
   }
 
-  private void validateCustomAlias(String alias) {
-    AliasValidator.validateOrThrow(alias);
-    if (aliasExists(alias)) {
-      throw new DuplicateAliasException(alias);
+  private Result<BatchEntry> validateBatchEntry(
+      int index, UrlRequest request, Set<String> claimed) {
+    if (request == null || request.fullUrl() == null || request.fullUrl().isBlank()) {
+      return Result.badRequest(new InvalidUrlException("URL must not be blank"));
+    }
+    Result<String> normalized = UrlUtils.normalizeUrl(request.fullUrl());
+    if (normalized instanceof Result.Failure<String> failure) {
+      return failure.cast();
+    }
+    if (checkExpiry(request.expiresAt()) instanceof Result.Failure<LocalDateTime> failure) {
+      return failure.cast();
+    }
+    String customAlias = request.customAlias();
+    if (customAlias != null) {
+      if (AliasValidator.validate(customAlias) instanceof Result.Failure<String> failure) {
+        return failure.cast();
+      }
+      if (!claimed.add(customAlias)) {
+        return Result.badRequest(new DuplicateAliasException(customAlias));
+      }
+    }
+    return Result.ok(
+        new BatchEntry(index, normalized.orElseThrow(), customAlias, request.expiresAt()));
+  }
+
+  /**
+   * Inserts the accepted entries and reports each as created. When another writer stored one of
+   * the aliases after the existence check, the insert rolls back as a whole: taken custom aliases
+   * are then reported as duplicates, taken generated ones are drawn again and the rest is inserted
+   * anew, up to {@link #MAX_GENERATION_ATTEMPTS} times.
+   */
+  private List<UrlMapping> insertAccepted(
+      List<BatchEntry> accepted, Set<String> claimed, BatchItemResponse[] results) {
+    List<BatchEntry> pending = accepted;
+    for (int attempt = 1; ; attempt++) {
+      List<UrlMapping> mappings = new ArrayList<>(pending.size());
+      for (BatchEntry entry : pending) {
+        mappings.add(buildMapping(entry.alias, entry.fullUrl, entry.urlHash, entry.expiresAt));
+      }
+      try {
+        urlMappingStore.insertAll(mappings);
+        for (int i = 0; i < mappings.size(); i++) {
+          results[pending.get(i).index] = batchCreated(pending.get(i).index, mappings.get(i));
+        }
+        return mappings;
+      } catch (DataIntegrityViolationException e) {
+        if (!DuplicateKeys.isDuplicateKey(e)) {
+          throw e;
+        }
+        if (attempt == MAX_GENERATION_ATTEMPTS) {
+          throw new AliasCollisionException();
+        }
+        log.debug("Batch lost aliases to another writer, retrying without them");
+      }
+      Set<String> taken =
+          findExistingAliases(pending.stream().map(entry -> entry.alias).toList());
+      List<BatchEntry> retry = new ArrayList<>(pending.size());
+      List<BatchEntry> redraw = new ArrayList<>();
+      for (BatchEntry entry : pending) {
+        if (!taken.contains(entry.alias)) {
+          retry.add(entry);
+        } else if (entry.custom) {
+          results[entry.index] =
+              batchFailure(
+                  entry.index,
+                  HttpStatus.BAD_REQUEST,
+                  new DuplicateAliasException(entry.alias).getMessage());
+        } else {
+          entry.alias = null;
+          redraw.add(entry);
+        }
+      }
+      for (BatchEntry entry : assignGeneratedAliases(redraw, claimed)) {
+        results[entry.index] =
+            batchFailure(
+                entry.index,
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                new AliasGenerationFailureException(MAX_GENERATION_ATTEMPTS).getMessage());
+      }
+      redraw.stream().filter(entry -> entry.alias != null).forEach(retry::add);
+      pending = retry;
+    }
+  }
+
+  /**
+   * Draws an alias for each entry, checking all candidates of a round with one query. Returns the
+   * entries that are still without an alias after {@link #MAX_GENERATION_ATTEMPTS} rounds.
+   */
+  private List<BatchEntry> assignGeneratedAliases(List<BatchEntry> entries, Set<String> claimed) {
+    List<BatchEntry> pending = entries;
+    for (int attempt = 0; attempt < MAX_GENERATION_ATTEMPTS && !pending.isEmpty(); attempt++) {
+      Map<String, BatchEntry> candidates = new HashMap<>();
+      List<BatchEntry> retry = new ArrayList<>();
+      for (BatchEntry entry : pending) {
+        String candidate = aliasGenerator.generate();
+        if (claimed.contains(candidate) || candidates.putIfAbsent(candidate, entry) != null) {
+          retry.add(entry);
+        }
+      }
+      Set<String> taken = findExistingAliases(candidates.keySet());
+      candidates.forEach(
+          (candidate, entry) -> {
+            if (taken.contains(candidate)) {
+              retry.add(entry);
+            } else {
+              entry.alias = candidate;
+              claimed.add(candidate);
+            }
+          });
+      pending = retry;
+    }
+    return pending;
+  }
+
+  private Optional<UrlMapping> findByUrl(String normalizedUrl, long urlHash) {
+    // The hash only narrows the lookup down; different URLs may share one.
+    return urlMappingStore.findByUrlHash(urlHash).stream()
+        .filter(mapping -> mapping.getFullUrl().equals(normalizedUrl))
+        .findFirst();
+  }
+
+  /**
+   * Answers generated entries whose URL is already stored with the stored mapping, and collects
+   * later repeats of a URL in {@code repeats} under its first entry. Returns the entries that
+   * still need an alias, with their URL hash set unless they expire.
+   */
+  private List<BatchEntry> reuseStoredUrls(
+      List<BatchEntry> entries,
+      BatchItemResponse[] results,
+      Map<BatchEntry, List<BatchEntry>> repeats) {
+    List<BatchEntry> pending = new ArrayList<>(entries.size());
+    Map<String, BatchEntry> firstByUrl = new LinkedHashMap<>();
+    for (BatchEntry entry : entries) {
+      if (entry.expiresAt != null) {
+        pending.add(entry);
+        continue;
+      }
+      BatchEntry first = firstByUrl.putIfAbsent(entry.fullUrl, entry);
+      if (first != null) {
+        repeats.computeIfAbsent(first, key -> new ArrayList<>()).add(entry);
+      }
+    }
+    Map<Long, BatchEntry> byHash = new HashMap<>();
+    for (BatchEntry entry : firstByUrl.values()) {
+      entry.urlHash = UrlUtils.hash(entry.fullUrl);
+      byHash.put(entry.urlHash, entry);
+    }
+    List<Long> hashes = new ArrayList<>(byHash.keySet());
+    for (int from = 0; from < hashes.size(); from += EXISTENCE_QUERY_CHUNK) {
+      int to = Math.min(hashes.size(), from + EXISTENCE_QUERY_CHUNK);
+      for (UrlMapping stored : urlMappingStore.findByUrlHashIn(hashes.subList(from, to))) {
+        BatchEntry entry = firstByUrl.get(stored.getFullUrl());
+        if (entry != null && results[entry.index] == null) {
+          results[entry.index] = batchCreated(entry.index, stored);
+        }
+      }
+    }
+    for (BatchEntry entry : firstByUrl.values()) {
+      if (results[entry.index] == null) {
+        pending.add(entry);
+      }
+    }
+    return pending;
+  }
+
+  private Set<String> findExistingAliases(Collection<String> aliases) {
+    if (aliases.isEmpty()) {
+      return Set.of();
+    }
+    List<String> all = new ArrayList<>(aliases);
+    Set<String> existing = new HashSet<>();
+    for (int from = 0; from < all.size(); from += EXISTENCE_QUERY_CHUNK) {
+      List<String> chunk = all.subList(from, Math.min(all.size(), from + EXISTENCE_QUERY_CHUNK));
+      existing.addAll(urlMappingStore.findExistingAliases(chunk));
+    }
+    return existing;
+  }
+
+  private BatchItemResponse batchCreated(int index, UrlMapping mapping) {
+    return BatchItemResponse.builder()
+        .index(index)
+        .status(HttpStatus.CREATED.value())
+        .url(Mapper.toUrlResponse(mapping, baseUrl))
+        .build();
+  }
+
+  private static BatchItemResponse batchFailure(int index, HttpStatus status, String message) {
+    return BatchItemResponse.builder().index(index).status(status.value()).error(message).build();
+  }
+
+  private static Result<LocalDateTime> checkExpiry(LocalDateTime expiresAt) {
+    if (expiresAt != null && !expiresAt.isAfter(LocalDateTime.now())) {
+      return Result.badRequest(
+          new InvalidExpiryException("Expiry must be in the future: " + expiresAt));
     }
+    return Result.ok(expiresAt);
   }
 
   private boolean aliasExists(String candidate) {
-    return urlMappingRepository.existsByAlias(candidate);
+    return urlMappingStore.existsByAlias(candidate);
+  }
+
+  private RedirectTarget loadRedirect(String alias) {
+    metrics.redirectLoad();
+    Optional<UrlMapping> mapping = urlMappingStore.findById(alias);
+    if (mapping.isEmpty()) {
+      return null;
+    }
+    RedirectTarget target = redirectTarget(mapping.get());
+    aliasCache.put(alias, target);
+    return target;
   }
 
-  private UrlMapping buildMapping(String alias, String fullUrl) {
-    log.info("Building URL mapping: {} -> {}", alias, fullUrl);
-    String shortUrl =
-        UriComponentsBuilder.fromUriString(baseUrl).pathSegment(alias).build().toUriString();
+  private static RedirectTarget redirectTarget(UrlMapping mapping) {
+    return RedirectTarget.of(
+        UrlUtils.toLocationHeader(mapping.getFullUrl()), mapping.getExpiresAt());
+  }
+
+  private UrlMapping buildMapping(
+      String alias, String fullUrl, Long urlHash, LocalDateTime expiresAt) {
+    log.debug("Building URL mapping: {} -> {}", alias, fullUrl);
     return UrlMapping.builder()
         .alias(alias)
         .fullUrl(fullUrl)
-        .shortUrl(shortUrl)
-        .createdAt(LocalDateTime.now())
+        .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+        .urlHash(urlHash)
+        .expiresAt(expiresAt)
         .build();
   }
+
+  private static final class BatchEntry {
+    private final int index;
+    private final String fullUrl;
+    private final LocalDateTime expiresAt;
+    private final boolean custom;
+    private String alias;
+    private Long urlHash;
+
+    private BatchEntry(int index, String fullUrl, String alias, LocalDateTime expiresAt) {
+      this.index = index;
+      this.fullUrl = fullUrl;
+      this.alias = alias;
+      this.expiresAt = expiresAt;
+      this.custom = alias != null;
+    }
+  }
 }
@@ -0,0 +1,37 @@
+package com.lucian.urlshortener.snapshot;
+
+/**
+ * Layout of a snapshot of every URL mapping, written by {@link SnapshotWriter} and read by {@link
+ * SnapshotReader}. All numbers are big-endian.
+ *
+ * <pre>
+ * file    = header block* end
+ * header  = magic "URLS" (int), version (int)
+ * block   = raw length (int, &gt; 0), compressed length (int), CRC32 of the raw bytes (int),
+ *           the raw bytes compressed with deflate
+ * end     = 0 (int), number of records in all blocks (long)
+ * record  = alias (string), full URL (string), created at (long, epoch seconds),
+ *           expires at (long epoch seconds, then int nanoseconds unless null),
+ *           URL hash (byte 0 or 1, then long if 1)
+ * string  = length (int), UTF-8 bytes
+ * </pre>
+ *
+ * A null time is written as {@link Long#MIN_VALUE}; times are local date-times counted as UTC.
+ * Blocks hold whole records and at most {@link #BLOCK_SIZE} raw bytes unless a single record is
+ * larger, so both ends need a constant amount of memory whatever the number of mappings. A file
+ * cut short lacks the end marker, and a damaged block fails its checksum.
+ */
+final class SnapshotFormat {
+
+  static final int MAGIC = 0x55524c53; // "URLS"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+  static final int BLOCK_HEADER_SIZE = 12;
+  static final int BLOCK_SIZE = 1 << 20;
+  /** Largest block a reader accepts, so a damaged length cannot exhaust memory. */
+  static final int MAX_BLOCK_SIZE = 64 << 20;
+  static final int END = 0;
+  static final long NULL_TIME = Long.MIN_VALUE;
+
+  private SnapshotFormat() {}
+}
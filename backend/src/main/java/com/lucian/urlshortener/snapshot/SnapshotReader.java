@@ -0,0 +1,206 @@
+package com.lucian.urlshortener.snapshot;
+
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.BLOCK_HEADER_SIZE;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.END;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.HEADER_SIZE;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.MAGIC;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.MAX_BLOCK_SIZE;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.NULL_TIME;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.exception.InvalidSnapshotException;
+import com.lucian.urlshortener.utility.AliasValidator;
+import com.lucian.urlshortener.utility.Result;
+import com.lucian.urlshortener.utility.UrlUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a snapshot in the {@link SnapshotFormat} from a channel one block at a time. A snapshot
+ * that is cut short, fails a checksum or does not hold the number of records its end marker
+ * states, or that holds a mapping the API would not accept, is rejected with an {@link
+ * InvalidSnapshotException}, raised by the call that reaches the damage; blocks before it have
+ * already been returned. The channel is not closed.
+ */
+public class SnapshotReader implements AutoCloseable {
+
+  private final ReadableByteChannel channel;
+  private final Inflater inflater = new Inflater();
+  private final CRC32 crc = new CRC32();
+  private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+  private ByteBuffer raw = ByteBuffer.allocate(SnapshotFormat.BLOCK_SIZE);
+  private ByteBuffer compressed = ByteBuffer.allocate(SnapshotFormat.BLOCK_SIZE);
+  private long count;
+  private boolean ended;
+
+  public SnapshotReader(ReadableByteChannel channel) {
+    this.channel = channel;
+    ByteBuffer header = readFully(ByteBuffer.allocate(HEADER_SIZE));
+    if (header.getInt() != MAGIC) {
+      throw new InvalidSnapshotException("Not a URL mapping snapshot");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new InvalidSnapshotException("Unsupported snapshot version " + version);
+    }
+  }
+
+  /** The mappings of the next block, or an empty list once the end marker has been read. */
+  public List<UrlMapping> nextBatch() {
+    if (ended) {
+      return List.of();
+    }
+    blockHeader.clear().limit(Integer.BYTES);
+    int rawLength = readFully(blockHeader).getInt();
+    if (rawLength == END) {
+      long expected = readFully(ByteBuffer.allocate(Long.BYTES)).getLong();
+      if (expected != count) {
+        throw new InvalidSnapshotException(
+            String.format("Snapshot should hold %d mappings but holds %d", expected, count));
+      }
+      ended = true;
+      return List.of();
+    }
+    blockHeader.limit(BLOCK_HEADER_SIZE);
+    readFully(blockHeader).position(Integer.BYTES);
+    int compressedLength = blockHeader.getInt();
+    int checksum = blockHeader.getInt();
+    if (rawLength < 0
+        || rawLength > MAX_BLOCK_SIZE
+        || compressedLength <= 0
+        || compressedLength > MAX_BLOCK_SIZE) {
+      throw new InvalidSnapshotException("Snapshot block header is damaged");
+    }
+    if (compressed.capacity() < compressedLength) {
+      compressed = ByteBuffer.allocate(compressedLength);
+    }
+    if (raw.capacity() < rawLength) {
+      raw = ByteBuffer.allocate(rawLength);
+    }
+    readFully(compressed.clear().limit(compressedLength));
+    inflate(rawLength);
+    crc.reset();
+    crc.update(raw.duplicate());
+    if ((int) crc.getValue() != checksum) {
+      throw new InvalidSnapshotException("Snapshot block fails its checksum");
+    }
+    List<UrlMapping> mappings = new ArrayList<>();
+    while (raw.hasRemaining()) {
+      UrlMapping mapping;
+      try {
+        mapping = decode(raw);
+      } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+        throw new InvalidSnapshotException("Snapshot block holds a damaged record", e);
+      }
+      check(mapping, count + mappings.size());
+      mappings.add(mapping);
+    }
+    count += mappings.size();
+    return mappings;
+  }
+
+  /** Number of mappings read so far. */
+  public long count() {
+    return count;
+  }
+
+  @Override
+  public void close() {
+    inflater.end();
+  }
+
+  private void inflate(int rawLength) {
+    inflater.reset();
+    inflater.setInput(compressed);
+    raw.clear().limit(rawLength);
+    try {
+      while (raw.hasRemaining() && inflater.inflate(raw) > 0) {
+        // inflate() fills raw until the block is complete
+      }
+    } catch (DataFormatException e) {
+      throw new InvalidSnapshotException("Snapshot block cannot be decompressed", e);
+    }
+    if (raw.hasRemaining() || !inflater.finished()) {
+      throw new InvalidSnapshotException("Snapshot block has the wrong length");
+    }
+    raw.flip();
+  }
+
+  private static UrlMapping decode(ByteBuffer buffer) {
+    String alias = readString(buffer);
+    String fullUrl = readString(buffer);
+    long createdAt = buffer.getLong();
+    long expiresAt = buffer.getLong();
+    return UrlMapping.builder()
+        .alias(alias)
+        .fullUrl(fullUrl)
+        .createdAt(
+            createdAt == NULL_TIME
+                ? null
+                : LocalDateTime.ofEpochSecond(createdAt, 0, ZoneOffset.UTC))
+        .expiresAt(
+            expiresAt == NULL_TIME
+                ? null
+                : LocalDateTime.ofEpochSecond(expiresAt, buffer.getInt(), ZoneOffset.UTC))
+        .urlHash(buffer.get() == 0 ? null : buffer.getLong())
+        .build();
+  }
+
+  /**
+   * Applies the alias and URL rules of a create, so a snapshot cannot store what the API would
+   * refuse: reserved or malformed aliases, URLs without a host or with another scheme.
+   */
+  private static void check(UrlMapping mapping, long index) {
+    if (AliasValidator.validate(mapping.getAlias()) instanceof Result.Failure<String> failure) {
+      throw invalidRecord(index, failure);
+    }
+    // Also holds the URL to MAX_URL_LENGTH, the width of the stored column
+    if (UrlUtils.normalizeUrl(mapping.getFullUrl()) instanceof Result.Failure<String> failure) {
+      throw invalidRecord(index, failure);
+    }
+  }
+
+  private static InvalidSnapshotException invalidRecord(
+      long index, Result.Failure<String> failure) {
+    return new InvalidSnapshotException(
+        String.format(
+            "Snapshot mapping %d is invalid: %s", index + 1, failure.error().getMessage()));
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("String length " + length);
+    }
+    int start = buffer.arrayOffset() + buffer.position();
+    buffer.position(buffer.position() + length);
+    return new String(buffer.array(), start, length, UTF_8);
+  }
+
+  private ByteBuffer readFully(ByteBuffer buffer) {
+    try {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          throw new InvalidSnapshotException(
+              String.format("Snapshot is truncated after %d mappings", count));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read snapshot", e);
+    }
+    return buffer.flip();
+  }
+}
@@ -0,0 +1,118 @@
+package com.lucian.urlshortener.snapshot;
+
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.BLOCK_HEADER_SIZE;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.BLOCK_SIZE;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.END;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.HEADER_SIZE;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.MAGIC;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.NULL_TIME;
+import static com.lucian.urlshortener.snapshot.SnapshotFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streams mappings to a channel in the {@link SnapshotFormat}. {@link #finish()} writes the end
+ * marker; closing without it leaves a snapshot that readers reject as truncated. The channel is
+ * not closed.
+ */
+public class SnapshotWriter implements AutoCloseable {
+
+  private final WritableByteChannel channel;
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final CRC32 crc = new CRC32();
+  private ByteBuffer raw = ByteBuffer.allocate(BLOCK_SIZE);
+  private ByteBuffer compressed = ByteBuffer.allocate(BLOCK_HEADER_SIZE + BLOCK_SIZE / 2);
+  private long count;
+
+  public SnapshotWriter(WritableByteChannel channel) {
+    this.channel = channel;
+    writeFully(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip());
+  }
+
+  public void write(UrlMapping mapping) {
+    byte[] alias = mapping.getAlias().getBytes(UTF_8);
+    byte[] fullUrl = mapping.getFullUrl().getBytes(UTF_8);
+    int size = 2 * Integer.BYTES + alias.length + fullUrl.length + 3 * Long.BYTES + 5;
+    if (raw.remaining() < size) {
+      flushBlock();
+      if (raw.capacity() < size) {
+        raw = ByteBuffer.allocate(size);
+      }
+    }
+    raw.putInt(alias.length).put(alias);
+    raw.putInt(fullUrl.length).put(fullUrl);
+    LocalDateTime createdAt = mapping.getCreatedAt();
+    raw.putLong(createdAt == null ? NULL_TIME : createdAt.toEpochSecond(ZoneOffset.UTC));
+    LocalDateTime expiresAt = mapping.getExpiresAt();
+    if (expiresAt == null) {
+      raw.putLong(NULL_TIME);
+    } else {
+      raw.putLong(expiresAt.toEpochSecond(ZoneOffset.UTC)).putInt(expiresAt.getNano());
+    }
+    Long urlHash = mapping.getUrlHash();
+    raw.put((byte) (urlHash == null ? 0 : 1));
+    if (urlHash != null) {
+      raw.putLong(urlHash);
+    }
+    count++;
+  }
+
+  /** Writes the last block and the end marker, and returns the number of mappings written. */
+  public long finish() {
+    flushBlock();
+    writeFully(ByteBuffer.allocate(Integer.BYTES + Long.BYTES).putInt(END).putLong(count).flip());
+    return count;
+  }
+
+  @Override
+  public void close() {
+    deflater.end();
+  }
+
+  private void flushBlock() {
+    raw.flip();
+    int rawLength = raw.remaining();
+    if (rawLength == 0) {
+      raw.clear();
+      return;
+    }
+    crc.reset();
+    crc.update(raw.duplicate());
+    deflater.reset();
+    deflater.setInput(raw);
+    deflater.finish();
+    compressed.clear().position(BLOCK_HEADER_SIZE);
+    while (!deflater.finished()) {
+      if (!compressed.hasRemaining()) {
+        compressed = ByteBuffer.allocate(compressed.capacity() * 2).put(compressed.flip());
+      }
+      deflater.deflate(compressed);
+    }
+    compressed.flip();
+    compressed
+        .putInt(0, rawLength)
+        .putInt(Integer.BYTES, compressed.limit() - BLOCK_HEADER_SIZE)
+        .putInt(2 * Integer.BYTES, (int) crc.getValue());
+    writeFully(compressed);
+    raw.clear();
+  }
+
+  private void writeFully(ByteBuffer buffer) {
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write snapshot", e);
+    }
+  }
+}
@@ -11,7 +11,8 @@ import static com.lucian.urlshortener.exception.InvalidAliasException.Reason.*;
 
 @Slf4j
 public final class AliasValidator {
-  public static final Set<String> RESERVED_ALIAS = Set.of("urls", "shorten");
+  public static final Set<String> RESERVED_ALIAS =
+      Set.of("urls", "shorten", "actuator", "error", "h2-console");
 
   private static final Pattern VALID_ALIAS = Pattern.compile("^[A-Za-z0-9_-]+$");
   private static final int MIN_LEN = 3;
@@ -22,22 +23,54 @@ public final class AliasValidator {
   }
 
   public static void validateOrThrow(String alias) {
-    log.info("Validating custom alias: {}", alias);
+    validate(alias).orElseThrow();
+  }
+
+  /** Checks a custom alias, reporting a broken rule as a failed result rather than throwing. */
+  public static Result<String> validate(String alias) {
+    log.debug("Validating custom alias: {}", alias);
     if (alias == null) {
-      throw new InvalidAliasException(NULL_ALIAS, "null");
+      return Result.badRequest(new InvalidAliasException(NULL_ALIAS, "null"));
     }
     if (RESERVED_ALIAS.contains(alias.toLowerCase())) {
-      throw new ReservedAliasException(alias);
+      return Result.badRequest(new ReservedAliasException(alias));
     }
     int len = alias.length();
     if (len < MIN_LEN) {
-      throw new InvalidAliasException(TOO_SHORT, alias);
+      return Result.badRequest(new InvalidAliasException(TOO_SHORT, alias));
     }
     if (len > MAX_LEN) {
-      throw new InvalidAliasException(TOO_LONG, alias);
+      return Result.badRequest(new InvalidAliasException(TOO_LONG, alias));
     }
     if (!VALID_ALIAS.matcher(alias).matches()) {
-      throw new InvalidAliasException(INVALID_CHARACTERS, alias);
+      return Result.badRequest(new InvalidAliasException(INVALID_CHARACTERS, alias));
+    }
+    return Result.ok(alias);
+  }
+
+  /** Same rules as {@link #validateOrThrow(String)}, without logging, regex or exceptions. */
+  public static boolean isValid(String alias) {
+    int len = alias.length();
+    if (len < MIN_LEN || len > MAX_LEN) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      char c = alias.charAt(i);
+      boolean allowed =
+          (c >= 'a' && c <= 'z')
+              || (c >= 'A' && c <= 'Z')
+              || (c >= '0' && c <= '9')
+              || c == '-'
+              || c == '_';
+      if (!allowed) {
+        return false;
+      }
+    }
+    for (String reserved : RESERVED_ALIAS) {
+      if (reserved.equalsIgnoreCase(alias)) {
+        return false;
+      }
     }
+    return true;
   }
 }
\ No newline at end of file
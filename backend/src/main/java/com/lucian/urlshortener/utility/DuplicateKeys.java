@@ -0,0 +1,32 @@
+package com.lucian.urlshortener.utility;
+
+import java.sql.SQLException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+public final class DuplicateKeys {
+
+  /** SQLSTATE of a unique or primary key violation, in H2 and PostgreSQL alike. */
+  private static final String UNIQUE_VIOLATION = "23505";
+
+  private DuplicateKeys() {
+    // Default constructor
+  }
+
+  /**
+   * Whether the failed write hit a key that is already stored, as opposed to another integrity
+   * problem such as a value too long for its column. JDBC writes report this as a {@link
+   * DuplicateKeyException}; writes through JPA only carry it in the SQL state of the cause.
+   */
+  public static boolean isDuplicateKey(DataIntegrityViolationException e) {
+    if (e instanceof DuplicateKeyException) {
+      return true;
+    }
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
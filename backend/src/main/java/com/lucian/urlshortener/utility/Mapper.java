@@ -1,6 +1,8 @@
 package com.lucian.urlshortener.utility;
 
+import com.lucian.urlshortener.dto.ClickStatsResponse;
 import com.lucian.urlshortener.dto.UrlResponse;
+import com.lucian.urlshortener.entity.ClickStats;
 import com.lucian.urlshortener.entity.UrlMapping;
 
 public class Mapper {
@@ -8,11 +10,25 @@ public class Mapper {
     // Default constructor
   }
 
-  public static UrlResponse toUrlResponse(UrlMapping mapping) {
+  public static UrlResponse toUrlResponse(UrlMapping mapping, String baseUrl) {
     return UrlResponse.builder()
         .alias(mapping.getAlias())
         .fullUrl(mapping.getFullUrl())
-        .shortUrl(mapping.getShortUrl())
+        .shortUrl(toShortUrl(baseUrl, mapping.getAlias()))
+        .expiresAt(mapping.getExpiresAt())
+        .build();
+  }
+
+  /** The short URL is not stored; it is always {@code baseUrl/alias}. */
+  public static String toShortUrl(String baseUrl, String alias) {
+    return baseUrl.endsWith("/") ? baseUrl + alias : baseUrl + "/" + alias;
+  }
+
+  public static ClickStatsResponse toClickStatsResponse(ClickStats stats) {
+    return ClickStatsResponse.builder()
+        .alias(stats.getAlias())
+        .clicks(stats.getClickCount())
+        .lastClickedAt(stats.getLastClickedAt())
         .build();
   }
 }
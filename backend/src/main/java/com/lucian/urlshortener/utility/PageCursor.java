@@ -0,0 +1,44 @@
+package com.lucian.urlshortener.utility;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.exception.InvalidPageRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a listing: the sort key of the last row a client has seen. Encoded as
+ * URL-safe base64 of {@code createdAt|alias}; aliases cannot contain {@code |}.
+ */
+public record PageCursor(LocalDateTime createdAt, String alias) {
+
+  private static final String SEPARATOR = "|";
+
+  public static PageCursor of(UrlMapping mapping) {
+    return new PageCursor(mapping.getCreatedAt(), mapping.getAlias());
+  }
+
+  public String encode() {
+    String raw = (createdAt == null ? "" : createdAt.toString()) + SEPARATOR + alias;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static PageCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+      }
+      String createdAt = raw.substring(0, separator);
+      return new PageCursor(
+          createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+          raw.substring(separator + 1));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.lucian.urlshortener.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Draws aliases from a set of independently seeded DRBG instances, picked by thread id, so
+ * concurrent creates do not queue on a single random source. Random bytes are pulled in bulk and
+ * mapped onto the alphabet through a lookup table; 6-bit values past the alphabet are rejected
+ * rather than reduced modulo 62, which keeps every symbol equally likely.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.alias.generator", havingValue = "random", matchIfMissing = true)
+public final class RandomAliasGenerator implements AliasGenerator {
+
+  private static final byte[] SYMBOLS = ALPHABET.getBytes(StandardCharsets.US_ASCII);
+  private static final int SYMBOL_MASK = 0x3F;
+  private static final int POOL_SIZE = 512;
+
+  private final Stripe[] stripes;
+  private final int stripeMask;
+
+  @Autowired
+  public RandomAliasGenerator(@Value("${app.alias.length:7}") int length) {
+    this(length, Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  RandomAliasGenerator(int length, int concurrency) {
+    if (length < 1) {
+      throw new IllegalArgumentException("Alias length must be positive");
+    }
+    int count = concurrency <= 1 ? 1 : Integer.highestOneBit(concurrency - 1) << 1;
+    this.stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe(length);
+    }
+    this.stripeMask = count - 1;
+  }
+
+  @Override
+  public String generate() {
+    Stripe stripe = stripes[(int) Thread.currentThread().threadId() & stripeMask];
+    stripe.lock.lock();
+    try {
+      return stripe.next();
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  int stripeCount() {
+    return stripes.length;
+  }
+
+  private static SecureRandom newSecureRandom() {
+    try {
+      // DRBG instances are independent and never block once seeded, unlike NativePRNG, whose
+      // instances all share one locked reader of /dev/urandom.
+      return SecureRandom.getInstance("DRBG");
+    } catch (NoSuchAlgorithmException e) {
+      log.warn("DRBG SecureRandom unavailable, falling back to the platform default");
+      return new SecureRandom();
+    }
+  }
+
+  private static final class Stripe {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SecureRandom random = newSecureRandom();
+    private final byte[] pool = new byte[POOL_SIZE];
+    private final byte[] alias;
+    private int position = POOL_SIZE;
+
+    private Stripe(int length) {
+      this.alias = new byte[length];
+    }
+
+    private String next() {
+      int i = 0;
+      while (i < alias.length) {
+        if (position == POOL_SIZE) {
+          random.nextBytes(pool);
+          position = 0;
+        }
+        int value = pool[position++] & SYMBOL_MASK;
+        if (value < SYMBOLS.length) {
+          alias[i++] = SYMBOLS[value];
+        }
+      }
+      return new String(alias, StandardCharsets.ISO_8859_1);
+    }
+  }
+}
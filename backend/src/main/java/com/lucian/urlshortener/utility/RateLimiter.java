@@ -0,0 +1,110 @@
+package com.lucian.urlshortener.utility;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets refilled at {@code permitsPerSecond} and holding up to {@code burst}
+ * permits. Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again (the generic cell rate algorithm), so taking a permit is one read and one CAS, with no
+ * lock and no allocation for a known key.
+ *
+ * <p>Buckets live in {@value #STRIPES} maps, each bounded to its share of {@code maxKeys}. A bucket
+ * that has refilled completely holds nothing a new one would not, so when a map is full those
+ * idle buckets are dropped first. If that frees less than a quarter of the map, which takes close
+ * to {@code maxKeys} active keys, other buckets are dropped until it does and their keys start
+ * over with a full bucket. Freeing a quarter at a time keeps the scan to a few steps per new key.
+ */
+public final class RateLimiter {
+
+  static final int STRIPES = 64;
+
+  private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+  private final int stripeCapacity;
+  private final long interval;
+  private final long tolerance;
+  private final LongSupplier clock;
+
+  public RateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+    this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+  }
+
+  @SuppressWarnings("unchecked")
+  RateLimiter(double permitsPerSecond, int burst, int maxKeys, LongSupplier clock) {
+    if (permitsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+      throw new IllegalArgumentException(
+          "Rate limit needs a positive rate, burst and key count: "
+              + permitsPerSecond
+              + "/s, burst "
+              + burst
+              + ", "
+              + maxKeys
+              + " keys");
+    }
+    this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    this.tolerance = (burst - 1) * interval;
+    this.stripeCapacity = Math.max(1, maxKeys / STRIPES);
+    this.clock = clock;
+    this.stripes = new ConcurrentHashMap[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * Takes a permit for the key. Returns 0 when one was available, otherwise the nanoseconds until
+   * the next one is; nothing is taken in that case.
+   */
+  public long tryAcquire(String key) {
+    long now = clock.getAsLong();
+    AtomicLong bucket = bucket(key, now);
+    while (true) {
+      long full = bucket.get();
+      long from = full - now > 0 ? full : now;
+      long wait = from - now - tolerance;
+      if (wait > 0) {
+        return wait;
+      }
+      if (bucket.compareAndSet(full, from + interval)) {
+        return 0;
+      }
+    }
+  }
+
+  /** Number of keys with a bucket. */
+  public int size() {
+    int size = 0;
+    for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  private AtomicLong bucket(String key, long now) {
+    int hash = key.hashCode();
+    ConcurrentHashMap<String, AtomicLong> stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    AtomicLong bucket = stripe.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    if (stripe.size() >= stripeCapacity) {
+      evict(stripe, now);
+    }
+    bucket = new AtomicLong(now);
+    AtomicLong raced = stripe.putIfAbsent(key, bucket);
+    return raced != null ? raced : bucket;
+  }
+
+  private void evict(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+    stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+    int target = stripeCapacity - Math.max(1, stripeCapacity / 4);
+    Iterator<AtomicLong> buckets = stripe.values().iterator();
+    while (stripe.size() > target && buckets.hasNext()) {
+      buckets.next();
+      buckets.remove();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.lucian.urlshortener.utility;
+
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of a validation or lookup that can fail in an expected way: either a value, or the
+ * exception describing the failure together with the status to answer with. On this path the
+ * exception is only created, never thrown, and expected-failure exceptions skip stack trace
+ * capture, so a bad request costs one small allocation instead of a stack walk and exception
+ * handler dispatch. {@link #orElseThrow()} bridges to the throwing API.
+ */
+public sealed interface Result<T> {
+
+  record Ok<T>(T value) implements Result<T> {}
+
+  record Failure<T>(HttpStatus status, RuntimeException error) implements Result<T> {
+
+    /** The failure as a result of another type; it carries no value, so nothing is converted. */
+    @SuppressWarnings("unchecked")
+    public <U> Failure<U> cast() {
+      return (Failure<U>) this;
+    }
+  }
+
+  static <T> Result<T> ok(T value) {
+    return new Ok<>(value);
+  }
+
+  static <T> Result<T> failure(HttpStatus status, RuntimeException error) {
+    return new Failure<>(status, error);
+  }
+
+  static <T> Result<T> badRequest(RuntimeException error) {
+    return new Failure<>(HttpStatus.BAD_REQUEST, error);
+  }
+
+  default T orElseThrow() {
+    return switch (this) {
+      case Ok<T> ok -> ok.value();
+      case Failure<T> failure -> throw failure.error();
+    };
+  }
+
+  default <U> Result<U> flatMap(Function<? super T, Result<U>> next) {
+    return switch (this) {
+      case Ok<T> ok -> next.apply(ok.value());
+      case Failure<T> failure -> failure.cast();
+    };
+  }
+}
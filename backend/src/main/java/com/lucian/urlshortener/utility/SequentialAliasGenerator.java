@@ -0,0 +1,152 @@
+package com.lucian.urlshortener.utility;
+
+import com.lucian.urlshortener.service.AliasBlockAllocator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives aliases from a persistent sequence instead of drawing them at random. Ids are reserved
+ * in blocks (hi/lo), pushed through a keyed Feistel permutation of {@code [0, 62^length)} so
+ * consecutive ids do not produce neighbouring aliases, then base62-encoded at a fixed width.
+ * Because the permutation is a bijection, two ids can never map to the same alias.
+ *
+ * <p>A block is a lease on a range of the shared sequence, so several instances allocate aliases
+ * independently. Once half of the current block is used the next one is reserved in the
+ * background, and {@link #generate()} does not wait on the database in the steady state.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.alias.generator", havingValue = "sequence")
+public final class SequentialAliasGenerator implements AliasGenerator {
+
+  private static final int BASE = ALPHABET.length();
+  private static final int MAX_LENGTH = 10;
+  private static final int ROUNDS = 4;
+  private static final Executor PREFETCHER =
+      task -> Thread.ofVirtual().name("alias-block-prefetch").start(task);
+
+  private final AliasBlockAllocator aliasBlockAllocator;
+  private final int length;
+  private final int blockSize;
+  private final long capacity;
+  private final int halfBits;
+  private final long halfMask;
+  private final long[] roundKeys = new long[ROUNDS];
+  private final ReentrantLock lock = new ReentrantLock();
+  private long next;
+  private long limit;
+  private CompletableFuture<Long> nextBlock;
+
+  public SequentialAliasGenerator(
+      AliasBlockAllocator aliasBlockAllocator,
+      @Value("${app.alias.length:7}") int length,
+      @Value("${app.alias.sequence.block-size:1000}") int blockSize,
+      @Value("${app.alias.sequence.secret}") long secret) {
+    if (length < 1 || length > MAX_LENGTH) {
+      throw new IllegalArgumentException(
+          String.format("Sequential aliases must be 1 to %d characters long", MAX_LENGTH));
+    }
+    this.aliasBlockAllocator = aliasBlockAllocator;
+    this.length = length;
+    this.blockSize = blockSize;
+    long space = 1;
+    for (int i = 0; i < length; i++) {
+      space *= BASE;
+    }
+    this.capacity = space;
+    int bits = Long.SIZE - Long.numberOfLeadingZeros(capacity - 1);
+    this.halfBits = (bits + 1) / 2;
+    this.halfMask = (1L << halfBits) - 1;
+    long state = secret;
+    for (int i = 0; i < ROUNDS; i++) {
+      state += 0x9e3779b97f4a7c15L;
+      roundKeys[i] = mix(state);
+    }
+  }
+
+  @Override
+  public String generate() {
+    while (true) {
+      String alias = encode(scramble(nextId()));
+      if (!AliasValidator.RESERVED_ALIAS.contains(alias.toLowerCase())) {
+        return alias;
+      }
+    }
+  }
+
+  long scramble(long id) {
+    long value = id;
+    do {
+      value = permute(value);
+    } while (value >= capacity);
+    return value;
+  }
+
+  private long nextId() {
+    lock.lock();
+    try {
+      if (next == limit) {
+        next = takeBlock();
+        limit = next + blockSize;
+      }
+      long id = next++;
+      if (nextBlock == null && limit - next <= blockSize / 2) {
+        nextBlock =
+            CompletableFuture.supplyAsync(
+                () -> aliasBlockAllocator.reserveBlock(blockSize), PREFETCHER);
+      }
+      if (id >= capacity) {
+        throw new IllegalStateException(
+            String.format("Alias keyspace of length %d is exhausted", length));
+      }
+      return id;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long takeBlock() {
+    CompletableFuture<Long> prefetched = nextBlock;
+    nextBlock = null;
+    if (prefetched != null) {
+      try {
+        return prefetched.join();
+      } catch (CompletionException e) {
+        log.warn("Prefetching the next alias block failed, reserving it now", e.getCause());
+      }
+    }
+    return aliasBlockAllocator.reserveBlock(blockSize);
+  }
+
+  private long permute(long value) {
+    long left = value >>> halfBits;
+    long right = value & halfMask;
+    for (long key : roundKeys) {
+      long previous = right;
+      right = left ^ (mix(right ^ key) & halfMask);
+      left = previous;
+    }
+    return (left << halfBits) | right;
+  }
+
+  private String encode(long value) {
+    char[] chars = new char[length];
+    for (int i = length - 1; i >= 0; i--) {
+      chars[i] = ALPHABET.charAt((int) (value % BASE));
+      value /= BASE;
+    }
+    return new String(chars);
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
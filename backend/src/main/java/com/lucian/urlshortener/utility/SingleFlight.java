@@ -0,0 +1,61 @@
+package com.lucian.urlshortener.utility;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Runs at most one load per key at a time. A caller that asks for a key while another caller is
+ * loading it waits for that load and gets its outcome: the same value, {@code null}, or the same
+ * exception. Nothing is kept once a load completes, so the next caller after it loads again;
+ * keeping results is the job of the cache in front.
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Runnable onShared;
+
+  /** {@code onShared} runs once for every caller that waits on another caller's load. */
+  public SingleFlight(Runnable onShared) {
+    this.onShared = onShared;
+  }
+
+  public V load(K key, Function<? super K, ? extends V> loader) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      onShared.run();
+      return await(running);
+    }
+    try {
+      V value = loader.apply(key);
+      call.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  /** Number of keys being loaded right now. */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
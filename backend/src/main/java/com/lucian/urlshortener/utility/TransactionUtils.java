@@ -0,0 +1,29 @@
+package com.lucian.urlshortener.utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+  private TransactionUtils() {
+    // Default constructor
+  }
+
+  /**
+   * Runs the action once the surrounding transaction commits, or straight away when there is no
+   * transaction in progress.
+   */
+  public static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -3,17 +3,33 @@ package com.lucian.urlshortener.utility;
 import com.lucian.urlshortener.exception.InvalidUrlException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class UrlUtils {
 
+  /** Longest normalized URL accepted, and the width of the stored column. */
+  public static final int MAX_URL_LENGTH = 2048;
+
   private UrlUtils() {
     // Default constructor
   }
 
   public static String normalizeAndValidateUrl(String url) {
-    log.info("Normalizing and validating URL: {}", url);
+    return normalizeUrl(url).orElseThrow();
+  }
+
+  /**
+   * Adds a missing {@code https} scheme and checks the URL has a host and an HTTP(S) scheme and
+   * fits in {@link #MAX_URL_LENGTH}, reporting an invalid URL as a failed result rather than
+   * throwing.
+   */
+  public static Result<String> normalizeUrl(String url) {
+    log.debug("Normalizing and validating URL: {}", url);
     try {
       URI uri = new URI(url);
       if (uri.getScheme() == null) {
@@ -21,17 +37,45 @@ public class UrlUtils {
       }
       if (uri.getHost() == null) {
         log.error("URL must include a host: {}", url);
-        throw new InvalidUrlException("URL must include a host: " + url);
+        return Result.badRequest(new InvalidUrlException("URL must include a host: " + url));
       }
       String scheme = uri.getScheme().toLowerCase();
       if (!scheme.equals("http") && !scheme.equals("https")) {
         log.error("Unsupported URL scheme: {}", scheme);
-        throw new InvalidUrlException("Unsupported URL scheme: " + scheme);
+        return Result.badRequest(new InvalidUrlException("Unsupported URL scheme: " + scheme));
       }
-      return uri.toString();
+      String normalized = uri.toString();
+      if (normalized.length() > MAX_URL_LENGTH) {
+        log.error("URL is longer than {} characters", MAX_URL_LENGTH);
+        return Result.badRequest(
+            new InvalidUrlException(
+                "URL must be at most " + MAX_URL_LENGTH + " characters long"));
+      }
+      return Result.ok(normalized);
     } catch (URISyntaxException e) {
-      log.error("Invalid URL syntax: {}", url, e);
-      throw new InvalidUrlException("Invalid URL", e);
+      // The reason is kept as the cause; printing its trace for every bad input is not worth it
+      log.error("Invalid URL syntax: {}", url);
+      return Result.badRequest(new InvalidUrlException("Invalid URL", e));
+    }
+  }
+
+  /**
+   * Encodes a stored URL, already normalized by {@link #normalizeAndValidateUrl(String)}, the way
+   * it has to appear in a {@code Location} header: non-ASCII characters percent-encoded.
+   */
+  public static String toLocationHeader(String url) {
+    return URI.create(url).toASCIIString();
+  }
+
+  /** Compact 64-bit fingerprint of a normalized URL: the first 8 bytes of its SHA-256. */
+  public static long hash(String normalizedUrl) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest(normalizedUrl.getBytes(StandardCharsets.UTF_8));
+      return ByteBuffer.wrap(digest).getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
     }
   }
 }
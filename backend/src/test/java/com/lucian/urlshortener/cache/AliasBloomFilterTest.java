@@ -0,0 +1,61 @@
+package com.lucian.urlshortener.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AliasBloomFilterTest {
+
+  AliasBloomFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter = new AliasBloomFilter(10_000, 0.01);
+  }
+
+  @Test
+  void mightContain_beforeLoaded_alwaysTrue() {
+    assertThat(filter.mightContain("anything")).isTrue();
+  }
+
+  @Test
+  void mightContain_addedAliases_neverFalseNegative() {
+    IntStream.range(0, 10_000).forEach(i -> filter.add("alias" + i));
+    filter.markLoaded();
+
+    assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("alias" + i));
+  }
+
+  @Test
+  void mightContain_unknownAliases_falsePositiveRateWithinBound() {
+    IntStream.range(0, 10_000).forEach(i -> filter.add("alias" + i));
+    filter.markLoaded();
+
+    long falsePositives =
+        IntStream.range(0, 100_000).filter(i -> filter.mightContain("unknown" + i)).count();
+
+    assertThat(falsePositives).isLessThan(2_000);
+  }
+
+  @Test
+  void remove_afterLoaded_forgetsAlias() {
+    filter.markLoaded();
+    filter.add("myAlias");
+    assertThat(filter.mightContain("myAlias")).isTrue();
+
+    filter.remove("myAlias");
+
+    assertThat(filter.mightContain("myAlias")).isFalse();
+  }
+
+  @Test
+  void remove_beforeLoaded_isIgnored() {
+    filter.add("myAlias");
+    filter.remove("myAlias");
+    filter.markLoaded();
+
+    assertThat(filter.mightContain("myAlias")).isTrue();
+  }
+}
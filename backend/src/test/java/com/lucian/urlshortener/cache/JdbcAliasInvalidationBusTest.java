@@ -0,0 +1,134 @@
+package com.lucian.urlshortener.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.lucian.urlshortener.entity.AliasInvalidation;
+import com.lucian.urlshortener.repo.AliasInvalidationRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class JdbcAliasInvalidationBusTest {
+
+  AliasInvalidationRepository repository = mock(AliasInvalidationRepository.class);
+  AliasCache aliasCache = new CaffeineAliasCache(100, Duration.ofMinutes(10));
+  AtomicLong clock = new AtomicLong();
+  JdbcAliasInvalidationBus bus;
+
+  @BeforeEach
+  void setUp() {
+    when(repository.findMaxId()).thenReturn(10L);
+    bus =
+        new JdbcAliasInvalidationBus(
+            repository, aliasCache, Duration.ofSeconds(30), Duration.ofMinutes(10), clock::get);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void publish_appendsOneRowPerAlias() {
+    bus.publish(List.of("a", "b"));
+
+    ArgumentCaptor<List<AliasInvalidation>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).saveAll(captor.capture());
+    assertThat(captor.getValue())
+        .extracting(AliasInvalidation::getAlias)
+        .containsExactly("a", "b");
+    assertThat(captor.getValue()).allSatisfy(row -> assertThat(row.getCreatedAt()).isNotNull());
+  }
+
+  @Test
+  void poll_evictsRowsAfterTheLastSeenId() {
+    aliasCache.put("gone", RedirectTarget.of("https://example.com", null));
+    aliasCache.put("kept", RedirectTarget.of("https://example.com", null));
+    when(repository.findByIdGreaterThanOrderByIdAsc(10)).thenReturn(List.of(row(11, "gone")));
+
+    assertThat(bus.poll()).isEqualTo(1);
+    assertThat(bus.poll()).isZero();
+
+    assertThat(aliasCache.get("gone")).isNull();
+    assertThat(aliasCache.get("kept")).isNotNull();
+    verify(repository).findByIdGreaterThanOrderByIdAsc(11);
+    verify(repository, never()).findByIdIn(anyCollection());
+  }
+
+  @Test
+  void poll_evictsSkippedIdOnceItCommits() {
+    aliasCache.put("late", RedirectTarget.of("https://example.com", null));
+    when(repository.findByIdGreaterThanOrderByIdAsc(10)).thenReturn(List.of(row(12, "early")));
+    when(repository.findByIdIn(List.of(11L)))
+        .thenReturn(List.of())
+        .thenReturn(List.of(row(11, "late")));
+
+    bus.poll();
+    assertThat(bus.poll()).isZero();
+    assertThat(aliasCache.get("late")).isNotNull();
+
+    assertThat(bus.poll()).isEqualTo(1);
+    assertThat(aliasCache.get("late")).isNull();
+    bus.poll();
+    verify(repository, times(2)).findByIdIn(anyCollection());
+  }
+
+  @Test
+  void poll_givesUpOnSkippedIdAfterGapTimeout() {
+    when(repository.findByIdGreaterThanOrderByIdAsc(10)).thenReturn(List.of(row(12, "early")));
+
+    bus.poll();
+    clock.addAndGet(Duration.ofSeconds(30).toMillis());
+    bus.poll();
+    bus.poll();
+
+    verify(repository).findByIdIn(List.of(11L));
+  }
+
+  @Test
+  void poll_emptyTableAtStartup_doesNotWaitForEarlierIds() {
+    when(repository.findMaxId()).thenReturn(null);
+    JdbcAliasInvalidationBus emptyBus =
+        new JdbcAliasInvalidationBus(
+            repository, aliasCache, Duration.ofSeconds(30), Duration.ofMinutes(10), clock::get);
+    when(repository.findByIdGreaterThanOrderByIdAsc(0)).thenReturn(List.of(row(5000, "first")));
+
+    emptyBus.poll();
+    emptyBus.poll();
+
+    verify(repository).findByIdGreaterThanOrderByIdAsc(5000);
+    verify(repository, never()).findByIdIn(anyCollection());
+  }
+
+  @Test
+  void poll_waitsForAtMostMaxGapSkippedIds() {
+    long next = 10 + JdbcAliasInvalidationBus.MAX_GAP * 3L;
+    when(repository.findByIdGreaterThanOrderByIdAsc(10)).thenReturn(List.of(row(next, "far")));
+
+    bus.poll();
+    bus.poll();
+
+    ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.captor();
+    verify(repository).findByIdIn(ids.capture());
+    assertThat(ids.getValue()).hasSize(JdbcAliasInvalidationBus.MAX_GAP).contains(next - 1);
+  }
+
+  @Test
+  void prune_deletesRowsOlderThanRetention() {
+    when(repository.deleteCreatedBefore(any(LocalDateTime.class))).thenReturn(3);
+
+    assertThat(bus.prune()).isEqualTo(3);
+
+    ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(repository).deleteCreatedBefore(before.capture());
+    assertThat(before.getValue()).isBefore(LocalDateTime.now().minusMinutes(9));
+  }
+
+  private static AliasInvalidation row(long id, String alias) {
+    return AliasInvalidation.builder().id(id).alias(alias).createdAt(LocalDateTime.now()).build();
+  }
+}
@@ -0,0 +1,117 @@
+package com.lucian.urlshortener.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class OffHeapAliasCacheTest {
+
+  AtomicLong now = new AtomicLong(1_000_000);
+  OffHeapAliasCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new OffHeapAliasCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10), now::get);
+  }
+
+  @Test
+  void get_afterPut_returnsTarget() {
+    RedirectTarget target = new RedirectTarget("https://example.com/caf%C3%A9?q=1", 1234L);
+
+    cache.put("myAlias", target);
+
+    assertThat(cache.get("myAlias")).isEqualTo(target);
+    assertThat(cache.get("myAlia")).isNull();
+    assertThat(cache.get("myAliasX")).isNull();
+  }
+
+  @Test
+  void put_existingAlias_replacesTarget() {
+    cache.put("myAlias", RedirectTarget.of("https://example.com/old", null));
+    cache.put("myAlias", RedirectTarget.of("https://example.com/new", null));
+
+    assertThat(cache.get("myAlias").location()).isEqualTo("https://example.com/new");
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void invalidate_removesOnlyThatAlias() {
+    IntStream.range(0, 1_000).forEach(i -> cache.put("alias" + i, target(i)));
+
+    IntStream.range(0, 1_000).filter(i -> i % 2 == 0).forEach(i -> cache.invalidate("alias" + i));
+
+    // Removing slots must not cut off the probe runs of the aliases that remain
+    assertThat(IntStream.range(0, 1_000))
+        .allMatch(i -> (cache.get("alias" + i) != null) == (i % 2 == 1));
+    assertThat(cache.size()).isEqualTo(500);
+  }
+
+  @Test
+  void get_afterTtl_misses() {
+    cache.put("myAlias", RedirectTarget.of("https://example.com", null));
+
+    now.addAndGet(Duration.ofMinutes(10).toMillis());
+
+    assertThat(cache.get("myAlias")).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void put_beyondBudget_evictsOldestAndStaysWithinBudget() {
+    IntStream.range(0, 100_000).forEach(i -> cache.put("alias" + i, target(i)));
+
+    assertThat(cache.usedBytes()).isLessThanOrEqualTo(DataSize.ofMegabytes(1).toBytes());
+    assertThat(cache.size()).isBetween(1_000L, 100_000L);
+    assertThat(cache.stats().evictionCount()).isEqualTo(100_000 - cache.size());
+    assertThat(cache.get("alias99999")).isEqualTo(target(99_999));
+    assertThat(cache.get("alias0")).isNull();
+  }
+
+  @Test
+  void put_beyondBudget_keepsAliasesReadSinceWritten() {
+    IntStream.range(0, 100).forEach(i -> cache.put("hot" + i, target(i)));
+    for (int i = 0; i < 100_000; i++) {
+      cache.put("cold" + i, target(i));
+      if (i % 1_000 == 0) {
+        IntStream.range(0, 100).forEach(hot -> cache.get("hot" + hot));
+      }
+    }
+
+    assertThat(IntStream.range(0, 100)).allMatch(i -> target(i).equals(cache.get("hot" + i)));
+  }
+
+  @Test
+  void put_largerThanStripe_isNotCached() {
+    cache.put("huge", RedirectTarget.of("https://example.com/" + "x".repeat(100_000), null));
+
+    assertThat(cache.get("huge")).isNull();
+  }
+
+  @Test
+  void stats_countsHitsAndMisses() {
+    cache.put("myAlias", RedirectTarget.of("https://example.com", null));
+
+    cache.get("myAlias");
+    cache.get("unknown");
+
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+    assertThat(cache.stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void constructor_budgetTooSmall_throws() {
+    assertThatThrownBy(
+            () -> new OffHeapAliasCache(DataSize.ofKilobytes(16), Duration.ofMinutes(10)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static RedirectTarget target(int i) {
+    return new RedirectTarget("https://example.com/some/longer/path/" + i, RedirectTarget.NEVER);
+  }
+}
@@ -0,0 +1,52 @@
+package com.lucian.urlshortener.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.lucian.urlshortener.cache.JdbcAliasInvalidationBus;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import com.lucian.urlshortener.entity.AliasInvalidation;
+import com.lucian.urlshortener.repo.AliasInvalidationRepository;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the controller suite with the settings of a multi-instance deployment: invalidations go
+ * through the database change-log and the alias filter is off.
+ */
+@TestPropertySource(
+    properties = {
+      "app.cluster.invalidation=jdbc",
+      "app.alias-filter.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:clusterdb;DB_CLOSE_DELAY=-1"
+    })
+class ClusterModeUrlShortenerControllerTest extends UrlShortenerControllerTest {
+
+  @Autowired JdbcAliasInvalidationBus aliasInvalidationBus;
+  @Autowired AliasInvalidationRepository aliasInvalidationRepository;
+
+  @Test
+  void poll_EvictsAliasDeletedByAnotherInstance() {
+    aliasCache.put(alias, RedirectTarget.of(fullUrl, null));
+    aliasInvalidationRepository.save(
+        AliasInvalidation.builder().alias(alias).createdAt(LocalDateTime.now()).build());
+
+    assertThat(aliasInvalidationBus.poll()).isEqualTo(1);
+
+    assertThat(aliasCache.get(alias)).isNull();
+  }
+
+  @Test
+  void deleteByAlias_AppendsInvalidation() throws Exception {
+    urlMappingStore.save(urlMapping);
+
+    mockMvc.perform(delete("/" + alias)).andExpect(status().isNoContent());
+
+    assertThat(aliasInvalidationRepository.findAll())
+        .extracting(AliasInvalidation::getAlias)
+        .containsExactly(alias);
+  }
+}
@@ -0,0 +1,56 @@
+package com.lucian.urlshortener.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Sends requests through a running server with the cluster profile, the way nginx forwards them,
+ * so the client address comes from {@code X-Forwarded-For} rather than from the load balancer.
+ * MockMvc would skip the container, which is where forwarded headers are applied.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"cluster", "test"})
+@TestPropertySource(
+    properties = {
+      "app.rate-limit.enabled=true",
+      "app.rate-limit.create.per-second=0.001",
+      "app.rate-limit.create.burst=1",
+      "app.alias.sequence.secret=12345",
+      "spring.datasource.url=jdbc:h2:mem:clusterratelimitdb;DB_CLOSE_DELAY=-1"
+    })
+class ClusterRateLimitUrlShortenerControllerTest {
+
+  @Autowired TestRestTemplate restTemplate;
+
+  @Test
+  void forwardedClients_HaveSeparateBuckets() {
+    assertThat(shorten("203.0.113.1")).isEqualTo(HttpStatus.CREATED);
+    assertThat(shorten("203.0.113.1")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+    assertThat(shorten("203.0.113.2")).isEqualTo(HttpStatus.CREATED);
+  }
+
+  private HttpStatus shorten(String forwardedFor) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("X-Forwarded-For", forwardedFor);
+    return HttpStatus.valueOf(
+        restTemplate
+            .postForEntity(
+                "/shorten",
+                new HttpEntity<>("{\"fullUrl\":\"https://www.example.com\"}", headers),
+                String.class)
+            .getStatusCode()
+            .value());
+  }
+}
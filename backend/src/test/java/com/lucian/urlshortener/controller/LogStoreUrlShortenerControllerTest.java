@@ -0,0 +1,35 @@
+package com.lucian.urlshortener.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lucian.urlshortener.repo.LogStructuredUrlMappingStore;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the whole controller suite, and with it the service, against the log-structured store.
+ * Writes to the store are not rolled back with the test transaction, so each test clears it.
+ */
+@TestPropertySource(
+    properties = {
+      "app.storage.engine=log",
+      "app.storage.log.path=target/test-store/url-mappings.log",
+      "spring.datasource.url=jdbc:h2:mem:logstoredb;DB_CLOSE_DELAY=-1"
+    })
+class LogStoreUrlShortenerControllerTest extends UrlShortenerControllerTest {
+
+  @AfterEach
+  void clearStore() {
+    List<String> aliases = new ArrayList<>();
+    urlMappingStore.forEachOrderedByAlias(mapping -> aliases.add(mapping.getAlias()));
+    urlMappingStore.deleteByAliases(aliases);
+  }
+
+  @Test
+  void storageEngine_IsLogStructured() {
+    assertThat(urlMappingStore).isInstanceOf(LogStructuredUrlMappingStore.class);
+  }
+}
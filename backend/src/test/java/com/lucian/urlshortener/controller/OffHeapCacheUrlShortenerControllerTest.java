@@ -0,0 +1,35 @@
+package com.lucian.urlshortener.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.lucian.urlshortener.cache.OffHeapAliasCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/** Runs the controller suite with redirect targets cached off-heap. */
+@TestPropertySource(
+    properties = {
+      "app.cache.alias.type=off-heap",
+      "app.cache.alias.off-heap.max-memory=1MB",
+      "spring.datasource.url=jdbc:h2:mem:offheapdb;DB_CLOSE_DELAY=-1"
+    })
+class OffHeapCacheUrlShortenerControllerTest extends UrlShortenerControllerTest {
+
+  @Test
+  void aliasCache_IsOffHeap() {
+    assertThat(aliasCache).isInstanceOf(OffHeapAliasCache.class);
+  }
+
+  @Test
+  void prometheus_ExposesOffHeapCacheMetrics() throws Exception {
+    mockMvc
+        .perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("cache_gets_total{cache=\"alias\"")))
+        .andExpect(content().string(containsString("cache_off_heap_used_bytes{cache=\"alias\"")));
+  }
+}
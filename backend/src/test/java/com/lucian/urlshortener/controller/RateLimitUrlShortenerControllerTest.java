@@ -0,0 +1,149 @@
+package com.lucian.urlshortener.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Runs requests through the per-client rate limit, with buckets that barely refill. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(
+    properties = {
+      "app.rate-limit.enabled=true",
+      "app.rate-limit.create.per-second=0.001",
+      "app.rate-limit.create.burst=2",
+      "app.rate-limit.redirect.per-second=0.001",
+      "app.rate-limit.redirect.burst=3",
+      "app.rate-limit.key-header=X-API-Key",
+      "app.rate-limit.keys=partner,other",
+      "spring.datasource.url=jdbc:h2:mem:ratelimitdb;DB_CLOSE_DELAY=-1"
+    })
+class RateLimitUrlShortenerControllerTest {
+
+  static final String SHORTEN_BODY = "{\"fullUrl\":\"https://www.example.com\"}";
+
+  @Autowired MockMvc mockMvc;
+
+  @Test
+  void createShortUrl_OverLimit_ReturnsTooManyRequests() throws Exception {
+    mockMvc.perform(shorten("10.0.0.1")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.1")).andExpect(status().isCreated());
+
+    mockMvc
+        .perform(shorten("10.0.0.1"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1000"))
+        .andExpect(jsonPath("$.status").value(429))
+        .andExpect(jsonPath("$.message").value(containsString("retry in 1000 s")))
+        .andExpect(jsonPath("$.path").value("/shorten"));
+  }
+
+  @Test
+  void createShortUrls_SharesCreateLimit() throws Exception {
+    mockMvc.perform(shorten("10.0.0.2")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.2")).andExpect(status().isCreated());
+
+    mockMvc
+        .perform(
+            post("/shorten/batch")
+                .with(remoteAddr("10.0.0.2"))
+                .contentType(APPLICATION_JSON_VALUE)
+                .content("[" + SHORTEN_BODY + "]"))
+        .andExpect(status().isTooManyRequests());
+  }
+
+  @Test
+  void redirect_OverLimit_ReturnsTooManyRequests() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      mockMvc
+          .perform(get("/unknown").with(remoteAddr("10.0.0.3")))
+          .andExpect(status().isNotFound());
+    }
+
+    mockMvc
+        .perform(get("/unknown").with(remoteAddr("10.0.0.3")))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+  }
+
+  @Test
+  void redirect_LimitIsSeparateFromCreates() throws Exception {
+    mockMvc.perform(shorten("10.0.0.4")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.4")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.4")).andExpect(status().isTooManyRequests());
+
+    mockMvc.perform(get("/unknown").with(remoteAddr("10.0.0.4"))).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void apiKey_HasItsOwnBucket() throws Exception {
+    mockMvc.perform(shorten("10.0.0.5")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.5")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.5")).andExpect(status().isTooManyRequests());
+
+    mockMvc
+        .perform(shorten("10.0.0.5").header("X-API-Key", "partner"))
+        .andExpect(status().isCreated());
+  }
+
+  @Test
+  void unknownApiKey_IsLimitedByAddress() throws Exception {
+    mockMvc.perform(shorten("10.0.0.8")).andExpect(status().isCreated());
+    mockMvc.perform(shorten("10.0.0.8")).andExpect(status().isCreated());
+
+    mockMvc
+        .perform(shorten("10.0.0.8").header("X-API-Key", "made-up"))
+        .andExpect(status().isTooManyRequests());
+  }
+
+  @Test
+  void otherRoutes_AreNotLimited() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      mockMvc.perform(get("/urls").with(remoteAddr("10.0.0.6"))).andExpect(status().isOk());
+    }
+  }
+
+  @Test
+  void prometheus_ExposesRateLimitMetrics() throws Exception {
+    mockMvc.perform(shorten("10.0.0.7"));
+    mockMvc.perform(shorten("10.0.0.7"));
+    mockMvc.perform(shorten("10.0.0.7"));
+
+    mockMvc
+        .perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("ratelimit_rejected_total{limit=\"create\"}")))
+        .andExpect(content().string(containsString("ratelimit_keys{limit=\"redirect\"}")));
+  }
+
+  private static MockHttpServletRequestBuilder shorten(String remoteAddr) {
+    return post("/shorten")
+        .with(remoteAddr(remoteAddr))
+        .contentType(APPLICATION_JSON_VALUE)
+        .content(SHORTEN_BODY);
+  }
+
+  private static RequestPostProcessor remoteAddr(String remoteAddr) {
+    return request -> {
+      request.setRemoteAddr(remoteAddr);
+      return request;
+    };
+  }
+}
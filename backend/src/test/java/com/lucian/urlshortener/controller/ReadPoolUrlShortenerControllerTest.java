@@ -0,0 +1,100 @@
+package com.lucian.urlshortener.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the controller suite with read-only transactions routed to a separate pool. The primary
+ * pool is kept small so the isolation tests can exhaust it; those run outside the test
+ * transaction, since a redirect inside it would join a read-write transaction.
+ */
+@TestPropertySource(
+    properties = {
+      "app.datasource.read.enabled=true",
+      "app.datasource.read.maximum-pool-size=4",
+      "spring.datasource.hikari.maximum-pool-size=2",
+      "spring.datasource.hikari.connection-timeout=1000",
+      "spring.datasource.url=jdbc:h2:mem:readpooldb;DB_CLOSE_DELAY=-1"
+    })
+class ReadPoolUrlShortenerControllerTest extends UrlShortenerControllerTest {
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  HikariDataSource primaryDataSource;
+
+  @Autowired
+  @Qualifier("readDataSource")
+  HikariDataSource readDataSource;
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void readOnlyTransaction_UsesReadPool() {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    readOnly.executeWithoutResult(
+        status -> {
+          urlMappingStore.existsByAlias(alias);
+          assertThat(readDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+          assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void redirect_PrimaryPoolExhaustedByWrites_IsServedFromReadPool() throws Exception {
+    List<String> aliases = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      String created = "isolated" + i;
+      urlMappingStore.insert(
+          UrlMapping.builder().alias(created).fullUrl(fullUrl + "/" + i).build());
+      aliasBloomFilter.add(created);
+      aliases.add(created);
+    }
+    List<Connection> held = new ArrayList<>();
+    try {
+      // Stand-in for a burst of creates holding every primary connection
+      for (int i = 0; i < primaryDataSource.getMaximumPoolSize(); i++) {
+        held.add(primaryDataSource.getConnection());
+      }
+      assertThatThrownBy(primaryDataSource::getConnection)
+          .isInstanceOf(SQLTransientConnectionException.class);
+
+      long slowest = 0;
+      for (int i = 0; i < aliases.size(); i++) {
+        long started = System.nanoTime();
+        mockMvc
+            .perform(get("/" + aliases.get(i)))
+            .andExpect(status().isFound())
+            .andExpect(header().string("Location", fullUrl + "/" + i));
+        slowest = Math.max(slowest, System.nanoTime() - started);
+      }
+
+      // A redirect waiting on the primary pool would take its one second connection timeout
+      assertThat(slowest).isLessThan(500_000_000L);
+    } finally {
+      for (Connection connection : held) {
+        connection.close();
+      }
+      new TransactionTemplate(transactionManager)
+          .executeWithoutResult(status -> urlMappingStore.deleteByAliases(aliases));
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.lucian.urlshortener.controller;
+
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:snapshotdisabled;DB_CLOSE_DELAY=-1",
+      "app.snapshot.http.enabled=false"
+    })
+class SnapshotControllerDisabledTest {
+
+  @Autowired MockMvc mockMvc;
+
+  @Test
+  void exportSnapshot_Disabled_ReturnsNotFound() throws Exception {
+    mockMvc
+        .perform(get(UrlShortenerControllerTest.SNAPSHOT_ENDPOINT))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void importSnapshot_Disabled_ReturnsNotFound() throws Exception {
+    mockMvc
+        .perform(
+            post(UrlShortenerControllerTest.SNAPSHOT_ENDPOINT)
+                .contentType(APPLICATION_OCTET_STREAM)
+                .content(new byte[1]))
+        .andExpect(status().isNotFound());
+  }
+}
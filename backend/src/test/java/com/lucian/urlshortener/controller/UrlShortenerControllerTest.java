@@ -1,39 +1,79 @@
 package com.lucian.urlshortener.controller;
 
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucian.urlshortener.cache.AliasBloomFilter;
+import com.lucian.urlshortener.cache.AliasCache;
 import com.lucian.urlshortener.dto.UrlRequest;
 import com.lucian.urlshortener.dto.UrlResponse;
 import com.lucian.urlshortener.entity.UrlMapping;
-import com.lucian.urlshortener.repo.UrlMappingRepository;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import com.lucian.urlshortener.service.ClickStatsService;
+import com.lucian.urlshortener.service.ExpiredMappingSweeper;
+import com.lucian.urlshortener.service.RedirectCacheWarmer;
+import com.lucian.urlshortener.service.SnapshotService;
+import com.lucian.urlshortener.snapshot.SnapshotWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @ActiveProfiles("test")
 @Transactional
 class UrlShortenerControllerTest {
 
   public static final String SHORTEN_ENDPOINT = "/shorten";
   public static final String LOCALHOST = "http://localhost/";
+  public static final String SNAPSHOT_ENDPOINT = "/urls/snapshot";
 
   @Autowired MockMvc mockMvc;
   @Autowired ObjectMapper objectMapper;
-  @Autowired UrlMappingRepository urlMappingRepository;
+  @Autowired UrlMappingStore urlMappingStore;
+  @Autowired AliasBloomFilter aliasBloomFilter;
+  @Autowired ClickStatsService clickStatsService;
+  @Autowired ExpiredMappingSweeper expiredMappingSweeper;
+  @Autowired RedirectCacheWarmer redirectCacheWarmer;
+  @Autowired AliasCache aliasCache;
+  @Autowired JdbcTemplate jdbcTemplate;
+  @Autowired PlatformTransactionManager transactionManager;
+  @Autowired SnapshotService snapshotService;
+  @Autowired MeterRegistry meterRegistry;
+  @Autowired ClickStatsRepository clickStatsRepository;
 
   String fullUrl;
   String alias;
@@ -43,8 +83,7 @@ class UrlShortenerControllerTest {
   void setUp() {
     fullUrl = "https://www.example.com";
     alias = "myAlias";
-    urlMapping =
-        UrlMapping.builder().alias(alias).fullUrl(fullUrl).shortUrl(LOCALHOST + alias).build();
+    urlMapping = UrlMapping.builder().alias(alias).fullUrl(fullUrl).build();
   }
 
   @Test
@@ -61,6 +100,31 @@ class UrlShortenerControllerTest {
         .andExpect(jsonPath("$.shortUrl").value("http://localhost/myAlias"));
   }
 
+  @Test
+  void createShortUrl_WithExpiry_ReturnsExpiry() throws Exception {
+    LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    UrlRequest request = new UrlRequest(fullUrl, alias, expiresAt);
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT)
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.expiresAt").value(expiresAt.format(ISO_LOCAL_DATE_TIME)));
+  }
+
+  @Test
+  void createShortUrl_ExpiryInPast_ReturnsBadRequest() throws Exception {
+    UrlRequest request = new UrlRequest(fullUrl, alias, LocalDateTime.now().minusDays(1));
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT)
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", startsWith("Expiry must be in the future")));
+  }
+
   @Test
   void createShortUrl_InvalidUrl_ReturnsBadRequest() throws Exception {
     UrlRequest request = new UrlRequest("ftp://upload.com", null);
@@ -76,7 +140,7 @@ class UrlShortenerControllerTest {
   @Test
   void createShortUrl_CustomAliasAlreadyExists_ReturnsBadRequest() throws Exception {
     UrlRequest request = new UrlRequest(fullUrl, alias);
-    urlMappingRepository.save(urlMapping);
+    urlMappingStore.save(urlMapping);
 
     mockMvc
         .perform(
@@ -87,6 +151,62 @@ class UrlShortenerControllerTest {
         .andExpect(jsonPath("$.message").value("Alias already exists: " + alias));
   }
 
+  @Test
+  void createShortUrl_CustomAliasStoredByAnotherWriter_ReturnsBadRequest() throws Exception {
+    // Written past the persistence context, so only the primary key catches the duplicate
+    urlMappingStore.insertAll(List.of(urlMapping));
+
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT)
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UrlRequest(fullUrl, alias))))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Alias already exists: " + alias));
+  }
+
+  @Test
+  void createShortUrl_LongUrl_ReturnsCreated() throws Exception {
+    String longUrl = fullUrl + "/" + "a".repeat(2000);
+
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT)
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(new UrlRequest(longUrl, alias))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.fullUrl").value(longUrl));
+  }
+
+  @Test
+  void createShortUrl_UrlTooLong_ReturnsBadRequest() throws Exception {
+    UrlRequest request = new UrlRequest(fullUrl + "/" + "a".repeat(2048), alias);
+
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT)
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("URL must be at most 2048 characters long"));
+  }
+
+  @Test
+  void createShortUrl_ReservedAlias_ReturnsBadRequest() throws Exception {
+    UrlRequest request = new UrlRequest(fullUrl, "shorten");
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT)
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status").value(400))
+        .andExpect(jsonPath("$.error").value("Bad Request"))
+        .andExpect(jsonPath("$.message").value("Alias is reserved and cannot be used: shorten"))
+        .andExpect(jsonPath("$.path").value(SHORTEN_ENDPOINT))
+        .andExpect(jsonPath("$.timestamp").isNotEmpty());
+  }
+
   @Test
   void createShortUrl_NoAlias_GeneratesAlias() throws Exception {
     UrlRequest request = new UrlRequest(fullUrl, null);
@@ -117,15 +237,116 @@ class UrlShortenerControllerTest {
                         + "may contain only letters, digits, hyphens and underscores"));
   }
 
+  @Test
+  void createShortUrls_JsonArray_ReturnsPerItemResults() throws Exception {
+    urlMappingStore.save(urlMapping);
+    List<UrlRequest> requests =
+        List.of(
+            new UrlRequest("https://example1.com", "batch1"),
+            new UrlRequest("ftp://upload.com", null),
+            new UrlRequest("https://example2.com", alias),
+            new UrlRequest("https://example3.com", null));
+
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT + "/batch")
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(requests)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(4))
+        .andExpect(jsonPath("$[0].status").value(201))
+        .andExpect(jsonPath("$[0].url.shortUrl").value(LOCALHOST + "batch1"))
+        .andExpect(jsonPath("$[1].status").value(400))
+        .andExpect(jsonPath("$[1].error").value("Unsupported URL scheme: ftp"))
+        .andExpect(jsonPath("$[2].status").value(400))
+        .andExpect(jsonPath("$[2].error").value("Alias already exists: " + alias))
+        .andExpect(jsonPath("$[3].status").value(201))
+        .andExpect(jsonPath("$[3].url.fullUrl").value("https://example3.com"));
+
+    assertThat(urlMappingStore.existsByAlias("batch1")).isTrue();
+  }
+
+  @Test
+  void createShortUrls_Ndjson_ReturnsPerItemResults() throws Exception {
+    String body =
+        objectMapper.writeValueAsString(new UrlRequest("https://example1.com", "ndjson1"))
+            + "\n"
+            + objectMapper.writeValueAsString(new UrlRequest("https://example2.com", null))
+            + "\n";
+
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT + "/batch")
+                .contentType(UrlShortenerController.APPLICATION_NDJSON_VALUE)
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].url.alias").value("ndjson1"))
+        .andExpect(jsonPath("$[1].status").value(201));
+  }
+
+  @Test
+  void createShortUrls_MalformedBody_ReturnsBadRequest() throws Exception {
+    mockMvc
+        .perform(
+            post(SHORTEN_ENDPOINT + "/batch").contentType(APPLICATION_JSON_VALUE).content("[{"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Malformed batch request body"));
+  }
+
   @Test
   void getUrlMapping_ExistingAlias_ReturnsRedirect() throws Exception {
-    urlMappingRepository.save(urlMapping);
+    urlMappingStore.save(urlMapping);
+    aliasBloomFilter.add(alias);
     mockMvc
         .perform(get("/" + alias).contentType(APPLICATION_JSON_VALUE))
         .andExpect(status().isFound())
         .andExpect(header().string("Location", fullUrl));
   }
 
+  @Test
+  void getUrlMapping_ExistingAlias_IsServedBeforeDispatcher() throws Exception {
+    urlMappingStore.save(urlMapping);
+    aliasBloomFilter.add(alias);
+    MvcResult result =
+        mockMvc
+            .perform(head("/" + alias))
+            .andExpect(status().isFound())
+            .andExpect(header().string("Location", fullUrl))
+            .andReturn();
+
+    assertThat(result.getHandler()).isNull();
+  }
+
+  @Test
+  void getUrlMapping_ExpiredAlias_ReturnsGone() throws Exception {
+    urlMapping.setAlias("expiredAlias");
+    urlMapping.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+    urlMappingStore.save(urlMapping);
+    aliasBloomFilter.add("expiredAlias");
+    mockMvc
+        .perform(get("/expiredAlias"))
+        .andExpect(status().isGone())
+        .andExpect(jsonPath("$.message").value("Alias has expired: expiredAlias"));
+  }
+
+  @Test
+  void sweep_DeletesOnlyExpiredMappings() {
+    urlMapping.setAlias("sweptAlias");
+    urlMapping.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+    urlMappingStore.save(urlMapping);
+    urlMappingStore.save(
+        UrlMapping.builder()
+            .alias("liveAlias")
+            .fullUrl(fullUrl)
+            .expiresAt(LocalDateTime.now().plusDays(1))
+            .build());
+
+    assertThat(expiredMappingSweeper.sweep()).isEqualTo(1);
+    assertThat(urlMappingStore.existsByAlias("sweptAlias")).isFalse();
+    assertThat(urlMappingStore.existsByAlias("liveAlias")).isTrue();
+  }
+
   @Test
   void getUrlMapping_NonExistingAlias_ReturnsNotFound() throws Exception {
     mockMvc
@@ -134,16 +355,130 @@ class UrlShortenerControllerTest {
         .andExpect(jsonPath("$.message").value("Alias not found: nonExistingAlias"));
   }
 
+  @Test
+  void getUrlMapping_UnknownAliasPastFilter_ReadsStoreOnce() throws Exception {
+    aliasBloomFilter.add("unknownAlias");
+    Counter loads = meterRegistry.get("redirects.loads").tag("source", "database").counter();
+    double before = loads.count();
+
+    mockMvc
+        .perform(get("/unknownAlias"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value("Alias not found: unknownAlias"))
+        .andExpect(jsonPath("$.path").value("/unknownAlias"));
+
+    assertThat(loads.count() - before).isEqualTo(1);
+  }
+
+  @Test
+  void prometheus_ExposesRedirectLatencyHistograms() throws Exception {
+    mockMvc.perform(get("/metricsMissingAlias")).andExpect(status().isNotFound());
+    mockMvc
+        .perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content().string(containsString("redirects_seconds_bucket{outcome=\"not_found\"")))
+        .andExpect(content().string(containsString("urls_create_phase_seconds_bucket")))
+        .andExpect(content().string(containsString("urls_alias_attempts_bucket")));
+  }
+
+  @Test
+  void warmUp_CachesNewestMappings() {
+    urlMappingStore.save(urlMapping);
+    aliasCache.invalidate(alias);
+
+    assertThat(redirectCacheWarmer.warmUp()).isEqualTo(1);
+
+    assertThat(aliasCache.get(alias).location()).isEqualTo(fullUrl);
+    aliasCache.invalidate(alias);
+  }
+
+  @Test
+  void streamMostClickedMappings_JoinsCountersToMappings() {
+    for (String alias : List.of("quiet", "busy", "orphan")) {
+      jdbcTemplate.update(
+          "insert into url_click_stats (alias, click_count) values (?, ?)",
+          alias,
+          alias.length());
+    }
+    jdbcTemplate.update(
+        "insert into url_mapping (alias, full_url) values ('quiet', ?), ('busy', ?)",
+        fullUrl,
+        fullUrl);
+
+    try (Stream<UrlMapping> mappings =
+        clickStatsRepository.streamMostClickedMappings(Limit.of(10))) {
+      assertThat(mappings).extracting(UrlMapping::getAlias).containsExactly("quiet", "busy");
+    }
+  }
+
+  @Test
+  void readiness_IsUpOnceStarted() throws Exception {
+    mockMvc
+        .perform(get("/actuator/health/readiness"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("UP"));
+  }
+
+  @Test
+  void getClickStats_CountsRedirectsAfterFlush() throws Exception {
+    // Flushed, so the counter insert's join against url_mapping sees the row
+    urlMappingStore.insert(urlMapping);
+    aliasBloomFilter.add(alias);
+    mockMvc.perform(get("/" + alias)).andExpect(status().isFound());
+    mockMvc.perform(get("/" + alias)).andExpect(status().isFound());
+
+    clickStatsService.flush();
+
+    mockMvc
+        .perform(get("/urls/" + alias + "/stats"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.alias").value(alias))
+        .andExpect(jsonPath("$.clicks").value(2))
+        .andExpect(jsonPath("$.lastClickedAt").isNotEmpty());
+  }
+
+  @Test
+  void flushClicks_UnmappedAlias_CreatesNoCounter() {
+    clickStatsService.recordClick("deletedAlias");
+
+    clickStatsService.flush();
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from url_click_stats where alias = 'deletedAlias'",
+                Integer.class))
+        .isZero();
+  }
+
+  @Test
+  void getClickStats_NeverClicked_ReturnsZero() throws Exception {
+    urlMappingStore.save(urlMapping);
+
+    mockMvc
+        .perform(get("/urls/" + alias + "/stats"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.clicks").value(0));
+  }
+
+  @Test
+  void getClickStats_NonExistingAlias_ReturnsNotFound() throws Exception {
+    mockMvc
+        .perform(get("/urls/nonExistingAlias/stats"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value("Alias not found: nonExistingAlias"));
+  }
+
   @Test
   void deleteUrlMapping_ExistingAlias_ReturnsNoContent() throws Exception {
-    urlMappingRepository.save(urlMapping);
-    assertThat(urlMappingRepository.existsByAlias(alias)).isTrue();
+    urlMappingStore.save(urlMapping);
+    assertThat(urlMappingStore.existsByAlias(alias)).isTrue();
 
     mockMvc
         .perform(delete("/" + alias).contentType(APPLICATION_JSON_VALUE))
         .andExpect(status().isNoContent());
 
-    assertThat(urlMappingRepository.existsByAlias(alias)).isFalse();
+    assertThat(urlMappingStore.existsByAlias(alias)).isFalse();
   }
 
   @Test
@@ -160,10 +495,9 @@ class UrlShortenerControllerTest {
         UrlMapping.builder()
             .alias("alias2")
             .fullUrl("https://example2.com")
-            .shortUrl(LOCALHOST + "alias2")
             .build();
-    urlMappingRepository.save(urlMapping);
-    urlMappingRepository.save(mapping2);
+    urlMappingStore.save(urlMapping);
+    urlMappingStore.save(mapping2);
 
     MvcResult mvcResult =
         mockMvc
@@ -190,4 +524,239 @@ class UrlShortenerControllerTest {
               assertThat(response.shortUrl()).isEqualTo(LOCALHOST + "alias2");
             });
   }
+
+  @Test
+  void listUrlMappings_FollowsCursorAcrossPages() throws Exception {
+    for (String a : List.of("page1", "page2", "page3")) {
+      urlMappingStore.save(UrlMapping.builder().alias(a).fullUrl(fullUrl).build());
+    }
+
+    MvcResult first =
+        mockMvc
+            .perform(get("/urls").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].alias").value("page1"))
+            .andExpect(jsonPath("$[1].alias").value("page2"))
+            .andExpect(header().exists(UrlShortenerController.NEXT_CURSOR_HEADER))
+            .andReturn();
+    String cursor = first.getResponse().getHeader(UrlShortenerController.NEXT_CURSOR_HEADER);
+
+    mockMvc
+        .perform(get("/urls").param("limit", "2").param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].alias").value("page3"))
+        .andExpect(header().doesNotExist(UrlShortenerController.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  void listUrlMappings_SortedByCreatedAt() throws Exception {
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    urlMappingStore.save(
+        UrlMapping.builder()
+            .alias("zzz")
+            .fullUrl(fullUrl)
+            .createdAt(now.minusDays(1))
+            .build());
+    urlMappingStore.save(
+        UrlMapping.builder()
+            .alias("aaa")
+            .fullUrl(fullUrl)
+            .createdAt(now)
+            .build());
+
+    MvcResult first =
+        mockMvc
+            .perform(get("/urls").param("sort", "createdAt").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].alias").value("zzz"))
+            .andReturn();
+    String cursor = first.getResponse().getHeader(UrlShortenerController.NEXT_CURSOR_HEADER);
+
+    mockMvc
+        .perform(
+            get("/urls").param("sort", "createdAt").param("limit", "1").param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].alias").value("aaa"));
+  }
+
+  @Test
+  void listUrlMappings_ByCreatedAt_PagesAcrossUnmigratedRows() throws Exception {
+    // Bulk inserts leave created_epoch as it is, like rows the layout migration has not reached
+    urlMappingStore.insertAll(
+        List.of(
+            UrlMapping.builder().alias("undated1").fullUrl(fullUrl).build(),
+            UrlMapping.builder().alias("undated2").fullUrl(fullUrl).build(),
+            UrlMapping.builder()
+                .alias("dated")
+                .fullUrl(fullUrl)
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                .build()));
+
+    List<String> aliases = new ArrayList<>();
+    String cursor = null;
+    do {
+      MockHttpServletRequestBuilder request =
+          get("/urls").param("sort", "createdAt").param("limit", "1");
+      MvcResult page =
+          mockMvc
+              .perform(cursor == null ? request : request.param("cursor", cursor))
+              .andExpect(status().isOk())
+              .andReturn();
+      UrlResponse[] mappings =
+          objectMapper.readValue(page.getResponse().getContentAsString(), UrlResponse[].class);
+      Arrays.stream(mappings).map(UrlResponse::alias).forEach(aliases::add);
+      cursor = page.getResponse().getHeader(UrlShortenerController.NEXT_CURSOR_HEADER);
+    } while (cursor != null);
+
+    assertThat(aliases).containsExactlyInAnyOrder("undated1", "undated2", "dated");
+  }
+
+  @Test
+  void listUrlMappings_InvalidLimit_ReturnsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/urls").param("limit", "0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Limit must be between 1 and 1000"));
+  }
+
+  @Test
+  void exportUrlMappings_StreamsNdjson() throws Exception {
+    urlMappingStore.save(urlMapping);
+    urlMappingStore.save(
+        UrlMapping.builder()
+            .alias("alias2")
+            .fullUrl(fullUrl)
+            .build());
+
+    String body =
+        mockMvc
+            .perform(get("/urls/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(UrlShortenerController.APPLICATION_NDJSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    List<String> lines = body.lines().toList();
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readValue(lines.get(0), UrlResponse.class).alias())
+        .isEqualTo("alias2");
+    assertThat(objectMapper.readValue(lines.get(1), UrlResponse.class).alias()).isEqualTo(alias);
+  }
+
+  @Test
+  void snapshot_ExportThenImport_RestoresMappings() throws Exception {
+    LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).withNano(123_000_000);
+    urlMappingStore.save(urlMapping);
+    urlMappingStore.save(
+        UrlMapping.builder().alias("alias2").fullUrl(fullUrl).expiresAt(expiresAt).build());
+    byte[] snapshot = exportSnapshot();
+    urlMappingStore.deleteByAliases(List.of(alias, "alias2"));
+
+    mockMvc
+        .perform(post(SNAPSHOT_ENDPOINT).contentType(APPLICATION_OCTET_STREAM).content(snapshot))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2));
+
+    assertThat(urlMappingStore.findById(alias).orElseThrow().getFullUrl()).isEqualTo(fullUrl);
+    assertThat(urlMappingStore.findById("alias2").orElseThrow().getExpiresAt())
+        .isEqualTo(expiresAt);
+    mockMvc.perform(get("/alias2")).andExpect(status().isFound());
+  }
+
+  @Test
+  void importSnapshot_Truncated_ReturnsBadRequest() throws Exception {
+    urlMappingStore.save(urlMapping);
+    byte[] snapshot = exportSnapshot();
+    urlMappingStore.deleteByAliases(List.of(alias));
+
+    mockMvc
+        .perform(
+            post(SNAPSHOT_ENDPOINT)
+                .contentType(APPLICATION_OCTET_STREAM)
+                .content(Arrays.copyOf(snapshot, snapshot.length - 4)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Snapshot is truncated after 1 mappings"));
+    assertThat(urlMappingStore.findById(alias)).isEmpty();
+  }
+
+  @Test
+  void importSnapshot_InvalidMapping_ReturnsBadRequestAndStoresNothing() throws Exception {
+    ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+    try (SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(snapshot))) {
+      writer.write(urlMapping);
+      writer.write(UrlMapping.builder().alias("shorten").fullUrl(fullUrl).build());
+      writer.finish();
+    }
+
+    mockMvc
+        .perform(
+            post(SNAPSHOT_ENDPOINT)
+                .contentType(APPLICATION_OCTET_STREAM)
+                .content(snapshot.toByteArray()))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", startsWith("Snapshot mapping 2 is invalid: ")));
+    assertThat(urlMappingStore.findById(alias)).isEmpty();
+  }
+
+  @Test
+  void importSnapshot_AliasAlreadyStored_ReturnsConflict() throws Exception {
+    urlMappingStore.save(urlMapping);
+
+    mockMvc
+        .perform(
+            post(SNAPSHOT_ENDPOINT).contentType(APPLICATION_OCTET_STREAM).content(exportSnapshot()))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message", startsWith("Snapshot contains an alias")));
+  }
+
+  @Test
+  void importSnapshot_TooLarge_ReturnsPayloadTooLarge() throws Exception {
+    mockMvc
+        .perform(
+            post(SNAPSHOT_ENDPOINT)
+                .contentType(APPLICATION_OCTET_STREAM)
+                .content(new byte[64 * 1024 + 1]))
+        .andExpect(status().isPayloadTooLarge())
+        .andExpect(jsonPath("$.message", startsWith("Snapshot must not be larger than 65536")));
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void importSnapshot_DeferringIndexes_RecreatesThem() throws Exception {
+    ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+    try (SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(snapshot))) {
+      writer.write(UrlMapping.builder().alias("deferred").fullUrl(fullUrl).build());
+      writer.finish();
+    }
+    try {
+      assertThat(
+              snapshotService.importSnapshot(
+                  Channels.newChannel(new ByteArrayInputStream(snapshot.toByteArray())), true))
+          .isEqualTo(1);
+
+      assertThat(
+              jdbcTemplate.queryForList(
+                  "select index_name from information_schema.indexes"
+                      + " where table_name = 'URL_MAPPING'",
+                  String.class))
+          .contains(
+              "IDX_URL_MAPPING_CREATED", "IDX_URL_MAPPING_URL_HASH", "IDX_URL_MAPPING_EXPIRES_AT");
+    } finally {
+      new TransactionTemplate(transactionManager)
+          .executeWithoutResult(status -> urlMappingStore.deleteByAliases(List.of("deferred")));
+    }
+  }
+
+  private byte[] exportSnapshot() throws Exception {
+    return mockMvc
+        .perform(get(SNAPSHOT_ENDPOINT))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(APPLICATION_OCTET_STREAM))
+        .andReturn()
+        .getResponse()
+        .getContentAsByteArray();
+  }
 }
@@ -0,0 +1,100 @@
+package com.lucian.urlshortener.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.util.Map;
+import nl.altindag.log.LogCaptor;
+import nl.altindag.log.model.LogEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AccessLogFilterTest {
+
+  final LogCaptor logCaptor = LogCaptor.forName(AccessLogFilter.LOGGER_NAME);
+
+  @AfterEach
+  void tearDown() {
+    logCaptor.close();
+  }
+
+  @Test
+  void doFilter_logsStructuredLineAtInfo() throws Exception {
+    AccessLogFilter filter = new AccessLogFilter(1.0, 1.0, 1.0);
+
+    run(filter, "GET", "/abc", 302);
+
+    assertThat(logCaptor.getLogEvents()).hasSize(1);
+    LogEvent event = logCaptor.getLogEvents().getFirst();
+    assertThat(event.getLevel()).isEqualTo("INFO");
+    assertThat(event.getMessage()).isEqualTo("request");
+    assertThat(event.getKeyValuePairs())
+        .contains(
+            Map.entry("method", "GET"),
+            Map.entry("path", "/abc"),
+            Map.entry("status", 302),
+            Map.entry("sampleRate", 1.0));
+    assertThat(event.getKeyValuePairs()).extracting(Map.Entry::getKey).contains("durationUs");
+  }
+
+  @Test
+  void doFilter_samplesEachLevelAtItsOwnRate() throws Exception {
+    AccessLogFilter filter = new AccessLogFilter(0.0, 1.0, 0.0);
+
+    run(filter, "GET", "/abc", 302);
+    run(filter, "GET", "/nope", 404);
+    run(filter, "GET", "/boom", 503);
+
+    assertThat(logCaptor.getLogEvents())
+        .singleElement()
+        .satisfies(event -> assertThat(event.getLevel()).isEqualTo("WARN"));
+  }
+
+  @Test
+  void doFilter_partialRateLogsAboutThatShare() throws Exception {
+    AccessLogFilter filter = new AccessLogFilter(0.25, 1.0, 1.0);
+
+    for (int i = 0; i < 4_000; i++) {
+      run(filter, "GET", "/abc", 302);
+    }
+
+    assertThat(logCaptor.getInfoLogs().size()).isBetween(800, 1_200);
+  }
+
+  @Test
+  void doFilter_exceptionIsLoggedAsServerError() {
+    AccessLogFilter filter = new AccessLogFilter(0.0, 0.0, 1.0);
+    FilterChain failing =
+        (request, response) -> {
+          throw new ServletException("boom");
+        };
+
+    assertThatThrownBy(
+            () ->
+                filter.doFilter(
+                    new MockHttpServletRequest("POST", "/shorten"),
+                    new MockHttpServletResponse(),
+                    failing))
+        .isInstanceOf(ServletException.class);
+
+    assertThat(logCaptor.getLogEvents())
+        .singleElement()
+        .satisfies(
+            event -> {
+              assertThat(event.getLevel()).isEqualTo("ERROR");
+              assertThat(event.getKeyValuePairs()).contains(Map.entry("status", 500));
+            });
+  }
+
+  private static void run(AccessLogFilter filter, String method, String path, int status)
+      throws Exception {
+    filter.doFilter(
+        new MockHttpServletRequest(method, path),
+        new MockHttpServletResponse(),
+        (request, response) -> ((MockHttpServletResponse) response).setStatus(status));
+  }
+}
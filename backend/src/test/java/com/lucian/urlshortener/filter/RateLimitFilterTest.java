@@ -0,0 +1,64 @@
+package com.lucian.urlshortener.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucian.urlshortener.utility.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+  @Test
+  void keyHeaderWithoutKeys_IsRejected() {
+    assertThatThrownBy(() -> filter(Set.of(), false))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("app.rate-limit.keys");
+  }
+
+  @Test
+  void keysValidatedUpstream_AcceptsAnyKey() throws Exception {
+    RateLimitFilter filter = filter(Set.of(), true);
+
+    assertThat(create(filter, "first")).isEqualTo(200);
+    assertThat(create(filter, "second")).isEqualTo(200);
+    assertThat(create(filter, "second")).isEqualTo(429);
+  }
+
+  @Test
+  void unknownKey_FallsBackToAddress() throws Exception {
+    RateLimitFilter filter = filter(Set.of("partner"), false);
+
+    assertThat(create(filter, "made-up")).isEqualTo(200);
+    assertThat(create(filter, "partner")).isEqualTo(200);
+    assertThat(create(filter, "other-made-up")).isEqualTo(429);
+  }
+
+  private static RateLimitFilter filter(Set<String> keys, boolean keysValidatedUpstream) {
+    return new RateLimitFilter(
+        new RateLimiter(0.001, 1, 100),
+        new RateLimiter(0.001, 1, 100),
+        "X-API-Key",
+        keys,
+        keysValidatedUpstream,
+        new ObjectMapper().findAndRegisterModules(),
+        new SimpleMeterRegistry());
+  }
+
+  private static int create(RateLimitFilter filter, String key)
+      throws IOException, ServletException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/shorten");
+    request.setRemoteAddr("10.0.0.1");
+    request.addHeader("X-API-Key", key);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response.getStatus();
+  }
+}
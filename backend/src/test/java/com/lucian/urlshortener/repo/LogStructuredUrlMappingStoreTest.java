@@ -0,0 +1,261 @@
+package com.lucian.urlshortener.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.util.unit.DataSize;
+
+class LogStructuredUrlMappingStoreTest {
+
+  @TempDir Path dir;
+  Path file;
+  LogStructuredUrlMappingStore store;
+
+  @BeforeEach
+  void setUp() {
+    file = dir.resolve("url-mappings.log");
+    store = open(DataSize.ofKilobytes(64));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    store.close();
+  }
+
+  @Test
+  void save_ThenFindById_ReturnsAllFields() {
+    LocalDateTime expiresAt = LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123_456_789);
+    UrlMapping mapping = mapping("abc");
+    mapping.setExpiresAt(expiresAt);
+    mapping.setUrlHash(42L);
+
+    store.save(mapping);
+
+    UrlMapping found = store.findById("abc").orElseThrow();
+    assertThat(found.getFullUrl()).isEqualTo("https://example.com/abc");
+    assertThat(found.getCreatedAt()).isEqualTo(mapping.getCreatedAt()).isNotNull();
+    assertThat(found.getExpiresAt()).isEqualTo(expiresAt);
+    assertThat(found.getUrlHash()).isEqualTo(42L);
+    assertThat(store.findByUrlHash(42L)).extracting(UrlMapping::getAlias).containsExactly("abc");
+    assertThat(store.findById("missing")).isEmpty();
+  }
+
+  @Test
+  void insert_ExistingAlias_Throws() {
+    store.insert(mapping("abc"));
+
+    assertThatThrownBy(() -> store.insert(mapping("abc")))
+        .isInstanceOf(DuplicateKeyException.class);
+  }
+
+  @Test
+  void insertAll_WithDuplicate_WritesNothing() {
+    store.insert(mapping("b"));
+
+    assertThatThrownBy(() -> store.insertAll(List.of(mapping("a"), mapping("b"))))
+        .isInstanceOf(DuplicateKeyException.class);
+
+    assertThat(store.existsByAlias("a")).isFalse();
+  }
+
+  @Test
+  void reopen_ReplaysOverwritesAndDeletes() throws Exception {
+    store.save(mapping("kept"));
+    store.save(mapping("deleted"));
+    UrlMapping replaced = mapping("kept");
+    replaced.setFullUrl("https://example.com/replaced");
+    store.save(replaced);
+    store.deleteById("deleted");
+    store.close();
+
+    store = open(DataSize.ofKilobytes(64));
+
+    assertThat(store.findById("kept").orElseThrow().getFullUrl())
+        .isEqualTo("https://example.com/replaced");
+    assertThat(store.existsByAlias("deleted")).isFalse();
+    assertThat(store.streamAllAliases()).containsExactly("kept");
+  }
+
+  @Test
+  void reopen_DropsTornRecordAtTail() throws Exception {
+    store.save(mapping("abc"));
+    long end = Files.size(file);
+    store.close();
+    int tail = findEndOfRecords();
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.seek(tail);
+      raf.writeInt(50); // length of a record whose body never made it to disk
+      raf.writeInt(12345);
+    }
+
+    store = open(DataSize.ofKilobytes(64));
+    store.save(mapping("def"));
+    store.close();
+    store = open(DataSize.ofKilobytes(64));
+
+    assertThat(Files.size(file)).isEqualTo(end);
+    assertThat(store.streamAllAliases()).containsExactly("abc", "def");
+  }
+
+  @Test
+  void save_BeyondInitialSize_GrowsFile() throws Exception {
+    store.close();
+    store = open(DataSize.ofBytes(256));
+
+    for (int i = 0; i < 1_000; i++) {
+      store.save(mapping("alias" + i));
+    }
+
+    assertThat(store.findById("alias0")).isPresent();
+    assertThat(store.findById("alias999")).isPresent();
+  }
+
+  @Test
+  void deleteByAliases_MostlyDead_CompactsFile() throws Exception {
+    List<String> aliases = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      aliases.add("alias" + i);
+      store.save(mapping("alias" + i));
+    }
+    long fullSize = Files.size(file);
+
+    assertThat(store.deleteByAliases(aliases.subList(0, 990))).isEqualTo(990);
+    store.close();
+    store = open(DataSize.ofKilobytes(64));
+
+    assertThat(Files.size(file)).isLessThan(fullSize);
+    assertThat(store.streamAllAliases()).hasSize(10).contains("alias995");
+    assertThat(store.findById("alias995").orElseThrow().getFullUrl())
+        .isEqualTo("https://example.com/alias995");
+  }
+
+  @Test
+  void pagesAndExpiry_FollowIndexOrder() {
+    LocalDateTime now = LocalDateTime.now();
+    UrlMapping b = mapping("b");
+    b.setCreatedAt(now.minusMinutes(2));
+    b.setExpiresAt(now.minusMinutes(1));
+    UrlMapping a = mapping("a");
+    a.setCreatedAt(now.minusMinutes(1));
+    a.setExpiresAt(now.minusMinutes(5));
+    UrlMapping c = mapping("c");
+    c.setCreatedAt(now.minusMinutes(1));
+    c.setExpiresAt(now.plusDays(1));
+    store.insertAll(List.of(b, a, c));
+
+    assertThat(store.findPageByAlias("a", 10))
+        .extracting(UrlMapping::getAlias)
+        .containsExactly("b", "c");
+    assertThat(store.findPageByCreatedAt(null, null, 2))
+        .extracting(UrlMapping::getAlias)
+        .containsExactly("b", "a");
+    assertThat(store.findPageByCreatedAt(a.getCreatedAt(), "a", 10))
+        .extracting(UrlMapping::getAlias)
+        .containsExactly("c");
+    assertThat(store.findExpiredAliases(now, 10)).containsExactly("a", "b");
+    List<String> newest = new ArrayList<>();
+    store.forEachNewest(2, mapping -> newest.add(mapping.getAlias()));
+    assertThat(newest).containsExactly("c", "a");
+  }
+
+  @Test
+  void open_Version1File_RewritesItWithoutShortUrls() throws Exception {
+    store.close();
+    LocalDateTime createdAt = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_000);
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+      out.writeInt(0x55524c4d);
+      out.writeInt(1);
+      writeVersion1Record(out, version1Put("kept", createdAt));
+      writeVersion1Record(out, version1Put("deleted", createdAt));
+      ByteArrayOutputStream delete = new ByteArrayOutputStream();
+      DataOutputStream body = new DataOutputStream(delete);
+      body.writeByte(2);
+      writeString(body, "deleted");
+      writeVersion1Record(out, delete.toByteArray());
+    }
+
+    store = open(DataSize.ofKilobytes(64));
+
+    UrlMapping kept = store.findById("kept").orElseThrow();
+    assertThat(kept.getFullUrl()).isEqualTo("https://example.com/kept");
+    assertThat(kept.getCreatedAt()).isEqualTo(createdAt.truncatedTo(ChronoUnit.SECONDS));
+    assertThat(kept.getUrlHash()).isEqualTo(7L);
+    assertThat(store.streamAllAliases()).containsExactly("kept");
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+      raf.seek(4);
+      assertThat(raf.readInt()).isEqualTo(2);
+    }
+  }
+
+  private static byte[] version1Put(String alias, LocalDateTime createdAt) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream body = new DataOutputStream(bytes);
+    body.writeByte(1);
+    writeString(body, alias);
+    writeString(body, "https://example.com/" + alias);
+    writeString(body, "http://localhost/" + alias);
+    body.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+    body.writeInt(createdAt.getNano());
+    body.writeLong(Long.MIN_VALUE);
+    body.writeBoolean(true);
+    body.writeLong(7L);
+    return bytes.toByteArray();
+  }
+
+  private static void writeVersion1Record(DataOutputStream out, byte[] body) throws Exception {
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    out.writeInt(body.length);
+    out.writeInt((int) crc.getValue());
+    out.write(body);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws Exception {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private LogStructuredUrlMappingStore open(DataSize initialSize) {
+    return new LogStructuredUrlMappingStore(file, initialSize, 0.5, DataSize.ofBytes(0), false);
+  }
+
+  /** Offset just past the last record, found by skipping records from the file header. */
+  private int findEndOfRecords() throws Exception {
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+      int position = 8;
+      raf.seek(position);
+      int length;
+      while ((length = raf.readInt()) > 0) {
+        position += 8 + length;
+        raf.seek(position);
+      }
+      return position;
+    }
+  }
+
+  private static UrlMapping mapping(String alias) {
+    return UrlMapping.builder()
+        .alias(alias)
+        .fullUrl("https://example.com/" + alias)
+        .build();
+  }
+}
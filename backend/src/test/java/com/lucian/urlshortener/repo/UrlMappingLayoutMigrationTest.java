@@ -0,0 +1,123 @@
+package com.lucian.urlshortener.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class UrlMappingLayoutMigrationTest {
+
+  static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_000);
+
+  DriverManagerDataSource dataSource;
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:layoutmigration;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    // The old layout, plus the column the schema update adds
+    jdbcTemplate.execute(
+        "create table url_mapping (alias varchar(255) primary key,"
+            + " full_url varchar(255) not null, short_url varchar(255) not null,"
+            + " created_at timestamp(6), created_epoch bigint, expires_at timestamp(6),"
+            + " url_hash bigint)");
+    jdbcTemplate.execute(
+        "create index idx_url_mapping_created_at on url_mapping (created_at, alias)");
+    for (int i = 0; i < 5; i++) {
+      jdbcTemplate.update(
+          "insert into url_mapping (alias, full_url, short_url, created_at) values (?, ?, ?, ?)",
+          "alias" + i,
+          "https://example.com/" + i,
+          "http://localhost/alias" + i,
+          Timestamp.valueOf(CREATED_AT.plusSeconds(i)));
+    }
+    jdbcTemplate.update(
+        "insert into url_mapping (alias, full_url, short_url) values ('undated', 'u', 'u')");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop table url_mapping");
+  }
+
+  @Test
+  void run_MakesShortUrlOptionalThenBackfillsInBackground() {
+    List<Runnable> background = new ArrayList<>();
+    new UrlMappingLayoutMigration(
+            jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, false, background::add)
+        .run(null);
+
+    jdbcTemplate.update("insert into url_mapping (alias, full_url) values ('new', 'n')");
+    assertThat(countWithoutEpoch()).isEqualTo(7);
+
+    assertThat(background).hasSize(1);
+    background.getFirst().run();
+    assertThat(countWithoutEpoch()).isEqualTo(2);
+  }
+
+  @Test
+  void run_WidensFullUrl() {
+    new UrlMappingLayoutMigration(
+            jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, false, task -> {})
+        .run(null);
+
+    jdbcTemplate.update(
+        "insert into url_mapping (alias, full_url) values ('long', ?)", "a".repeat(2048));
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select length(full_url) from url_mapping where alias = 'long'", Integer.class))
+        .isEqualTo(2048);
+  }
+
+  @Test
+  void migrate_BackfillsCreatedEpochInBatches() {
+    UrlMappingLayoutMigration migration = migration(false);
+
+    assertThat(migration.migrate()).isEqualTo(5);
+
+    List<Long> epochs =
+        jdbcTemplate.queryForList(
+            "select created_epoch from url_mapping where alias like 'alias%' order by alias",
+            Long.class);
+    long first = CREATED_AT.toEpochSecond(ZoneOffset.UTC);
+    assertThat(epochs).containsExactly(first, first + 1, first + 2, first + 3, first + 4);
+    assertThat(migration.migrate()).isZero();
+  }
+
+  @Test
+  void migrate_DropLegacyColumns_LeavesCurrentLayout() {
+    assertThat(migration(true).migrate()).isEqualTo(5);
+
+    Map<String, Object> row =
+        jdbcTemplate.queryForMap("select * from url_mapping where alias = 'alias0'");
+    assertThat(row)
+        .containsOnlyKeys("ALIAS", "FULL_URL", "CREATED_EPOCH", "EXPIRES_AT", "URL_HASH")
+        .containsEntry("CREATED_EPOCH", CREATED_AT.toEpochSecond(ZoneOffset.UTC));
+  }
+
+  private int countWithoutEpoch() {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from url_mapping where created_epoch is null", Integer.class);
+  }
+
+  private UrlMappingLayoutMigration migration(boolean dropLegacyColumns) {
+    return new UrlMappingLayoutMigration(
+        jdbcTemplate,
+        new DataSourceTransactionManager(dataSource),
+        2,
+        dropLegacyColumns,
+        Runnable::run);
+  }
+}
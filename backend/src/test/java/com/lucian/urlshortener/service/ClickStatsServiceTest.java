@@ -0,0 +1,108 @@
+package com.lucian.urlshortener.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.lucian.urlshortener.entity.ClickStats;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+class ClickStatsServiceTest {
+
+  ClickStatsRepository clickStatsRepository = mock(ClickStatsRepository.class);
+  UrlMappingStore urlMappingStore = mock(UrlMappingStore.class);
+  ClickStatsService clickStatsService =
+      new ClickStatsService(
+          clickStatsRepository, urlMappingStore, new SimpleMeterRegistry(), 16, 100);
+
+  @Test
+  void flush_CounterCreatedConcurrently_AddsToIt() {
+    when(urlMappingStore.isTableBacked()).thenReturn(true);
+    when(clickStatsRepository.addClicks(anyCollection()))
+        .thenAnswer(ClickStatsServiceTest::allMissing)
+        .thenReturn(List.of());
+    doThrow(new DuplicateKeyException("duplicate key"))
+        .when(clickStatsRepository)
+        .insertCounters(anyCollection());
+    clickStatsService.recordClick("popular");
+    clickStatsService.recordClick("popular");
+
+    clickStatsService.flush();
+
+    verify(clickStatsRepository, times(2))
+        .addClicks(
+            argThat(
+                deltas ->
+                    deltas.size() == 1 && deltas.iterator().next().getClickCount() == 2));
+    verify(clickStatsRepository).insertCounters(anyCollection());
+  }
+
+  @Test
+  void flush_OtherIntegrityViolation_Throws() {
+    when(urlMappingStore.isTableBacked()).thenReturn(true);
+    when(clickStatsRepository.addClicks(anyCollection()))
+        .thenAnswer(ClickStatsServiceTest::allMissing);
+    doThrow(new DataIntegrityViolationException("value too long"))
+        .when(clickStatsRepository)
+        .insertCounters(anyCollection());
+    clickStatsService.recordClick("popular");
+
+    assertThatThrownBy(clickStatsService::flush)
+        .isInstanceOf(DataIntegrityViolationException.class);
+    verify(clickStatsRepository).addClicks(anyCollection());
+  }
+
+  @Test
+  void flush_RunsOneAtATime() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    when(clickStatsRepository.addClicks(anyCollection()))
+        .thenAnswer(
+            invocation -> {
+              if (running.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+              }
+              firstStarted.countDown();
+              Thread.sleep(50);
+              running.decrementAndGet();
+              return List.of();
+            });
+    clickStatsService.recordClick("first");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> scheduled = executor.submit(clickStatsService::flush);
+      assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      clickStatsService.recordClick("second");
+
+      clickStatsService.flush();
+      scheduled.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(overlaps).hasValue(0);
+    verify(clickStatsRepository, times(2)).addClicks(anyCollection());
+  }
+
+  /** Answers {@code addClicks} as if none of the counters existed yet. */
+  private static List<ClickStats> allMissing(InvocationOnMock invocation) {
+    return new ArrayList<>(invocation.<Collection<ClickStats>>getArgument(0));
+  }
+}
@@ -0,0 +1,38 @@
+package com.lucian.urlshortener.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ExpiredMappingSweeperTest {
+
+  UrlShortenerService urlShortenerService = mock(UrlShortenerService.class);
+  ExpiredMappingSweeper sweeper = new ExpiredMappingSweeper(urlShortenerService, 100);
+
+  @Test
+  void sweep_deletesBatchesUntilOneIsShort() {
+    when(urlShortenerService.deleteExpiredBatch(any(LocalDateTime.class), eq(100)))
+        .thenReturn(100, 100, 42);
+
+    assertThat(sweeper.sweep()).isEqualTo(242);
+
+    verify(urlShortenerService, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(100));
+  }
+
+  @Test
+  void sweep_usesOneCutOffForAllBatches() {
+    when(urlShortenerService.deleteExpiredBatch(any(LocalDateTime.class), eq(100)))
+        .thenReturn(100, 0);
+
+    sweeper.sweep();
+
+    ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(urlShortenerService, times(2)).deleteExpiredBatch(captor.capture(), eq(100));
+    assertThat(captor.getAllValues()).hasSize(2).containsOnly(captor.getValue());
+  }
+}
@@ -0,0 +1,92 @@
+package com.lucian.urlshortener.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+class RedirectCacheWarmerTest {
+
+  UrlShortenerService urlShortenerService = mock(UrlShortenerService.class);
+  UrlMappingStore urlMappingStore = mock(UrlMappingStore.class);
+  ClickStatsRepository clickStatsRepository = mock(ClickStatsRepository.class);
+
+  @Test
+  void warmUp_recentCachesNewestMappingsAndRunsLookups() {
+    UrlMapping first = mapping("first");
+    UrlMapping second = mapping("second");
+    doAnswer(
+            invocation -> {
+              Consumer<UrlMapping> action = invocation.getArgument(1);
+              action.accept(first);
+              action.accept(second);
+              return null;
+            })
+        .when(urlMappingStore)
+        .forEachNewest(eq(100), any());
+    when(urlShortenerService.cacheRedirect(eq(first), anyLong())).thenReturn(true);
+    when(urlShortenerService.cacheRedirect(eq(second), anyLong())).thenReturn(false);
+
+    assertThat(warmer(RedirectCacheWarmer.SOURCE_RECENT).warmUp()).isEqualTo(1);
+
+    verify(urlShortenerService, times(50)).findRedirect("first");
+    verify(urlShortenerService, never()).findRedirect("second");
+    verifyNoInteractions(clickStatsRepository);
+  }
+
+  @Test
+  void warmUp_clicksReadsMostClickedMappingsWithOneQuery() {
+    UrlMapping popular = mapping("popular");
+    when(urlMappingStore.isTableBacked()).thenReturn(true);
+    when(clickStatsRepository.streamMostClickedMappings(Limit.of(100)))
+        .thenReturn(Stream.of(popular));
+    when(urlShortenerService.cacheRedirect(eq(popular), anyLong())).thenReturn(true);
+
+    assertThat(warmer(RedirectCacheWarmer.SOURCE_CLICKS).warmUp()).isEqualTo(1);
+
+    verify(urlShortenerService, times(50)).findRedirect("popular");
+    verify(urlMappingStore, never()).findById(any());
+    verify(clickStatsRepository, never()).streamMostClickedAliases(any());
+  }
+
+  @Test
+  void warmUp_clicksResolvesMostClickedAliasesOutsideTable() {
+    UrlMapping popular = mapping("popular");
+    when(clickStatsRepository.streamMostClickedAliases(Limit.of(100)))
+        .thenReturn(Stream.of("popular", "deleted"));
+    when(urlMappingStore.findById("popular")).thenReturn(Optional.of(popular));
+    when(urlMappingStore.findById("deleted")).thenReturn(Optional.empty());
+    when(urlShortenerService.cacheRedirect(eq(popular), anyLong())).thenReturn(true);
+
+    assertThat(warmer(RedirectCacheWarmer.SOURCE_CLICKS).warmUp()).isEqualTo(1);
+
+    verify(urlShortenerService, times(50)).findRedirect("popular");
+    verify(urlMappingStore, never()).forEachNewest(anyInt(), any());
+  }
+
+  @Test
+  void warmUp_emptyStoreSkipsLookups() {
+    assertThat(warmer(RedirectCacheWarmer.SOURCE_RECENT).warmUp()).isZero();
+
+    verify(urlShortenerService, never()).findRedirect(any());
+  }
+
+  private RedirectCacheWarmer warmer(String source) {
+    return new RedirectCacheWarmer(
+        urlShortenerService, urlMappingStore, clickStatsRepository, 100, source, 50);
+  }
+
+  private static UrlMapping mapping(String alias) {
+    return UrlMapping.builder().alias(alias).fullUrl("https://example.com/" + alias).build();
+  }
+}
@@ -5,15 +5,43 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.lucian.urlshortener.cache.AliasBloomFilter;
+import com.lucian.urlshortener.cache.AliasCache;
+import com.lucian.urlshortener.cache.AliasInvalidationBus;
+import com.lucian.urlshortener.cache.CaffeineAliasCache;
+import com.lucian.urlshortener.cache.RedirectTarget;
+import com.lucian.urlshortener.dto.BatchItemResponse;
+import com.lucian.urlshortener.dto.UrlRequest;
 import com.lucian.urlshortener.entity.UrlMapping;
 import com.lucian.urlshortener.exception.AliasCollisionException;
 import com.lucian.urlshortener.exception.AliasNotFoundException;
 import com.lucian.urlshortener.exception.DuplicateAliasException;
+import com.lucian.urlshortener.exception.InvalidExpiryException;
+import com.lucian.urlshortener.exception.InvalidPageRequestException;
 import com.lucian.urlshortener.exception.ReservedAliasException;
-import com.lucian.urlshortener.repo.UrlMappingRepository;
+import com.lucian.urlshortener.metrics.UrlShortenerMetrics;
+import com.lucian.urlshortener.repo.ClickStatsRepository;
+import com.lucian.urlshortener.repo.UrlMappingStore;
 import com.lucian.urlshortener.utility.AliasGenerator;
+import com.lucian.urlshortener.utility.PageCursor;
+import com.lucian.urlshortener.utility.Result;
+import com.lucian.urlshortener.utility.UrlUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import nl.altindag.log.LogCaptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +49,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 @ExtendWith(SpringExtension.class)
@@ -29,8 +60,13 @@ class UrlShortenerServiceTest {
   static final String BASE_URL = "http://localhost/";
 
   UrlShortenerService urlShortenerService;
-  @Mock UrlMappingRepository urlMappingRepository;
+  @Mock UrlMappingStore urlMappingStore;
+  @Mock ClickStatsRepository clickStatsRepository;
   @Mock AliasGenerator aliasGenerator;
+  @Mock AliasInvalidationBus aliasInvalidationBus;
+  AliasCache aliasCache;
+  AliasBloomFilter aliasBloomFilter;
+  SimpleMeterRegistry meterRegistry;
   final LogCaptor logCaptor = LogCaptor.forClass(UrlShortenerService.class);
 
   static final String REQUESTED_ALIAS = "myAlias";
@@ -38,22 +74,37 @@ class UrlShortenerServiceTest {
 
   @BeforeEach
   void setUp() {
-    urlShortenerService = new UrlShortenerService(urlMappingRepository, aliasGenerator, BASE_URL);
+    logCaptor.setLogLevelToDebug();
+    aliasCache = new CaffeineAliasCache(100, Duration.ofMinutes(10));
+    aliasBloomFilter = new AliasBloomFilter(1000, 0.01);
+    meterRegistry = new SimpleMeterRegistry();
+    urlShortenerService = newService(false);
+  }
+
+  UrlShortenerService newService(boolean dedupEnabled) {
+    return new UrlShortenerService(
+        urlMappingStore,
+        clickStatsRepository,
+        aliasGenerator,
+        aliasCache,
+        aliasBloomFilter,
+        aliasInvalidationBus,
+        new UrlShortenerMetrics(meterRegistry),
+        BASE_URL,
+        dedupEnabled);
   }
 
   @Test
   void testCreateShortUrl() {
-    when(urlMappingRepository.existsByAlias(REQUESTED_ALIAS)).thenReturn(false);
-    when(urlMappingRepository.save(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
-
     UrlMapping urlMapping = urlShortenerService.createShortUrl(FULL_URL, REQUESTED_ALIAS);
 
     assertThat(urlMapping.getFullUrl()).isEqualTo(FULL_URL);
     assertThat(urlMapping.getAlias()).isEqualTo(REQUESTED_ALIAS);
-    assertThat(urlMapping.getShortUrl()).contains("/" + REQUESTED_ALIAS);
 
-    verify(urlMappingRepository).save(urlMapping);
-    assertThat(logCaptor.getInfoLogs())
+    verify(urlMappingStore).insert(urlMapping);
+    verify(urlMappingStore, never()).existsByAlias(anyString());
+    verify(urlMappingStore, never()).save(any(UrlMapping.class));
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly(
             "Custom alias requested: myAlias",
             "Building URL mapping: myAlias -> https://www.example.com");
@@ -61,100 +112,299 @@ class UrlShortenerServiceTest {
 
   @Test
   void testCreateShortUrl_GeneratedAlias() {
-    when(urlMappingRepository.save(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
     String generatedAlias = "abc123";
     when(aliasGenerator.generate()).thenReturn(generatedAlias);
-    when(urlMappingRepository.existsByAlias(generatedAlias)).thenReturn(false);
     UrlMapping urlMapping = urlShortenerService.createShortUrl(FULL_URL, null);
 
     assertThat(urlMapping.getFullUrl()).isEqualTo(FULL_URL);
-    assertThat(urlMapping.getShortUrl()).isEqualTo(BASE_URL + generatedAlias);
+    assertThat(urlMapping.getAlias()).isEqualTo(generatedAlias);
 
-    verify(urlMappingRepository).save(urlMapping);
-    assertThat(logCaptor.getInfoLogs())
+    verify(urlMappingStore).insert(urlMapping);
+    verify(urlMappingStore, never()).existsByAlias(anyString());
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly(
             "Generating unique alias", "Building URL mapping: abc123 -> https://www.example.com");
   }
 
   @Test
   void testCreateShortUrl_CustomAliasAlreadyExists() {
-    when(urlMappingRepository.existsByAlias(REQUESTED_ALIAS)).thenReturn(true);
+    aliasBloomFilter.markLoaded();
+    when(urlMappingStore.insert(any(UrlMapping.class)))
+        .thenThrow(new DuplicateKeyException("duplicate key"));
     assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, REQUESTED_ALIAS))
         .isInstanceOf(DuplicateAliasException.class)
         .hasMessage("Alias already exists: " + REQUESTED_ALIAS);
 
-    verify(urlMappingRepository).existsByAlias(REQUESTED_ALIAS);
-    verify(urlMappingRepository, never()).save(any(UrlMapping.class));
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Custom alias requested: myAlias");
+    verify(urlMappingStore).insert(any(UrlMapping.class));
+    verify(urlMappingStore, never()).save(any(UrlMapping.class));
+    assertThat(aliasBloomFilter.mightContain(REQUESTED_ALIAS)).isFalse();
+  }
+
+  @Test
+  void testCreateShortUrl_OtherIntegrityViolation_IsNotATakenAlias() {
+    DataIntegrityViolationException tooLong = new DataIntegrityViolationException("value too long");
+    when(urlMappingStore.insert(any(UrlMapping.class))).thenThrow(tooLong);
+    when(aliasGenerator.generate()).thenReturn("alias1", "alias2");
+
+    assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, REQUESTED_ALIAS))
+        .isSameAs(tooLong);
+    assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, null))
+        .isSameAs(tooLong);
+    verify(urlMappingStore, times(2)).insert(any(UrlMapping.class));
   }
 
   @Test
   void testCreateShortUrl_InvalidCustomAlias_TooShort() {
     String invalidAlias = "ab";
-    when(urlMappingRepository.existsByAlias(invalidAlias)).thenReturn(false);
     assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, invalidAlias))
         .isInstanceOf(Exception.class)
         .hasMessageContaining("Invalid alias 'ab': must be at least 3 characters long");
 
-    verifyNoInteractions(urlMappingRepository);
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Custom alias requested: ab");
+    verifyNoInteractions(urlMappingStore);
+    assertThat(logCaptor.getDebugLogs()).containsExactly("Custom alias requested: ab");
   }
 
   @Test
   void testCreateShortUrl_InvalidCustomAlias_TooLong() {
     String invalidAlias = "a".repeat(65);
-    when(urlMappingRepository.existsByAlias(invalidAlias)).thenReturn(false);
     assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, invalidAlias))
         .isInstanceOf(Exception.class)
         .hasMessageContaining(
             "Invalid alias '%s': must be at most 64 characters long".formatted(invalidAlias));
 
-    verifyNoInteractions(urlMappingRepository);
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Custom alias requested: " + invalidAlias);
+    verifyNoInteractions(urlMappingStore);
+    assertThat(logCaptor.getDebugLogs()).containsExactly("Custom alias requested: " + invalidAlias);
   }
 
   @Test
   void testCreateShortUrl_InvalidCustomAlias_InvalidCharacters() {
     String invalidAlias = "invalid*alias";
-    when(urlMappingRepository.existsByAlias(invalidAlias)).thenReturn(false);
     assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, invalidAlias))
         .isInstanceOf(Exception.class)
         .hasMessageContaining(
             "Invalid alias 'invalid*alias': may contain only letters, digits, hyphens and underscores");
 
-    verifyNoInteractions(urlMappingRepository);
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Custom alias requested: invalid*alias");
+    verifyNoInteractions(urlMappingStore);
+    assertThat(logCaptor.getDebugLogs()).containsExactly("Custom alias requested: invalid*alias");
   }
 
   @Test
   void testCreateShortUrl_AliasGenerationFailure() {
-    when(urlMappingRepository.existsByAlias(anyString())).thenReturn(true);
+    when(urlMappingStore.insert(any(UrlMapping.class)))
+        .thenThrow(new DuplicateKeyException("duplicate key"));
     when(aliasGenerator.generate()).thenReturn("alias1", "alias2", "alias3", "alias4", "alias5");
     assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, null))
         .isInstanceOf(IllegalStateException.class)
         .hasMessage("Failed to generate a unique alias after 5 attempts");
 
-    verify(urlMappingRepository, times(5)).existsByAlias(anyString());
-    verify(urlMappingRepository, never()).save(any(UrlMapping.class));
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Generating unique alias");
+    verify(urlMappingStore, times(5)).insert(any(UrlMapping.class));
+    verify(urlMappingStore, never()).existsByAlias(anyString());
+    assertThat(logCaptor.getDebugLogs())
+        .contains("Generating unique alias", "Generated alias alias5 is taken, drawing another");
   }
 
   @Test
-  void testCreateShortUrl_AliasCollision() {
-    String generatedAlias = "abc123";
-    when(urlMappingRepository.existsByAlias(generatedAlias))
-        .thenReturn(false) // first attempt succeeds
-        .thenReturn(true); // final check collides due to race
-    when(aliasGenerator.generate()).thenReturn(generatedAlias);
-    when(urlMappingRepository.save(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
+  void testCreateShortUrl_RecordsPhaseLatenciesAndAttempts() {
+    when(aliasGenerator.generate()).thenReturn("taken", "free");
+    when(urlMappingStore.insert(argThat(mapping -> mapping.getAlias().equals("taken"))))
+        .thenThrow(new DuplicateKeyException("duplicate key"));
+
+    urlShortenerService.createShortUrl(FULL_URL, null);
+
+    for (String phase : List.of("validation", "persistence")) {
+      Timer timer = meterRegistry.get(UrlShortenerMetrics.CREATE_PHASE).tag("phase", phase).timer();
+      assertThat(timer.count()).as(phase).isEqualTo(1);
+    }
+    Timer generation =
+        meterRegistry
+            .get(UrlShortenerMetrics.CREATE_PHASE)
+            .tag("phase", "alias_generation")
+            .timer();
+    assertThat(generation.count()).isEqualTo(2);
+    DistributionSummary attempts = meterRegistry.get(UrlShortenerMetrics.ALIAS_ATTEMPTS).summary();
+    assertThat(attempts.count()).isEqualTo(1);
+    assertThat(attempts.totalAmount()).isEqualTo(2);
+  }
 
-    assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, null))
-        .isInstanceOf(AliasCollisionException.class)
-        .hasMessage("Generated alias collision, try again");
+  @Test
+  void testCreateShortUrl_GeneratedAliasTakenByAnotherWriter_RetriesWithNewAlias() {
+    aliasBloomFilter.markLoaded();
+    when(aliasGenerator.generate()).thenReturn("abc123", "def456");
+    when(urlMappingStore.insert(argThat(mapping -> mapping.getAlias().equals("abc123"))))
+        .thenThrow(new DuplicateKeyException("duplicate key"));
+
+    UrlMapping urlMapping = urlShortenerService.createShortUrl(FULL_URL, null);
+
+    assertThat(urlMapping.getAlias()).isEqualTo("def456");
+    verify(urlMappingStore, times(2)).insert(any(UrlMapping.class));
+    verify(urlMappingStore, never()).existsByAlias(anyString());
+    assertThat(aliasBloomFilter.mightContain("def456")).isTrue();
+    assertThat(aliasBloomFilter.mightContain("abc123")).isFalse();
+  }
+
+  @Test
+  void testCreateShortUrls_Batch() {
+    when(aliasGenerator.generate()).thenReturn("gen1", "taken", "gen2");
+    when(urlMappingStore.findExistingAliases(anyCollection()))
+        .thenReturn(Set.of("custom2"))
+        .thenReturn(Set.of("taken"))
+        .thenReturn(Set.of());
+    List<UrlRequest> requests =
+        List.of(
+            new UrlRequest(FULL_URL, "custom1"),
+            new UrlRequest(FULL_URL, "custom2"),
+            new UrlRequest(FULL_URL, null),
+            new UrlRequest("ftp://example.com", null),
+            new UrlRequest(FULL_URL, "custom1"),
+            new UrlRequest(FULL_URL, null));
+
+    List<BatchItemResponse> results = urlShortenerService.createShortUrls(requests);
+
+    assertThat(results)
+        .extracting(BatchItemResponse::status)
+        .containsExactly(201, 400, 201, 400, 400, 201);
+    assertThat(results.get(0).url().alias()).isEqualTo("custom1");
+    assertThat(results.get(1).error()).isEqualTo("Alias already exists: custom2");
+    assertThat(results.get(3).error()).isEqualTo("Unsupported URL scheme: ftp");
+    assertThat(results.get(4).error()).isEqualTo("Alias already exists: custom1");
+    assertThat(List.of(results.get(2).url().alias(), results.get(5).url().alias()))
+        .containsExactlyInAnyOrder("gen1", "gen2");
+    verify(urlMappingStore, never()).existsByAlias(anyString());
+    verify(urlMappingStore, times(3)).findExistingAliases(anyCollection());
+    verify(urlMappingStore).insertAll(argThat(mappings -> mappings.size() == 3));
+    assertThat(aliasBloomFilter.mightContain("gen2")).isTrue();
+  }
+
+  @Test
+  void testCreateShortUrls_AliasesTakenConcurrently_RetriesWithoutThem() {
+    when(aliasGenerator.generate()).thenReturn("gen1", "gen2", "gen3");
+    when(urlMappingStore.findExistingAliases(anyCollection()))
+        .thenReturn(Set.of())
+        .thenReturn(Set.of())
+        .thenReturn(Set.of("custom1", "gen1"))
+        .thenReturn(Set.of());
+    doThrow(new DuplicateKeyException("duplicate key"))
+        .doNothing()
+        .when(urlMappingStore)
+        .insertAll(anyList());
+    List<UrlRequest> requests =
+        List.of(
+            new UrlRequest(FULL_URL, "custom1"),
+            new UrlRequest(FULL_URL, "custom2"),
+            new UrlRequest(FULL_URL, null),
+            new UrlRequest(FULL_URL, null));
+
+    List<BatchItemResponse> results = urlShortenerService.createShortUrls(requests);
+
+    assertThat(results).extracting(BatchItemResponse::status).containsExactly(400, 201, 201, 201);
+    assertThat(results.get(0).error()).isEqualTo("Alias already exists: custom1");
+    assertThat(List.of(results.get(2).url().alias(), results.get(3).url().alias()))
+        .containsExactlyInAnyOrder("gen2", "gen3");
+    verify(urlMappingStore)
+        .insertAll(
+            argThat(
+                mappings ->
+                    mappings.stream()
+                        .map(UrlMapping::getAlias)
+                        .toList()
+                        .equals(List.of("custom2", "gen2", "gen3"))));
+    assertThat(aliasBloomFilter.mightContain("gen3")).isTrue();
+  }
+
+  @Test
+  void testCreateShortUrls_AliasesKeepCollidingOnInsert_ThrowsCollision() {
+    when(aliasGenerator.generate()).thenAnswer(invocation -> UUID.randomUUID().toString());
+    when(urlMappingStore.findExistingAliases(anyCollection())).thenReturn(Set.of());
+    doThrow(new DuplicateKeyException("duplicate key"))
+        .when(urlMappingStore)
+        .insertAll(anyList());
+
+    assertThatThrownBy(
+            () -> urlShortenerService.createShortUrls(List.of(new UrlRequest(FULL_URL, null))))
+        .isInstanceOf(AliasCollisionException.class);
+    verify(urlMappingStore, times(5)).insertAll(anyList());
+  }
+
+  @Test
+  void testCreateShortUrls_OtherIntegrityViolation_IsNotACollision() {
+    DataIntegrityViolationException tooLong = new DataIntegrityViolationException("value too long");
+    when(aliasGenerator.generate()).thenReturn("gen1");
+    when(urlMappingStore.findExistingAliases(anyCollection())).thenReturn(Set.of());
+    doThrow(tooLong).when(urlMappingStore).insertAll(anyList());
+
+    assertThatThrownBy(
+            () -> urlShortenerService.createShortUrls(List.of(new UrlRequest(FULL_URL, null))))
+        .isSameAs(tooLong);
+    verify(urlMappingStore).insertAll(anyList());
+  }
+
+  @Test
+  void testCreateShortUrl_Dedup_ReturnsExistingAlias() {
+    UrlMapping existing = UrlMapping.builder().alias("abc123").fullUrl(FULL_URL).build();
+    when(urlMappingStore.findByUrlHash(UrlUtils.hash(FULL_URL)))
+        .thenReturn(List.of(existing));
+
+    UrlMapping urlMapping = newService(true).createShortUrl(FULL_URL, null);
+
+    assertThat(urlMapping).isSameAs(existing);
+    verify(urlMappingStore, never()).save(any(UrlMapping.class));
+    verifyNoInteractions(aliasGenerator);
+  }
+
+  @Test
+  void testCreateShortUrl_Dedup_HashCollisionCreatesNewRow() {
+    UrlMapping other =
+        UrlMapping.builder().alias("abc123").fullUrl("https://other.example.com").build();
+    when(urlMappingStore.findByUrlHash(UrlUtils.hash(FULL_URL))).thenReturn(List.of(other));
+    when(aliasGenerator.generate()).thenReturn("gen1");
+    when(urlMappingStore.insert(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
+
+    UrlMapping urlMapping = newService(true).createShortUrl(FULL_URL, null);
+
+    assertThat(urlMapping.getAlias()).isEqualTo("gen1");
+    assertThat(urlMapping.getUrlHash()).isEqualTo(UrlUtils.hash(FULL_URL));
+  }
+
+  @Test
+  void testCreateShortUrl_Dedup_CustomAliasAlwaysCreatesRow() {
+    when(urlMappingStore.insert(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
+
+    UrlMapping urlMapping = newService(true).createShortUrl(FULL_URL, REQUESTED_ALIAS);
 
-    verify(urlMappingRepository, times(2)).existsByAlias(anyString());
-    verify(urlMappingRepository, never()).save(any(UrlMapping.class));
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Generating unique alias");
+    assertThat(urlMapping.getAlias()).isEqualTo(REQUESTED_ALIAS);
+    assertThat(urlMapping.getUrlHash()).isNull();
+    verify(urlMappingStore, never()).findByUrlHash(anyLong());
+  }
+
+  @Test
+  void testCreateShortUrls_Dedup_Batch() {
+    String storedUrl = "https://stored.example.com";
+    String newUrl = "https://new.example.com";
+    UrlMapping stored = UrlMapping.builder().alias("old1").fullUrl(storedUrl).build();
+    when(urlMappingStore.findByUrlHashIn(anyCollection())).thenReturn(List.of(stored));
+    when(urlMappingStore.findExistingAliases(anyCollection())).thenReturn(Set.of());
+    when(aliasGenerator.generate()).thenReturn("gen1");
+    List<UrlRequest> requests =
+        List.of(
+            new UrlRequest(storedUrl, null),
+            new UrlRequest(newUrl, null),
+            new UrlRequest(newUrl, null),
+            new UrlRequest(storedUrl, "custom1"));
+
+    List<BatchItemResponse> results = newService(true).createShortUrls(requests);
+
+    assertThat(results).extracting(BatchItemResponse::status).containsOnly(201);
+    assertThat(results)
+        .extracting(result -> result.url().alias())
+        .containsExactly("old1", "gen1", "gen1", "custom1");
+    assertThat(results).extracting(BatchItemResponse::index).containsExactly(0, 1, 2, 3);
+    verify(urlMappingStore)
+        .insertAll(
+            argThat(
+                mappings ->
+                    mappings.size() == 2
+                        && mappings.stream()
+                            .anyMatch(m -> m.getAlias().equals("gen1") && m.getUrlHash() != null)));
   }
 
   @ParameterizedTest
@@ -164,8 +414,8 @@ class UrlShortenerServiceTest {
         .isInstanceOf(ReservedAliasException.class)
         .hasMessage("Alias is reserved and cannot be used: " + reservedAlias);
 
-    verifyNoInteractions(urlMappingRepository);
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Custom alias requested: " + reservedAlias);
+    verifyNoInteractions(urlMappingStore);
+    assertThat(logCaptor.getDebugLogs()).containsExactly("Custom alias requested: " + reservedAlias);
   }
 
   @Test
@@ -174,72 +424,313 @@ class UrlShortenerServiceTest {
         UrlMapping.builder()
             .alias(REQUESTED_ALIAS)
             .fullUrl(FULL_URL)
-            .shortUrl(BASE_URL + REQUESTED_ALIAS)
             .build();
-    when(urlMappingRepository.findById(REQUESTED_ALIAS)).thenReturn(Optional.of(urlMapping));
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.of(urlMapping));
 
     UrlMapping result = urlShortenerService.getByAlias(REQUESTED_ALIAS);
 
     assertThat(result).isEqualTo(urlMapping);
-    verify(urlMappingRepository).findById(REQUESTED_ALIAS);
-    assertThat(logCaptor.getInfoLogs())
+    verify(urlMappingStore).findById(REQUESTED_ALIAS);
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Retrieving URL mapping for alias: myAlias");
   }
 
   @Test
   void testGetByAlias_notFound() {
-    when(urlMappingRepository.findById(REQUESTED_ALIAS)).thenReturn(Optional.empty());
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> urlShortenerService.getByAlias(REQUESTED_ALIAS))
         .isInstanceOf(AliasNotFoundException.class)
         .hasMessage("Alias not found: " + REQUESTED_ALIAS);
 
-    verify(urlMappingRepository).findById(REQUESTED_ALIAS);
-    assertThat(logCaptor.getInfoLogs())
+    verify(urlMappingStore).findById(REQUESTED_ALIAS);
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Retrieving URL mapping for alias: myAlias");
   }
 
+  @Test
+  void testFindByAlias_notFoundIsAFailedResult() {
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.empty());
+
+    Result<UrlMapping> result = urlShortenerService.findByAlias(REQUESTED_ALIAS);
+
+    assertThat(result)
+        .isInstanceOfSatisfying(
+            Result.Failure.class,
+            failure -> {
+              assertThat(failure.status()).isEqualTo(HttpStatus.NOT_FOUND);
+              assertThat(failure.error()).isInstanceOf(AliasNotFoundException.class);
+            });
+  }
+
+  @Test
+  void testTryCreateShortUrl_duplicateAliasIsAFailedResult() {
+    when(urlMappingStore.insert(any(UrlMapping.class)))
+        .thenThrow(new DuplicateKeyException("duplicate key"));
+
+    Result<UrlMapping> result =
+        urlShortenerService.tryCreateShortUrl(FULL_URL, REQUESTED_ALIAS, null);
+
+    assertThat(result)
+        .isInstanceOfSatisfying(
+            Result.Failure.class,
+            failure ->
+                assertThat(failure.error())
+                    .isInstanceOf(DuplicateAliasException.class)
+                    .hasMessage("Alias already exists: " + REQUESTED_ALIAS));
+  }
+
+  @Test
+  void testFindRedirect_cachesAfterFirstLookup() {
+    UrlMapping urlMapping =
+        UrlMapping.builder()
+            .alias(REQUESTED_ALIAS)
+            .fullUrl(FULL_URL)
+            .build();
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.of(urlMapping));
+
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS).location()).isEqualTo(FULL_URL);
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS).location()).isEqualTo(FULL_URL);
+
+    verify(urlMappingStore, times(1)).findById(REQUESTED_ALIAS);
+    assertThat(aliasCache.stats().hitCount()).isEqualTo(1);
+    assertThat(aliasCache.stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testFindRedirect_encodesNonAsciiCharacters() {
+    UrlMapping urlMapping =
+        UrlMapping.builder()
+            .alias(REQUESTED_ALIAS)
+            .fullUrl("https://example.com/caf\u00e9")
+            .build();
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.of(urlMapping));
+
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS).location())
+        .isEqualTo("https://example.com/caf%C3%A9");
+  }
+
+  @Test
+  void testFindRedirect_notFoundIsNotCached() {
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.empty());
+
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS)).isNull();
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS)).isNull();
+
+    verify(urlMappingStore, times(2)).findById(REQUESTED_ALIAS);
+  }
+
+  @Test
+  void testFindRedirect_concurrentMissesShareOneRead() throws Exception {
+    int callers = 8;
+    CountDownLatch release = new CountDownLatch(1);
+    when(urlMappingStore.findById(REQUESTED_ALIAS))
+        .thenAnswer(
+            i -> {
+              release.await();
+              return Optional.of(
+                  UrlMapping.builder().alias(REQUESTED_ALIAS).fullUrl(FULL_URL).build());
+            });
+    Counter database = meterRegistry.get("redirects.loads").tag("source", "database").counter();
+    Counter coalesced = meterRegistry.get("redirects.loads").tag("source", "coalesced").counter();
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    List<Future<RedirectTarget>> results = new ArrayList<>();
+    for (int i = 0; i < callers; i++) {
+      results.add(executor.submit(() -> urlShortenerService.findRedirect(REQUESTED_ALIAS)));
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (coalesced.count() < callers - 1 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+
+    for (Future<RedirectTarget> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS).location()).isEqualTo(FULL_URL);
+    }
+    executor.shutdown();
+    verify(urlMappingStore, times(1)).findById(REQUESTED_ALIAS);
+    assertThat(database.count()).isEqualTo(1);
+    assertThat(coalesced.count()).isEqualTo(callers - 1);
+  }
+
+  @Test
+  void testFindRedirect_filteredAliasSkipsRepository() {
+    aliasBloomFilter.markLoaded();
+
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS)).isNull();
+
+    verifyNoInteractions(urlMappingStore);
+  }
+
+  @Test
+  void testCreateShortUrl_addsAliasToFilter() {
+    aliasBloomFilter.markLoaded();
+    when(urlMappingStore.insert(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
+    when(urlMappingStore.findById(REQUESTED_ALIAS))
+        .thenAnswer(i -> Optional.of(UrlMapping.builder().fullUrl(FULL_URL).build()));
+
+    urlShortenerService.createShortUrl(FULL_URL, REQUESTED_ALIAS);
+
+    assertThat(aliasBloomFilter.mightContain(REQUESTED_ALIAS)).isTrue();
+    assertThat(urlShortenerService.findRedirect(REQUESTED_ALIAS).location()).isEqualTo(FULL_URL);
+  }
+
+  @Test
+  void testCreateShortUrl_WithExpiry() {
+    when(urlMappingStore.insert(any(UrlMapping.class))).thenAnswer(i -> i.getArguments()[0]);
+    LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+
+    UrlMapping urlMapping = urlShortenerService.createShortUrl(FULL_URL, REQUESTED_ALIAS, expiresAt);
+
+    assertThat(urlMapping.getExpiresAt()).isEqualTo(expiresAt);
+  }
+
+  @Test
+  void testCreateShortUrl_ExpiryInPast() {
+    LocalDateTime expiresAt = LocalDateTime.now().minusMinutes(1);
+
+    assertThatThrownBy(() -> urlShortenerService.createShortUrl(FULL_URL, null, expiresAt))
+        .isInstanceOf(InvalidExpiryException.class)
+        .hasMessageStartingWith("Expiry must be in the future");
+    verify(urlMappingStore, never()).save(any(UrlMapping.class));
+  }
+
+  @Test
+  void testFindRedirect_expiredAliasIsCached() {
+    UrlMapping urlMapping =
+        UrlMapping.builder()
+            .alias(REQUESTED_ALIAS)
+            .fullUrl(FULL_URL)
+            .expiresAt(LocalDateTime.now().minusMinutes(1))
+            .build();
+    when(urlMappingStore.findById(REQUESTED_ALIAS)).thenReturn(Optional.of(urlMapping));
+
+    RedirectTarget first = urlShortenerService.findRedirect(REQUESTED_ALIAS);
+    RedirectTarget second = urlShortenerService.findRedirect(REQUESTED_ALIAS);
+
+    assertThat(first.isExpired(System.currentTimeMillis())).isTrue();
+    assertThat(second).isSameAs(first);
+    verify(urlMappingStore, times(1)).findById(REQUESTED_ALIAS);
+  }
+
+  @Test
+  void testDeleteExpiredBatch() {
+    aliasBloomFilter.markLoaded();
+    aliasBloomFilter.add("old1");
+    aliasCache.put("old1", RedirectTarget.of(FULL_URL, LocalDateTime.now().minusDays(1)));
+    LocalDateTime now = LocalDateTime.now();
+    when(urlMappingStore.findExpiredAliases(now, 2))
+        .thenReturn(List.of("old1", "old2"));
+
+    assertThat(urlShortenerService.deleteExpiredBatch(now, 2)).isEqualTo(2);
+
+    verify(urlMappingStore).deleteByAliases(List.of("old1", "old2"));
+    verify(clickStatsRepository).deleteByAliases(List.of("old1", "old2"));
+    verify(aliasInvalidationBus).publish(List.of("old1", "old2"));
+    assertThat(aliasCache.get("old1")).isNull();
+    assertThat(aliasBloomFilter.mightContain("old1")).isFalse();
+  }
+
+  @Test
+  void testDeleteExpiredBatch_nothingExpired() {
+    when(urlMappingStore.findExpiredAliases(any(LocalDateTime.class), anyInt()))
+        .thenReturn(List.of());
+
+    assertThat(urlShortenerService.deleteExpiredBatch(LocalDateTime.now(), 100)).isZero();
+
+    verify(urlMappingStore, never()).deleteByAliases(anyCollection());
+  }
+
+  @Test
+  void testCacheRedirect_cachesLiveMappingOnly() {
+    long now = System.currentTimeMillis();
+    UrlMapping live = UrlMapping.builder().alias("live").fullUrl(FULL_URL).build();
+    UrlMapping expired =
+        UrlMapping.builder()
+            .alias("expired")
+            .fullUrl(FULL_URL)
+            .expiresAt(LocalDateTime.now().minusMinutes(1))
+            .build();
+
+    assertThat(urlShortenerService.cacheRedirect(live, now)).isTrue();
+    assertThat(urlShortenerService.cacheRedirect(expired, now)).isFalse();
+
+    assertThat(aliasCache.get("live")).isEqualTo(RedirectTarget.of(FULL_URL, null));
+    assertThat(aliasCache.get("expired")).isNull();
+    verifyNoInteractions(urlMappingStore);
+  }
+
+  @Test
+  void testDeleteByAlias_invalidatesCache() {
+    aliasCache.put(REQUESTED_ALIAS, RedirectTarget.of(FULL_URL, null));
+    when(urlMappingStore.existsByAlias(REQUESTED_ALIAS)).thenReturn(true);
+
+    urlShortenerService.deleteByAlias(REQUESTED_ALIAS);
+
+    assertThat(aliasCache.get(REQUESTED_ALIAS)).isNull();
+  }
+
   @Test
   void testDeleteByAlias_found() {
-    when(urlMappingRepository.existsByAlias(REQUESTED_ALIAS)).thenReturn(true);
+    when(urlMappingStore.existsByAlias(REQUESTED_ALIAS)).thenReturn(true);
     urlShortenerService.deleteByAlias(REQUESTED_ALIAS);
-    verify(urlMappingRepository).existsByAlias(REQUESTED_ALIAS);
-    verify(urlMappingRepository).deleteById(REQUESTED_ALIAS);
+    verify(urlMappingStore).existsByAlias(REQUESTED_ALIAS);
+    verify(urlMappingStore).deleteById(REQUESTED_ALIAS);
+    verify(clickStatsRepository).deleteById(REQUESTED_ALIAS);
+    verify(aliasInvalidationBus).publish(List.of(REQUESTED_ALIAS));
     assertThat(logCaptor.getInfoLogs()).containsExactly("Deleting URL mapping for alias: myAlias");
   }
 
   @Test
   void testDeleteByAlias_notFound() {
-    when(urlMappingRepository.existsByAlias(REQUESTED_ALIAS)).thenReturn(false);
+    when(urlMappingStore.existsByAlias(REQUESTED_ALIAS)).thenReturn(false);
     assertThatThrownBy(() -> urlShortenerService.deleteByAlias(REQUESTED_ALIAS))
         .isInstanceOf(AliasNotFoundException.class)
         .hasMessage("Alias not found: " + REQUESTED_ALIAS);
-    verify(urlMappingRepository).existsByAlias(REQUESTED_ALIAS);
-    verify(urlMappingRepository, never()).deleteById(anyString());
+    verify(urlMappingStore).existsByAlias(REQUESTED_ALIAS);
+    verify(urlMappingStore, never()).deleteById(anyString());
+    verifyNoInteractions(aliasInvalidationBus);
     assertThat(logCaptor.getInfoLogs()).containsExactly("Deleting URL mapping for alias: myAlias");
     assertThat(logCaptor.getWarnLogs()).containsExactly("Alias not found for deletion: myAlias");
   }
 
   @Test
-  void testListAll() {
+  void testListPage() {
     UrlMapping mapping1 =
         UrlMapping.builder()
             .alias("alias1")
             .fullUrl("https://example1.com")
-            .shortUrl(BASE_URL + "alias1")
             .build();
     UrlMapping mapping2 =
         UrlMapping.builder()
             .alias("alias2")
             .fullUrl("https://example2.com")
-            .shortUrl(BASE_URL + "alias2")
             .build();
-    when(urlMappingRepository.findAll()).thenReturn(List.of(mapping1, mapping2));
+    when(urlMappingStore.findPageByAlias(null, 2)).thenReturn(List.of(mapping1, mapping2));
 
-    List<UrlMapping> result = urlShortenerService.listAll();
+    List<UrlMapping> result = urlShortenerService.listPage("alias", null, 2);
 
-    assertThat(result).containsExactlyInAnyOrder(mapping1, mapping2);
-    verify(urlMappingRepository).findAll();
-    assertThat(logCaptor.getInfoLogs()).containsExactly("Listing all URL mappings");
+    assertThat(result).containsExactly(mapping1, mapping2);
+    verify(urlMappingStore).findPageByAlias(null, 2);
+    verifyNoMoreInteractions(urlMappingStore);
+    assertThat(logCaptor.getInfoLogs())
+        .containsExactly("Listing URL mappings by alias after cursor null");
+  }
+
+  @Test
+  void testListPage_afterCursor() {
+    String cursor = new PageCursor(null, "alias1").encode();
+
+    urlShortenerService.listPage("alias", cursor, 10);
+
+    verify(urlMappingStore).findPageByAlias("alias1", 10);
+  }
+
+  @Test
+  void testListPage_invalidSort() {
+    assertThatThrownBy(() -> urlShortenerService.listPage("fullUrl", null, 10))
+        .isInstanceOf(InvalidPageRequestException.class)
+        .hasMessage("Unsupported sort: fullUrl");
+    verifyNoInteractions(urlMappingStore);
   }
 }
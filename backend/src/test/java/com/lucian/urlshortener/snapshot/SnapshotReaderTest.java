@@ -0,0 +1,172 @@
+package com.lucian.urlshortener.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.lucian.urlshortener.entity.UrlMapping;
+import com.lucian.urlshortener.exception.InvalidSnapshotException;
+import com.lucian.urlshortener.utility.UrlUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SnapshotReaderTest {
+
+  static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 6, 1, 12, 30, 15);
+
+  @Test
+  void nextBatch_ReturnsWrittenMappingsInBlocks() {
+    List<UrlMapping> written =
+        IntStream.range(0, 30_000)
+            .mapToObj(
+                i ->
+                    UrlMapping.builder()
+                        .alias("alias" + i)
+                        .fullUrl("https://example.com/" + "path/".repeat(i % 20) + i)
+                        .createdAt(CREATED_AT.plusSeconds(i))
+                        .build())
+            .toList();
+
+    List<UrlMapping> read = new ArrayList<>();
+    int batches = 0;
+    try (SnapshotReader reader = reader(snapshot(written))) {
+      List<UrlMapping> batch;
+      while (!(batch = reader.nextBatch()).isEmpty()) {
+        read.addAll(batch);
+        batches++;
+      }
+      assertThat(reader.count()).isEqualTo(written.size());
+    }
+
+    assertThat(batches).isGreaterThan(1);
+    assertThat(read).usingRecursiveFieldByFieldElementComparator().isEqualTo(written);
+  }
+
+  @Test
+  void nextBatch_KeepsEveryField() {
+    UrlMapping full =
+        UrlMapping.builder()
+            .alias("full")
+            .fullUrl("https://example.com/café")
+            .createdAt(CREATED_AT)
+            .expiresAt(CREATED_AT.plusDays(1).withNano(123_456_789))
+            .urlHash(-42L)
+            .build();
+    UrlMapping sparse = UrlMapping.builder().alias("sparse").fullUrl("https://example.com").build();
+
+    try (SnapshotReader reader = reader(snapshot(List.of(full, sparse)))) {
+      assertThat(reader.nextBatch())
+          .usingRecursiveFieldByFieldElementComparator()
+          .containsExactly(full, sparse);
+      assertThat(reader.nextBatch()).isEmpty();
+    }
+  }
+
+  @Test
+  void nextBatch_EmptySnapshot_ReturnsNothing() {
+    try (SnapshotReader reader = reader(snapshot(List.of()))) {
+      assertThat(reader.nextBatch()).isEmpty();
+      assertThat(reader.count()).isZero();
+    }
+  }
+
+  @Test
+  void nextBatch_TruncatedSnapshot_Throws() {
+    byte[] snapshot = snapshot(List.of(mapping("first")));
+
+    for (int cut : new int[] {snapshot.length - 1, snapshot.length - 12, 20}) {
+      try (SnapshotReader reader = reader(Arrays.copyOf(snapshot, cut))) {
+        assertThatThrownBy(() -> drain(reader))
+            .isInstanceOf(InvalidSnapshotException.class)
+            .hasMessageStartingWith("Snapshot is truncated");
+      }
+    }
+  }
+
+  @Test
+  void nextBatch_DamagedBlock_Throws() {
+    byte[] snapshot = snapshot(List.of(mapping("first"), mapping("second")));
+    snapshot[SnapshotFormat.HEADER_SIZE + SnapshotFormat.BLOCK_HEADER_SIZE + 5] ^= 0x10;
+
+    try (SnapshotReader reader = reader(snapshot)) {
+      assertThatThrownBy(() -> drain(reader)).isInstanceOf(InvalidSnapshotException.class);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"shorten", "urls", "a/b", "ab", ""})
+  void nextBatch_InvalidAlias_Throws(String alias) {
+    byte[] snapshot = snapshot(List.of(mapping("first"), mapping(alias)));
+
+    try (SnapshotReader reader = reader(snapshot)) {
+      assertThatThrownBy(reader::nextBatch)
+          .isInstanceOf(InvalidSnapshotException.class)
+          .hasMessageStartingWith("Snapshot mapping 2 is invalid: ");
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"ftp://example.com/file", "https://", "http://exa mple.com"})
+  void nextBatch_InvalidUrl_Throws(String fullUrl) {
+    UrlMapping mapping = UrlMapping.builder().alias("valid").fullUrl(fullUrl).build();
+
+    try (SnapshotReader reader = reader(snapshot(List.of(mapping)))) {
+      assertThatThrownBy(reader::nextBatch)
+          .isInstanceOf(InvalidSnapshotException.class)
+          .hasMessageStartingWith("Snapshot mapping 1 is invalid: ");
+    }
+  }
+
+  @Test
+  void nextBatch_UrlTooLong_Throws() {
+    UrlMapping mapping =
+        UrlMapping.builder()
+            .alias("valid")
+            .fullUrl("https://example.com/" + "a".repeat(UrlUtils.MAX_URL_LENGTH))
+            .build();
+
+    try (SnapshotReader reader = reader(snapshot(List.of(mapping)))) {
+      assertThatThrownBy(reader::nextBatch)
+          .isInstanceOf(InvalidSnapshotException.class)
+          .hasMessage("Snapshot mapping 1 is invalid: URL must be at most 2048 characters long");
+    }
+  }
+
+  @Test
+  void constructor_NotASnapshot_Throws() {
+    assertThatThrownBy(() -> reader("{\"alias\": \"json\"}".getBytes()))
+        .isInstanceOf(InvalidSnapshotException.class)
+        .hasMessage("Not a URL mapping snapshot");
+  }
+
+  private static UrlMapping mapping(String alias) {
+    return UrlMapping.builder().alias(alias).fullUrl("https://example.com/" + alias).build();
+  }
+
+  private static byte[] snapshot(List<UrlMapping> mappings) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(bytes))) {
+      mappings.forEach(writer::write);
+      assertThat(writer.finish()).isEqualTo(mappings.size());
+    }
+    return bytes.toByteArray();
+  }
+
+  private static SnapshotReader reader(byte[] snapshot) {
+    return new SnapshotReader(Channels.newChannel(new ByteArrayInputStream(snapshot)));
+  }
+
+  private static void drain(SnapshotReader reader) {
+    while (!reader.nextBatch().isEmpty()) {
+      // Read to the end marker
+    }
+  }
+}
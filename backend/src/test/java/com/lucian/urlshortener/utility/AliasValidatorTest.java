@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.*;
 import com.lucian.urlshortener.exception.InvalidAliasException;
 import com.lucian.urlshortener.exception.ReservedAliasException;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
 
 class AliasValidatorTest {
 
@@ -52,4 +53,33 @@ class AliasValidatorTest {
         .isInstanceOf(ReservedAliasException.class)
         .hasMessageContaining("reserved");
   }
+
+  @Test
+  void validate_valid_returnsAlias() {
+    assertThat(AliasValidator.validate("valid_Alias-123"))
+        .isEqualTo(Result.ok("valid_Alias-123"));
+  }
+
+  @Test
+  void validate_invalid_returnsStacklessFailure() {
+    Result<String> result = AliasValidator.validate("ab");
+
+    assertThat(result).isInstanceOf(Result.Failure.class);
+    Result.Failure<String> failure = (Result.Failure<String>) result;
+    assertThat(failure.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(failure.error())
+        .isInstanceOf(InvalidAliasException.class)
+        .hasMessageContaining("must be at least 3 characters long");
+    assertThat(failure.error().getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void isValid_matchesValidateOrThrow() {
+    assertThat(AliasValidator.isValid("valid_Alias-123")).isTrue();
+    assertThat(AliasValidator.isValid("ab")).isFalse();
+    assertThat(AliasValidator.isValid("a".repeat(65))).isFalse();
+    assertThat(AliasValidator.isValid("invalid@alias!")).isFalse();
+    assertThat(AliasValidator.isValid("URLS")).isFalse();
+    assertThat(AliasValidator.isValid("error")).isFalse();
+  }
 }
@@ -0,0 +1,83 @@
+package com.lucian.urlshortener.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RandomAliasGeneratorTest {
+
+  @Test
+  void generate_producesAliasesOfConfiguredLengthFromAlphabet() {
+    RandomAliasGenerator generator = new RandomAliasGenerator(9);
+
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(generator.generate()).hasSize(9).matches("[0-9A-Za-z]+");
+    }
+  }
+
+  @Test
+  void generate_usesEverySymbolAboutEquallyOften() {
+    RandomAliasGenerator generator = new RandomAliasGenerator(7, 1);
+    int[] counts = new int[128];
+    int aliases = 20_000;
+
+    for (int i = 0; i < aliases; i++) {
+      for (char c : generator.generate().toCharArray()) {
+        counts[c]++;
+      }
+    }
+
+    double expected = aliases * 7.0 / AliasGenerator.ALPHABET.length();
+    for (char c : AliasGenerator.ALPHABET.toCharArray()) {
+      assertThat((double) counts[c]).isBetween(expected * 0.8, expected * 1.2);
+    }
+  }
+
+  @Test
+  void constructor_roundsStripesUpToPowerOfTwo() {
+    assertThat(new RandomAliasGenerator(7, 1).stripeCount()).isEqualTo(1);
+    assertThat(new RandomAliasGenerator(7, 6).stripeCount()).isEqualTo(8);
+    assertThat(new RandomAliasGenerator(7, 16).stripeCount()).isEqualTo(16);
+  }
+
+  @Test
+  void constructor_rejectsNonPositiveLength() {
+    assertThatThrownBy(() -> new RandomAliasGenerator(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void generate_isSafeUnderConcurrentUse() throws Exception {
+    RandomAliasGenerator generator = new RandomAliasGenerator(12, 4);
+    Set<String> aliases = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 5_000; i++) {
+                    aliases.add(generator.generate());
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // 62^12 possible aliases: any duplicate here means two threads shared a buffer.
+    assertThat(aliases).hasSize(40_000).allMatch(alias -> alias.matches("[0-9A-Za-z]{12}"));
+  }
+}
@@ -0,0 +1,123 @@
+package com.lucian.urlshortener.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  final AtomicLong clock = new AtomicLong(42 * SECOND);
+
+  @Test
+  void tryAcquire_allowsBurstThenReportsWait() {
+    RateLimiter limiter = new RateLimiter(10, 3, 100, clock::get);
+
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND / 10);
+  }
+
+  @Test
+  void tryAcquire_refillsAtRate() {
+    RateLimiter limiter = new RateLimiter(10, 1, 100, clock::get);
+    assertThat(limiter.tryAcquire("a")).isZero();
+
+    clock.addAndGet(SECOND / 20);
+    assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND / 20);
+    clock.addAndGet(SECOND / 20);
+    assertThat(limiter.tryAcquire("a")).isZero();
+  }
+
+  @Test
+  void tryAcquire_refillsNoMoreThanBurst() {
+    RateLimiter limiter = new RateLimiter(10, 2, 100, clock::get);
+    limiter.tryAcquire("a");
+
+    clock.addAndGet(60 * SECOND);
+
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isPositive();
+  }
+
+  @Test
+  void tryAcquire_keysHaveSeparateBuckets() {
+    RateLimiter limiter = new RateLimiter(1, 1, 100, clock::get);
+
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isPositive();
+    assertThat(limiter.tryAcquire("b")).isZero();
+  }
+
+  @Test
+  void size_staysWithinMaxKeys() {
+    int maxKeys = RateLimiter.STRIPES * 4;
+    RateLimiter limiter = new RateLimiter(1, 5, maxKeys, clock::get);
+
+    for (int i = 0; i < maxKeys * 10; i++) {
+      limiter.tryAcquire("client-" + i);
+    }
+
+    assertThat(limiter.size()).isLessThanOrEqualTo(maxKeys);
+  }
+
+  @Test
+  void eviction_dropsIdleBucketsFirst() {
+    int maxKeys = RateLimiter.STRIPES * 8;
+    RateLimiter limiter = new RateLimiter(1, 2, maxKeys, clock::get);
+    for (int i = 0; i < maxKeys * 2; i++) {
+      limiter.tryAcquire("idle-" + i);
+    }
+    clock.addAndGet(10 * SECOND);
+    limiter.tryAcquire("active");
+    limiter.tryAcquire("active");
+
+    for (int i = 0; i < maxKeys / 4; i++) {
+      limiter.tryAcquire("new-" + i);
+    }
+
+    assertThat(limiter.tryAcquire("active")).isPositive();
+  }
+
+  @Test
+  void constructor_rejectsNonPositiveLimits() {
+    assertThatThrownBy(() -> new RateLimiter(0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new RateLimiter(1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new RateLimiter(1, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void concurrentCallers_neverExceedBurst() throws InterruptedException {
+    int threads = 4;
+    int burst = 1000;
+    RateLimiter limiter = new RateLimiter(1, burst, 100, clock::get);
+    AtomicInteger granted = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(threads);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int t = 0; t < threads; t++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < burst; i++) {
+              if (limiter.tryAcquire("shared") == 0) {
+                granted.incrementAndGet();
+              }
+            }
+            done.countDown();
+          });
+    }
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+
+    assertThat(granted).hasValue(burst);
+  }
+}
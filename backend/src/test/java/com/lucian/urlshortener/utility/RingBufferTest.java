@@ -0,0 +1,94 @@
+package com.lucian.urlshortener.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+  @Test
+  void offerAndPoll_preserveOrder() {
+    RingBuffer<Integer> ring = new RingBuffer<>(4);
+    ring.offer(1);
+    ring.offer(2);
+    ring.offer(3);
+
+    assertThat(ring.poll()).isEqualTo(1);
+    assertThat(ring.poll()).isEqualTo(2);
+    assertThat(ring.poll()).isEqualTo(3);
+    assertThat(ring.poll()).isNull();
+  }
+
+  @Test
+  void offer_whenFull_returnsFalse() {
+    RingBuffer<Integer> ring = new RingBuffer<>(2);
+
+    assertThat(ring.offer(1)).isTrue();
+    assertThat(ring.offer(2)).isTrue();
+    assertThat(ring.offer(3)).isFalse();
+    assertThat(ring.size()).isEqualTo(2);
+
+    ring.poll();
+    assertThat(ring.offer(3)).isTrue();
+  }
+
+  @Test
+  void drain_takesAtMostLimit() {
+    RingBuffer<Integer> ring = new RingBuffer<>(8);
+    for (int i = 0; i < 5; i++) {
+      ring.offer(i);
+    }
+    List<Integer> drained = new ArrayList<>();
+
+    assertThat(ring.drain(drained::add, 3)).isEqualTo(3);
+    assertThat(drained).containsExactly(0, 1, 2);
+    assertThat(ring.size()).isEqualTo(2);
+  }
+
+  @Test
+  void constructor_rejectsNonPowerOfTwo() {
+    assertThatThrownBy(() -> new RingBuffer<>(3)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void concurrentProducers_noElementLostOrDuplicated() throws InterruptedException {
+    RingBuffer<Integer> ring = new RingBuffer<>(1024);
+    int producers = 4;
+    int perProducer = 20_000;
+    CountDownLatch done = new CountDownLatch(producers);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    for (int p = 0; p < producers; p++) {
+      int offset = p * perProducer;
+      executor.execute(
+          () -> {
+            for (int i = 0; i < perProducer; i++) {
+              while (!ring.offer(offset + i)) {
+                Thread.onSpinWait();
+              }
+            }
+            done.countDown();
+          });
+    }
+
+    Set<Integer> seen = new HashSet<>();
+    while (done.getCount() > 0 || ring.size() > 0) {
+      Integer element = ring.poll();
+      if (element != null) {
+        assertThat(seen.add(element)).isTrue();
+      }
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(seen).hasSize(producers * perProducer);
+  }
+}
@@ -0,0 +1,139 @@
+package com.lucian.urlshortener.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import com.lucian.urlshortener.service.AliasBlockAllocator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SequentialAliasGeneratorTest {
+
+  static final long SECRET = 0x5eed_cafe_f00dL;
+
+  AliasBlockAllocator aliasBlockAllocator;
+  AtomicLong nextBlock;
+
+  @BeforeEach
+  void setUp() {
+    aliasBlockAllocator = mock(AliasBlockAllocator.class);
+    nextBlock = new AtomicLong();
+    when(aliasBlockAllocator.reserveBlock(anyInt()))
+        .thenAnswer(i -> nextBlock.getAndAdd(i.<Integer>getArgument(0)));
+  }
+
+  @Test
+  void generate_producesUniqueFixedLengthAliases() {
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 1000, SECRET);
+
+    Set<String> aliases = new HashSet<>();
+    for (int i = 0; i < 50_000; i++) {
+      aliases.add(generator.generate());
+    }
+
+    assertThat(aliases)
+        .hasSize(50_000)
+        .allMatch(alias -> alias.length() == 7)
+        .allMatch(alias -> alias.matches("[0-9A-Za-z]+"));
+  }
+
+  @Test
+  void generate_reservesOneBlockPerBlockSizeAliases() {
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 100, SECRET);
+
+    for (int i = 0; i < 240; i++) {
+      generator.generate();
+    }
+
+    verify(aliasBlockAllocator, timeout(1000).times(3)).reserveBlock(100);
+    verifyNoMoreInteractions(aliasBlockAllocator);
+  }
+
+  @Test
+  void generate_reservesNextBlockInBackgroundOnceHalfIsUsed() {
+    Set<Thread> reservingThreads = ConcurrentHashMap.newKeySet();
+    when(aliasBlockAllocator.reserveBlock(anyInt()))
+        .thenAnswer(
+            i -> {
+              reservingThreads.add(Thread.currentThread());
+              return nextBlock.getAndAdd(i.<Integer>getArgument(0));
+            });
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 100, SECRET);
+
+    generator.generate();
+    verify(aliasBlockAllocator, times(1)).reserveBlock(100);
+    for (int i = 1; i < 50; i++) {
+      generator.generate();
+    }
+    verify(aliasBlockAllocator, timeout(1000).times(2)).reserveBlock(100);
+    Set<String> aliases = new HashSet<>();
+    for (int i = 50; i < 200; i++) {
+      aliases.add(generator.generate());
+    }
+
+    verify(aliasBlockAllocator, timeout(1000).times(3)).reserveBlock(100);
+    assertThat(aliases).hasSize(150);
+    assertThat(reservingThreads).hasSize(3);
+    assertThat(reservingThreads.stream().filter(Thread::isVirtual)).hasSize(2);
+  }
+
+  @Test
+  void generate_failedPrefetch_reservesBlockInline() {
+    when(aliasBlockAllocator.reserveBlock(anyInt()))
+        .thenReturn(0L)
+        .thenThrow(new IllegalStateException("database unavailable"))
+        .thenReturn(100L);
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 100, SECRET);
+
+    Set<String> aliases = new HashSet<>();
+    for (int i = 0; i < 140; i++) {
+      aliases.add(generator.generate());
+    }
+
+    assertThat(aliases).hasSize(140);
+    verify(aliasBlockAllocator, times(3)).reserveBlock(100);
+  }
+
+  @Test
+  void generate_consecutiveIdsDoNotShareAPrefix() {
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 1000, SECRET);
+
+    String first = generator.generate();
+    String second = generator.generate();
+
+    assertThat(first.substring(0, 4)).isNotEqualTo(second.substring(0, 4));
+  }
+
+  @Test
+  void scramble_isAPermutationOfTheKeyspace() {
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 2, 1000, SECRET);
+    long capacity = 62L * 62L;
+
+    Set<Long> scrambled = new HashSet<>();
+    LongStream.range(0, capacity).forEach(id -> scrambled.add(generator.scramble(id)));
+
+    assertThat(scrambled).hasSize((int) capacity).allMatch(value -> value >= 0 && value < capacity);
+  }
+
+  @Test
+  void scramble_differentSecretsGiveDifferentOrders() {
+    SequentialAliasGenerator generator =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 1000, SECRET);
+    SequentialAliasGenerator other =
+        new SequentialAliasGenerator(aliasBlockAllocator, 7, 1000, SECRET + 1);
+
+    assertThat(generator.scramble(42)).isNotEqualTo(other.scramble(42));
+  }
+}
@@ -0,0 +1,121 @@
+package com.lucian.urlshortener.utility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  static final int CALLERS = 8;
+
+  final AtomicInteger shared = new AtomicInteger();
+  final AtomicInteger loads = new AtomicInteger();
+  final CountDownLatch release = new CountDownLatch(1);
+  final SingleFlight<String, String> singleFlight = new SingleFlight<>(shared::incrementAndGet);
+  final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    release.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void concurrentCallers_shareOneLoad() throws Exception {
+    List<Future<String>> results = loadConcurrently(key -> key + "-value");
+
+    for (Future<String> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("a-value");
+    }
+    assertThat(loads).hasValue(1);
+    assertThat(shared).hasValue(CALLERS - 1);
+    assertThat(singleFlight.inFlight()).isZero();
+  }
+
+  @Test
+  void concurrentCallers_shareNullResult() throws Exception {
+    List<Future<String>> results = loadConcurrently(key -> null);
+
+    for (Future<String> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS)).isNull();
+    }
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void concurrentCallers_shareFailure() throws Exception {
+    List<Future<String>> results =
+        loadConcurrently(
+            key -> {
+              throw new IllegalStateException("store unavailable");
+            });
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .cause()
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("store unavailable");
+    }
+    assertThat(loads).hasValue(1);
+    assertThat(singleFlight.inFlight()).isZero();
+  }
+
+  @Test
+  void sequentialCallers_loadEachTime() {
+    assertThat(singleFlight.load("a", key -> "first")).isEqualTo("first");
+    assertThat(singleFlight.load("a", key -> "second")).isEqualTo("second");
+
+    assertThat(shared).hasValue(0);
+  }
+
+  @Test
+  void differentKeys_loadIndependently() {
+    String outer =
+        singleFlight.load("a", key -> key + singleFlight.load("b", inner -> inner + "-inner"));
+
+    assertThat(outer).isEqualTo("ab-inner");
+    assertThat(shared).hasValue(0);
+  }
+
+  /**
+   * Starts {@link #CALLERS} loads of key "a". The first blocks in the loader until every other
+   * caller is waiting on it, then runs {@code loader}.
+   */
+  private List<Future<String>> loadConcurrently(Function<String, String> loader)
+      throws InterruptedException {
+    Function<String, String> blocking =
+        key -> {
+          loads.incrementAndGet();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return loader.apply(key);
+        };
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(executor.submit(() -> singleFlight.load("a", blocking)));
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (shared.get() < CALLERS - 1 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+    return results;
+  }
+}
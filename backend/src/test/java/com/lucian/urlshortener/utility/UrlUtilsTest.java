@@ -4,19 +4,26 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.lucian.urlshortener.exception.InvalidUrlException;
+import java.net.URISyntaxException;
 import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class UrlUtilsTest {
 
   LogCaptor logCaptor = LogCaptor.forClass(UrlUtils.class);
 
+  @BeforeEach
+  void setUp() {
+    logCaptor.setLogLevelToDebug();
+  }
+
   @Test
   void testNormalizeAndValidateUrl_ValidUrl() {
     String url = "https://www.example.com/path?query=param";
     String normalizedUrl = UrlUtils.normalizeAndValidateUrl(url);
     assertThat(normalizedUrl).isEqualTo(url);
-    assertThat(logCaptor.getInfoLogs())
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly(
             "Normalizing and validating URL: https://www.example.com/path?query=param");
     assertThat(logCaptor.getErrorLogs()).isEmpty();
@@ -27,7 +34,7 @@ class UrlUtilsTest {
     String urlWithoutScheme = "www.example.com/path";
     String normalizedUrl = UrlUtils.normalizeAndValidateUrl(urlWithoutScheme);
     assertThat(normalizedUrl).isEqualTo("https://www.example.com/path");
-    assertThat(logCaptor.getInfoLogs())
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Normalizing and validating URL: www.example.com/path");
     assertThat(logCaptor.getErrorLogs()).isEmpty();
   }
@@ -37,7 +44,7 @@ class UrlUtilsTest {
     String httpUrl = "http://www.example.com/path";
     String normalizedUrl = UrlUtils.normalizeAndValidateUrl(httpUrl);
     assertThat(normalizedUrl).isEqualTo("http://www.example.com/path");
-    assertThat(logCaptor.getInfoLogs())
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Normalizing and validating URL: http://www.example.com/path");
     assertThat(logCaptor.getErrorLogs()).isEmpty();
   }
@@ -48,18 +55,29 @@ class UrlUtilsTest {
     assertThatThrownBy(() -> UrlUtils.normalizeAndValidateUrl(invalidUrl))
         .isInstanceOf(InvalidUrlException.class)
         .hasMessage("Invalid URL");
-    assertThat(logCaptor.getInfoLogs())
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Normalizing and validating URL: ht!tp://invalid-url");
     assertThat(logCaptor.getErrorLogs()).containsExactly("Invalid URL syntax: ht!tp://invalid-url");
   }
 
+  @Test
+  void testNormalizeUrl_InvalidUrl_ReturnsFailureWithCause() {
+    Result<String> result = UrlUtils.normalizeUrl("ht!tp://invalid-url");
+
+    assertThat(result).isInstanceOf(Result.Failure.class);
+    RuntimeException error = ((Result.Failure<String>) result).error();
+    assertThat(error).isInstanceOf(InvalidUrlException.class).hasMessage("Invalid URL");
+    assertThat(error.getCause()).isInstanceOf(URISyntaxException.class);
+    assertThat(error.getStackTrace()).isEmpty();
+  }
+
   @Test
   void testNormalizeAndValidateUrl_UnsupportedScheme() {
     String ftpUrl = "ftp://www.example.com/path";
     assertThatThrownBy(() -> UrlUtils.normalizeAndValidateUrl(ftpUrl))
         .isInstanceOf(InvalidUrlException.class)
         .hasMessage("Unsupported URL scheme: ftp");
-    assertThat(logCaptor.getInfoLogs())
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Normalizing and validating URL: ftp://www.example.com/path");
     assertThat(logCaptor.getErrorLogs())
         .containsExactly("Unsupported URL scheme: ftp");
@@ -71,9 +89,27 @@ class UrlUtilsTest {
     assertThatThrownBy(() -> UrlUtils.normalizeAndValidateUrl(urlWithoutHost))
         .isInstanceOf(InvalidUrlException.class)
         .hasMessage("URL must include a host: https:///path");
-    assertThat(logCaptor.getInfoLogs())
+    assertThat(logCaptor.getDebugLogs())
         .containsExactly("Normalizing and validating URL: https:///path");
     assertThat(logCaptor.getErrorLogs())
         .containsExactly("URL must include a host: https:///path");
   }
+
+  @Test
+  void testNormalizeUrl_TooLong_ReturnsFailure() {
+    String path = "/" + "a".repeat(UrlUtils.MAX_URL_LENGTH - "https://example.com/".length());
+
+    assertThat(UrlUtils.normalizeUrl("https://example.com" + path).orElseThrow())
+        .hasSize(UrlUtils.MAX_URL_LENGTH);
+    assertThatThrownBy(() -> UrlUtils.normalizeAndValidateUrl("https://example.com" + path + "a"))
+        .isInstanceOf(InvalidUrlException.class)
+        .hasMessage("URL must be at most 2048 characters long");
+  }
+
+  @Test
+  void testHash_isStableAndDistinguishesUrls() {
+    assertThat(UrlUtils.hash("https://www.example.com"))
+        .isEqualTo(UrlUtils.hash("https://www.example.com"))
+        .isNotEqualTo(UrlUtils.hash("https://www.example.com/"));
+  }
 }
@@ -5,12 +5,14 @@ import { listUrls } from "@/lib/api";
 
 export default function App() {
   const [urls, setUrls] = useState<any[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
 
   async function fetchUrls() {
     try {
-      const data = await listUrls();
-      setUrls(data);
+      const page = await listUrls();
+      setUrls(page.urls);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       console.error("Failed to fetch URLs", err);
     } finally {
@@ -18,6 +20,17 @@ export default function App() {
     }
   }
 
+  async function loadMore() {
+    if (!nextCursor) return;
+    try {
+      const page = await listUrls(nextCursor);
+      setUrls((prev) => [...prev, ...page.urls]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error("Failed to fetch more URLs", err);
+    }
+  }
+
   useEffect(() => {
     fetchUrls();
   }, []);
@@ -37,7 +50,13 @@ export default function App() {
 
       <div className="w-full flex justify-center mt-8">
         <div className="w-full">
-          <UrlList urls={urls} loading={loading} setUrls={setUrls} onRefresh={fetchUrls} />
+          <UrlList
+            urls={urls}
+            loading={loading}
+            setUrls={setUrls}
+            onRefresh={fetchUrls}
+            onLoadMore={nextCursor ? loadMore : undefined}
+          />
         </div>
       </div>
     </main>
@@ -24,11 +24,14 @@ type Props = {
   setUrls: (u: UrlEntry[]) => void;
   // optional: fallback refetch
   onRefresh?: () => Promise<void>;
+  // set while the server has another page after the loaded rows
+  onLoadMore?: () => Promise<void>;
   loading: boolean;
 };
 
-export function UrlList({ urls, setUrls, onRefresh, loading }: Props) {
+export function UrlList({ urls, setUrls, onRefresh, onLoadMore, loading }: Props) {
   const [deleting, setDeleting] = useState<Record<string, boolean>>({});
+  const [loadingMore, setLoadingMore] = useState(false);
   if (loading) return <p className="text-sm text-muted-foreground">Loading URLs...</p>;
 
   async function handleDelete(alias: string) {
@@ -60,6 +63,16 @@ export function UrlList({ urls, setUrls, onRefresh, loading }: Props) {
     }
   }
 
+  async function handleLoadMore() {
+    if (!onLoadMore) return;
+    setLoadingMore(true);
+    try {
+      await onLoadMore();
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
   function truncateEnd(s: string, max = 50) {
     if (!s) return s;
     return s.length > max ? s.slice(0, max - 1) + "…" : s;
@@ -128,6 +141,18 @@ export function UrlList({ urls, setUrls, onRefresh, loading }: Props) {
             ))}
           </TableBody>
         </Table>
+        {onLoadMore && (
+          <div className="flex justify-center mt-4">
+            <Button
+              variant="outline"
+              onClick={handleLoadMore}
+              disabled={loadingMore}
+              className={loadingMore ? "cursor-not-allowed" : "cursor-pointer"}
+            >
+              {loadingMore ? "Loading…" : "Load more"}
+            </Button>
+          </div>
+        )}
       </div>
     </div >
   );
@@ -33,10 +33,12 @@ export async function shortenUrl(fullUrl: string, customAlias?: string) {
     return res.json();
 }
 
-export async function listUrls() {
-    const res = await fetch(`${BASE_URL}/urls`, { credentials: "include" });
+export async function listUrls(cursor?: string | null) {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+    const res = await fetch(`${BASE_URL}/urls${query}`, { credentials: "include" });
     if (!res.ok) throw new Error("Failed to fetch URLs");
-    return res.json();
+    const urls: any[] = await res.json();
+    return { urls, nextCursor: res.headers.get("X-Next-Cursor") };
 }
 
 export async function deleteAlias(alias: string) {